@@ -31,6 +31,14 @@ abstract class SpreadsheetConverter implements ShortCircuitingConverter<Spreadsh
 
     final static String SELECTION = "SELECTION";
 
+    /**
+     * Sub-classes should return true if canConvert only tests the class of the value and the target type, never the
+     * value itself or the context, allowing {@link SpreadsheetConverterCollection} to remember a rejection.
+     */
+    boolean canConvertDependsOnlyOnTypes() {
+        return false;
+    }
+
     @Override
     public abstract String toString();
 }
@@ -45,6 +45,11 @@ final class SpreadsheetConverterBooleanToText extends SpreadsheetConverter {
             String.class == type;
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.convert;
+
+import walkingkooka.Either;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.convert.Converter;
+import walkingkooka.convert.ConverterContext;
+import walkingkooka.convert.Converters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link Converter} that tries each of its {@link Converter converters} in order, like {@link Converters#collection(List)},
+ * but remembers for each value class and target type which converters rejected the conversion when their
+ * {@link #canConvertDependsOnlyOnTypes(Converter)} is true, so they are skipped for later values. Nested
+ * {@link SpreadsheetConverterCollection collections} qualify when all their converters qualify.
+ */
+final class SpreadsheetConverterCollection<C extends ConverterContext> implements Converter<C> {
+
+    static <C extends ConverterContext> SpreadsheetConverterCollection<C> with(final List<Converter<C>> converters) {
+        final List<Converter<C>> copy = Lists.immutable(converters);
+
+        return new SpreadsheetConverterCollection<>(
+            copy,
+            Converters.collection(copy)
+                .toString()
+        );
+    }
+
+    static <C extends ConverterContext> SpreadsheetConverterCollection<C> with(final List<Converter<C>> converters,
+                                                                               final String toString) {
+        return new SpreadsheetConverterCollection<>(
+            Lists.immutable(converters),
+            Objects.requireNonNull(toString, "toString")
+        );
+    }
+
+    private SpreadsheetConverterCollection(final List<Converter<C>> converters,
+                                           final String toString) {
+        super();
+
+        this.converters = converters;
+        this.toString = toString;
+
+        boolean all = true;
+        boolean any = false;
+
+        for (final Converter<C> converter : converters) {
+            final boolean dependsOnlyOnTypes = canConvertDependsOnlyOnTypes(converter);
+            all &= dependsOnlyOnTypes;
+            any |= dependsOnlyOnTypes;
+        }
+
+        this.canConvertDependsOnlyOnTypes = all;
+        this.valueTypeToTypeToCandidates = any ?
+            Maps.concurrent() :
+            null;
+    }
+
+    @Override
+    public boolean canConvert(final Object value,
+                              final Class<?> type,
+                              final C context) {
+        return null != this.converter(
+            value,
+            type,
+            context
+        );
+    }
+
+    /**
+     * Like {@link Converters#collection(List)} each {@link Converter} that can convert is tried in order until one
+     * succeeds, a failure falls through to the next.
+     */
+    @Override
+    public <T> Either<T, String> convert(final Object value,
+                                         final Class<T> type,
+                                         final C context) {
+        final List<Converter<C>> converters = this.converters;
+        final int[] candidates = this.candidates(
+            value,
+            type,
+            context
+        );
+
+        Either<T, String> result = null;
+
+        if (null != candidates) {
+            for (final int i : candidates) {
+                result = tryConvert(
+                    converters.get(i),
+                    value,
+                    type,
+                    context
+                );
+                if (null != result) {
+                    break;
+                }
+            }
+        } else {
+            for (final Converter<C> converter : converters) {
+                result = tryConvert(
+                    converter,
+                    value,
+                    type,
+                    context
+                );
+                if (null != result) {
+                    break;
+                }
+            }
+        }
+
+        return null != result ?
+            result :
+            this.failConversion(
+                value,
+                type
+            );
+    }
+
+    /**
+     * Returns the successful result of the given {@link Converter} or null if it cannot convert or fails.
+     */
+    private static <T, C extends ConverterContext> Either<T, String> tryConvert(final Converter<C> converter,
+                                                                               final Object value,
+                                                                               final Class<T> type,
+                                                                               final C context) {
+        Either<T, String> result = null;
+
+        if (converter.canConvert(value, type, context)) {
+            result = converter.convert(
+                value,
+                type,
+                context
+            );
+            if (result.isRight()) {
+                result = null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the first {@link Converter} that can convert the value to the target type, or null if none can.
+     */
+    private Converter<C> converter(final Object value,
+                                   final Class<?> type,
+                                   final C context) {
+        final List<Converter<C>> converters = this.converters;
+        final int[] candidates = this.candidates(
+            value,
+            type,
+            context
+        );
+
+        Converter<C> found = null;
+
+        if (null != candidates) {
+            for (final int i : candidates) {
+                final Converter<C> converter = converters.get(i);
+                if (converter.canConvert(value, type, context)) {
+                    found = converter;
+                    break;
+                }
+            }
+        } else {
+            for (final Converter<C> converter : converters) {
+                if (converter.canConvert(value, type, context)) {
+                    found = converter;
+                    break;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Returns the indices of the {@link Converter converters} that could convert values of this class to the target type,
+     * or null if the value is null or none of the converters depend only on types.
+     */
+    private int[] candidates(final Object value,
+                             final Class<?> type,
+                             final C context) {
+        final Map<Class<?>, Map<Class<?>, int[]>> valueTypeToTypeToCandidates = this.valueTypeToTypeToCandidates;
+        int[] candidates = null;
+
+        if (null != value && null != valueTypeToTypeToCandidates) {
+            final Class<?> valueType = value.getClass();
+
+            Map<Class<?>, int[]> typeToCandidates = valueTypeToTypeToCandidates.get(valueType);
+            if (null == typeToCandidates) {
+                typeToCandidates = Maps.concurrent();
+                valueTypeToTypeToCandidates.put(
+                    valueType,
+                    typeToCandidates
+                );
+            }
+
+            candidates = typeToCandidates.get(type);
+            if (null == candidates) {
+                candidates = this.computeCandidates(
+                    value,
+                    type,
+                    context
+                );
+                typeToCandidates.put(
+                    type,
+                    candidates
+                );
+            }
+        }
+
+        return candidates;
+    }
+
+    private int[] computeCandidates(final Object value,
+                                    final Class<?> type,
+                                    final C context) {
+        final List<Converter<C>> converters = this.converters;
+        final int count = converters.size();
+
+        final int[] candidates = new int[count];
+        int candidateCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            final Converter<C> converter = converters.get(i);
+
+            if (false == (canConvertDependsOnlyOnTypes(converter) &&
+                false == converter.canConvert(value, type, context))) {
+                candidates[candidateCount] = i;
+                candidateCount++;
+            }
+        }
+
+        final int[] copy = new int[candidateCount];
+        System.arraycopy(
+            candidates,
+            0,
+            copy,
+            0,
+            candidateCount
+        );
+        return copy;
+    }
+
+    /**
+     * Returns true if the {@link Converter#canConvert(Object, Class, ConverterContext)} of the given {@link Converter}
+     * only tests the class of the value and the target type.
+     */
+    private static boolean canConvertDependsOnlyOnTypes(final Converter<?> converter) {
+        return converter instanceof SpreadsheetConverter ?
+            ((SpreadsheetConverter) converter).canConvertDependsOnlyOnTypes() :
+            converter instanceof SpreadsheetConverterCollection &&
+                ((SpreadsheetConverterCollection<?>) converter).canConvertDependsOnlyOnTypes;
+    }
+
+    private final List<Converter<C>> converters;
+
+    /**
+     * True when all {@link #converters} depend only on types, allowing an outer {@link SpreadsheetConverterCollection}
+     * to remember rejections by this collection.
+     */
+    // @VisibleForTesting
+    final boolean canConvertDependsOnlyOnTypes;
+
+    /**
+     * Remembers the candidate converters for each value class and target type, null when none of the
+     * {@link #converters} depend only on types, so no lookups happen.
+     */
+    private final Map<Class<?>, Map<Class<?>, int[]>> valueTypeToTypeToCandidates;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.converters.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof SpreadsheetConverterCollection && this.equals0((SpreadsheetConverterCollection<?>) other);
+    }
+
+    private boolean equals0(final SpreadsheetConverterCollection<?> other) {
+        return this.converters.equals(other.converters) &&
+            this.toString.equals(other.toString);
+    }
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
@@ -40,6 +40,11 @@ final class SpreadsheetConverterHasOptionalSpreadsheetParserSelector extends Spr
             type == SpreadsheetParserSelector.class;
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
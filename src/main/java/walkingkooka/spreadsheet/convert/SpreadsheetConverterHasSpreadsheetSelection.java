@@ -44,6 +44,11 @@ final class SpreadsheetConverterHasSpreadsheetSelection extends SpreadsheetConve
             SpreadsheetSelection.isSelectionClass(type);
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
@@ -41,6 +41,11 @@ final class SpreadsheetConverterNumberToText extends SpreadsheetConverter {
             type == String.class;
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
@@ -52,6 +52,11 @@ final class SpreadsheetConverterSpreadsheetCellSet extends SpreadsheetConverter
             );
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
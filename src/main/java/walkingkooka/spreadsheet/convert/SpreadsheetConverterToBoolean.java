@@ -54,6 +54,11 @@ final class SpreadsheetConverterToBoolean extends SpreadsheetConverter {
             Boolean.class == type;
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
@@ -51,6 +51,11 @@ final class SpreadsheetConverterToNumber extends SpreadsheetConverter {
             (Number.class == type || ExpressionNumber.isClass(type));
     }
 
+    @Override
+    boolean canConvertDependsOnlyOnTypes() {
+        return true;
+    }
+
     @Override
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
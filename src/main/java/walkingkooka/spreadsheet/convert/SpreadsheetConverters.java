@@ -166,10 +166,10 @@ public final class SpreadsheetConverters extends SpreadsheetConvertersGwt
     }
 
     /**
-     * {@see Converters#collection}
+     * {@see SpreadsheetConverterCollection}
      */
     public static <C extends ConverterContext> Converter<C> collection(final List<Converter<C>> converters) {
-        return Converters.collection(
+        return SpreadsheetConverterCollection.with(
             converters
         );
     }
@@ -1655,8 +1655,10 @@ public final class SpreadsheetConverters extends SpreadsheetConvertersGwt
 
     static <C extends ConverterContext> Converter<C> namedCollection(final String toString,
                                                                      final List<Converter<C>> converters) {
-        return collection(converters)
-            .setToString(toString);
+        return SpreadsheetConverterCollection.with(
+            converters,
+            toString
+        );
     }
 
     /**
@@ -107,7 +107,15 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     /**
      * Singleton
      */
-    final static BasicSpreadsheetEngine INSTANCE = new BasicSpreadsheetEngine();
+    final static BasicSpreadsheetEngine INSTANCE = new BasicSpreadsheetEngine(false);
+
+    /**
+     * Singleton that defers formatting of cells refreshed only because they reference or are referenced by a changed
+     * cell. These cells are saved and returned with their new value but without a {@link SpreadsheetCell#formattedValue()},
+     * and are formatted without evaluation and saved when they are next loaded with
+     * {@link SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY}.
+     */
+    final static BasicSpreadsheetEngine DEFER_FORMATTING = new BasicSpreadsheetEngine(true);
 
     /**
      * A safe maximum to query labels for a {@link walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference}.
@@ -123,10 +131,16 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     /**
      * Private ctor.
      */
-    private BasicSpreadsheetEngine() {
+    private BasicSpreadsheetEngine(final boolean deferFormatting) {
         super();
+        this.deferFormatting = deferFormatting;
     }
 
+    /**
+     * When true {@link BasicSpreadsheetEngineChanges} skips formatting cells refreshed as references.
+     */
+    final boolean deferFormatting;
+
     // EVALUATE.........................................................................................................
 
     @Override
@@ -268,6 +282,56 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         }
     }
 
+    // LOAD MULTIPLE CELL RANGES CHANGED SINCE..........................................................................
+
+    @Override
+    public SpreadsheetDelta loadMultipleCellRangesChangedSince(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                               final long version,
+                                                               final SpreadsheetEngineEvaluation evaluation,
+                                                               final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                               final SpreadsheetEngineContext context) {
+        Objects.requireNonNull(cellRanges, "cellRanges");
+        if (version < 0) {
+            throw new IllegalArgumentException("Invalid version " + version + " < 0");
+        }
+        Objects.requireNonNull(evaluation, "evaluation");
+        Objects.requireNonNull(deltaProperties, "deltaProperties");
+        Objects.requireNonNull(context, "context");
+
+        final BasicSpreadsheetEngineChanges changes = BasicSpreadsheetEngineChangesMode.BATCH.changes(
+            this,
+            evaluation,
+            deltaProperties,
+            context
+        );
+
+        try {
+            final SpreadsheetCellStore store = context.storeRepository()
+                .cells();
+
+            // only changed cells are loaded, a deleted cell will be missing and reported as deleted
+            for (final SpreadsheetCellRangeReference cellRange : cellRanges) {
+                for (final SpreadsheetCellReference cell : store.findCellsChangedSince(cellRange, version)) {
+                    this.loadCell(
+                        cell,
+                        changes,
+                        context
+                    );
+                }
+            }
+
+            // finish evaluating loaded cells
+            changes.commit();
+
+            return this.prepareResponse(
+                changes,
+                context
+            );
+        } finally {
+            changes.close();
+        }
+    }
+
     private void loadCellRange(final SpreadsheetCellRangeReference cellRange,
                                final BasicSpreadsheetEngineChanges changes,
                                final SpreadsheetEngineContext context) {
@@ -282,12 +346,7 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                 .cells();
 
             if (changes.deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS)) {
-                for (final SpreadsheetCellReference cell : cellRange) {
-                    changes.getOrCreateCellCache(
-                        cell,
-                        BasicSpreadsheetEngineChangesCacheStatusCell.DELETED
-                    );
-                }
+                changes.addMissingCellRange(cellRange);
             }
 
             final Set<SpreadsheetCell> spreadsheetCells = store.loadCellRange(cellRange);
@@ -1683,9 +1742,12 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             styled = cell; // identity could have changed if evaluation=FORCE_RECOMPUTE returning an equal cell
         }
 
-        context.storeRepository()
-            .cells()
-            .save(styled); // update cells enabling caching of parsing and value and errors.
+        // SKIP_EVALUATE never changes the cell, skipping the save keeps such loads read only
+        if (SpreadsheetEngineEvaluation.SKIP_EVALUATE != evaluation) {
+            context.storeRepository()
+                .cells()
+                .save(styled); // update cells enabling caching of parsing and value and errors.
+        }
 
         return styled;
     }
@@ -1723,8 +1785,9 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             if (false == formulaText.isEmpty()) {
 
                 // if a token is NOT present parse the formula text
-                SpreadsheetFormulaParserToken token = formula.token()
+                final SpreadsheetFormulaParserToken cellToken = formula.token()
                     .orElse(null);
+                SpreadsheetFormulaParserToken token = cellToken;
                 if (null == token) {
                     try {
                         token = context.parseFormula(
@@ -1754,13 +1817,25 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                     );
                 }
                 // if expression is absent, convert token into expression
+                boolean restoredExpression = false;
                 if (null != token && false == formula.expression().isPresent()) {
-                    formula = formula.setExpression(
-                        context.toExpression(token)
-                    );
+                    final Optional<Expression> expression = context.toExpression(token);
+
+                    // stores may drop the expression of an unchanged token, keep the value, error and formatted value
+                    if (token.equals(cellToken)) {
+                        formula = formula.replaceExpression(expression);
+                        restoredExpression = true;
+                    } else {
+                        formula = formula.setExpression(expression);
+                    }
                 }
 
                 parsed = parsed.setFormula(formula);
+                if (restoredExpression) {
+                    parsed = parsed.setFormattedValue(
+                        cell.formattedValue()
+                    );
+                }
             }
 
             //if error formatValueAndStyle
@@ -1843,7 +1918,10 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             result = validate(
                 result,
                 loader,
-                context.setSpreadsheetMetadataMode(SpreadsheetMetadataMode.VALIDATION)
+                validationContext(
+                    loader,
+                    context
+                )
             );
         }
 
@@ -1857,9 +1935,32 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         return result;
     }
 
+    /**
+     * When the loader is a {@link BasicSpreadsheetEngineChanges} cells with a validator that only depends on the value
+     * are validated again only when the value or {@link ValidatorSelector} changes.
+     */
     private static SpreadsheetCell validate(final SpreadsheetCell cell,
                                             final SpreadsheetExpressionReferenceLoader spreadsheetExpressionReferenceLoader,
                                             final SpreadsheetEngineContext context) {
+        return spreadsheetExpressionReferenceLoader instanceof BasicSpreadsheetEngineChanges ?
+            ((BasicSpreadsheetEngineChanges) spreadsheetExpressionReferenceLoader).validate(
+                cell,
+                (final SpreadsheetCell c) -> validateWithValidatorSelector(
+                    c,
+                    spreadsheetExpressionReferenceLoader,
+                    context
+                )
+            ) :
+            validateWithValidatorSelector(
+                cell,
+                spreadsheetExpressionReferenceLoader,
+                context
+            );
+    }
+
+    private static SpreadsheetCell validateWithValidatorSelector(final SpreadsheetCell cell,
+                                                                 final SpreadsheetExpressionReferenceLoader spreadsheetExpressionReferenceLoader,
+                                                                 final SpreadsheetEngineContext context) {
         SpreadsheetCell validated = cell;
 
         final ValidatorSelector validatorSelector = cell.validator()
@@ -1891,9 +1992,10 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                                                          final SpreadsheetExpressionReferenceLoader spreadsheetExpressionReferenceLoader,
                                                          final SpreadsheetEngineContext context) {
         final ProviderContext providerContext = context.providerContext();
-        final Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext> validator = context.validator(
+        final Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext> validator = validator(
             validatorSelector,
-            providerContext
+            spreadsheetExpressionReferenceLoader,
+            context
         );
 
         final SpreadsheetFormula formula = cell.formula();
@@ -1907,14 +2009,16 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                         context.spreadsheetMetadata()
                             .spreadsheetValidatorContext(
                                 cell.reference(), // reference
-                                (final ValidatorSelector v) -> context.validator(
+                                (final ValidatorSelector v) -> validator(
                                     v,
-                                    providerContext
+                                    spreadsheetExpressionReferenceLoader,
+                                    context
                                 ),
                                 (final Object v,
-                                 final SpreadsheetValidationReference cellOrLabel) -> context.spreadsheetExpressionEvaluationContext(
-                                    Optional.of(cell),
-                                    spreadsheetExpressionReferenceLoader
+                                 final SpreadsheetValidationReference cellOrLabel) -> validationExpressionEvaluationContext(
+                                    cell,
+                                    spreadsheetExpressionReferenceLoader,
+                                    context
                                 ).addLocalVariable(
                                     SpreadsheetValidatorContext.VALUE,
                                     Optional.ofNullable(value)
@@ -1936,6 +2040,51 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         );
     }
 
+    /**
+     * Creates the {@link SpreadsheetExpressionEvaluationContext} for a {@link Validator}, telling any
+     * {@link BasicSpreadsheetEngineChanges} that this validation is not pure.
+     */
+    private static SpreadsheetExpressionEvaluationContext validationExpressionEvaluationContext(final SpreadsheetCell cell,
+                                                                                                final SpreadsheetExpressionReferenceLoader loader,
+                                                                                                final SpreadsheetEngineContext context) {
+        if (loader instanceof BasicSpreadsheetEngineChanges) {
+            ((BasicSpreadsheetEngineChanges) loader).onValidationExpressionEvaluation();
+        }
+
+        return context.spreadsheetExpressionEvaluationContext(
+            Optional.of(cell),
+            loader
+        );
+    }
+
+    /**
+     * When the loader is a {@link BasicSpreadsheetEngineChanges} a single {@link SpreadsheetMetadataMode#VALIDATION}
+     * {@link SpreadsheetEngineContext} is created for the entire batch.
+     */
+    private static SpreadsheetEngineContext validationContext(final SpreadsheetExpressionReferenceLoader loader,
+                                                              final SpreadsheetEngineContext context) {
+        return loader instanceof BasicSpreadsheetEngineChanges ?
+            ((BasicSpreadsheetEngineChanges) loader).validationContext(context) :
+            context.setSpreadsheetMetadataMode(SpreadsheetMetadataMode.VALIDATION);
+    }
+
+    /**
+     * When the loader is a {@link BasicSpreadsheetEngineChanges} each {@link Validator} is remembered for the entire batch.
+     */
+    private static Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext> validator(final ValidatorSelector selector,
+                                                                                                    final SpreadsheetExpressionReferenceLoader loader,
+                                                                                                    final SpreadsheetEngineContext context) {
+        return loader instanceof BasicSpreadsheetEngineChanges ?
+            ((BasicSpreadsheetEngineChanges) loader).validator(
+                selector,
+                context
+            ) :
+            context.validator(
+                selector,
+                context.providerContext()
+            );
+    }
+
     private static SpreadsheetCell formatValueAndStyle(final SpreadsheetCell cell,
                                                        final SpreadsheetEngineContext context) {
         SpreadsheetCell formatted;
@@ -1990,14 +2139,14 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     // SpreadsheetEngineEvaluation #evaluateCellXXX.....................................................................
 
     /**
-     * If a formatted value is present and the {@link Expression#isPure(ExpressionPurityContext)} then return
+     * If the cell was already evaluated and the {@link Expression#isPure(ExpressionPurityContext)} then return
      * the current {@link SpreadsheetFormula#value()} otherwise evaluate the expression again.
      */
     // SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY
     Optional<Object> evaluateCellIfNecessary(final SpreadsheetCell cell,
                                              final SpreadsheetExpressionReferenceLoader loader,
                                              final SpreadsheetEngineContext context) {
-        return cell.formattedValue().isPresent() && expressionRequired(cell).isPure(context) ?
+        return this.isEvaluated(cell) && isPure(expressionRequired(cell), loader, context) ?
             cell.formula()
                 .value() :
             this.evaluateCell(
@@ -2007,6 +2156,31 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             );
     }
 
+    /**
+     * A cell with a formatted value was evaluated by an earlier operation. For {@link #DEFER_FORMATTING} a formula with
+     * a value but no formatted value was also evaluated, its formatting was deferred and it only needs to be formatted.
+     */
+    private boolean isEvaluated(final SpreadsheetCell cell) {
+        final SpreadsheetFormula formula = cell.formula();
+
+        return cell.formattedValue().isPresent() ||
+            (this.deferFormatting && false == formula.text().isEmpty() && formula.value().isPresent());
+    }
+
+    /**
+     * When the loader is a {@link BasicSpreadsheetEngineChanges} function purity is remembered for the entire batch.
+     */
+    private static boolean isPure(final Expression expression,
+                                  final SpreadsheetExpressionReferenceLoader loader,
+                                  final SpreadsheetEngineContext context) {
+        return loader instanceof BasicSpreadsheetEngineChanges ?
+            ((BasicSpreadsheetEngineChanges) loader).isPure(
+                expression,
+                context
+            ) :
+            expression.isPure(context);
+    }
+
     /**
      * Unconditionally evaluate the {@link Expression} returning the value.
      */
@@ -2018,14 +2192,33 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         return Optional.ofNullable(
             expressionRequired(cell)
                 .toValue(
-                    context.spreadsheetExpressionEvaluationContext(
-                        Optional.of(cell),
-                        loader
+                    spreadsheetExpressionEvaluationContext(
+                        cell,
+                        loader,
+                        context
                     )
                 )
         );
     }
 
+    /**
+     * When the loader is a {@link BasicSpreadsheetEngineChanges} a single {@link SpreadsheetExpressionEvaluationContext}
+     * is created for the entire batch and re-pointed at each cell.
+     */
+    private static SpreadsheetExpressionEvaluationContext spreadsheetExpressionEvaluationContext(final SpreadsheetCell cell,
+                                                                                                 final SpreadsheetExpressionReferenceLoader loader,
+                                                                                                 final SpreadsheetEngineContext context) {
+        return loader instanceof BasicSpreadsheetEngineChanges ?
+            ((BasicSpreadsheetEngineChanges) loader).spreadsheetExpressionEvaluationContext(
+                cell,
+                context
+            ) :
+            context.spreadsheetExpressionEvaluationContext(
+                Optional.of(cell),
+                loader
+            );
+    }
+
     private static Expression expressionRequired(final SpreadsheetCell cell) {
         return cell.formula()
             .expression()
@@ -2159,6 +2352,15 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             .rowCount();
     }
 
+    @Override
+    public long cellsVersion(final SpreadsheetEngineContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return context.storeRepository()
+            .cells()
+            .version();
+    }
+
     // WINDOW...........................................................................................................
 
     @Override
@@ -2503,8 +2705,10 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             SpreadsheetViewportNavigationContexts.basic(
                 context, // SpreadsheetLabelNameResolver
                 repository.columns()::isHidden,
+                repository.columns()::skipHidden,
                 (c) -> this.columnWidth(c, context),
                 repository.rows()::isHidden,
+                repository.rows()::skipHidden,
                 (r) -> this.rowHeight(r, context),
                 (v) -> this.window(v, context)
             )
@@ -2568,6 +2772,9 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
 
     @Override
     public String toString() {
-        return this.getClass().getSimpleName();
+        final String toString = this.getClass().getSimpleName();
+        return this.deferFormatting ?
+            toString + " defer formatting" :
+            toString;
     }
 }
@@ -19,9 +19,12 @@ package walkingkooka.spreadsheet.engine;
 
 import walkingkooka.ToStringBuilder;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange;
@@ -32,17 +35,25 @@ import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionSets;
 import walkingkooka.spreadsheet.store.SpreadsheetCellRangeStore;
 import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
 import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
 import walkingkooka.spreadsheet.store.SpreadsheetLabelStore;
 import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepositories;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
+import walkingkooka.spreadsheet.validation.SpreadsheetValidationReference;
+import walkingkooka.spreadsheet.validation.SpreadsheetValidatorContext;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.spreadsheet.value.SpreadsheetColumn;
 import walkingkooka.spreadsheet.value.SpreadsheetError;
 import walkingkooka.spreadsheet.value.SpreadsheetRow;
 import walkingkooka.store.StoreWatcher;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.validation.Validator;
+import walkingkooka.validation.provider.ValidatorSelector;
 import walkingkooka.watch.Watchers;
 
 import java.util.Collection;
@@ -51,7 +62,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -89,14 +102,19 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         this.mode = mode;
         this.context = context.setSpreadsheetMetadataMode(SpreadsheetMetadataMode.FORMULA);
 
-        this.scopedCells = SortedSets.tree(SpreadsheetSelection.IGNORES_REFERENCE_KIND_COMPARATOR);
+        this.scopedCells = SpreadsheetSelectionSets.cell();
 
         final SpreadsheetStoreRepository repository = context.storeRepository();
 
         final SpreadsheetCellStore cellStore = repository.cells();
 
+        // loads that skip evaluation never save or delete, without watchers they leave the stores untouched
+        final Set<SpreadsheetDeltaProperties> watched = SpreadsheetEngineEvaluation.SKIP_EVALUATE == evaluation ?
+            Sets.empty() :
+            deltaProperties;
+
         final List<Runnable> watchers = Lists.array();
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.CELLS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.CELLS)) {
             watchers.add(
                 cellStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -113,7 +131,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
                 )
             );
         }
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.DELETED_CELLS)) {
             watchers.add(
                 cellStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -134,7 +152,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
 
         final SpreadsheetColumnStore columnStore = repository.columns();
 
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.COLUMNS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.COLUMNS)) {
             watchers.add(
                 columnStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -152,7 +170,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
             );
         }
 
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_COLUMNS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.DELETED_COLUMNS)) {
             watchers.add(
                 columnStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -172,7 +190,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         }
 
         final SpreadsheetLabelStore labelStore = repository.labels();
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.LABELS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.LABELS)) {
             watchers.add(
                 labelStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -190,7 +208,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
             );
         }
 
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_LABELS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.DELETED_LABELS)) {
             watchers.add(
                 labelStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -210,7 +228,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         }
 
         final SpreadsheetRowStore rowStore = repository.rows();
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.ROWS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.ROWS)) {
             watchers.add(
                 rowStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -228,7 +246,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
             );
         }
 
-        if (deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_ROWS)) {
+        if (watched.contains(SpreadsheetDeltaProperties.DELETED_ROWS)) {
             watchers.add(
                 rowStore.addStoreWatcher(
                     new StoreWatcher<>() {
@@ -405,6 +423,11 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         final BasicSpreadsheetEngineChangesCacheStatus<SpreadsheetCellReference> status = cache.status();
         SpreadsheetCell spreadsheetCell;
 
+        // cells only refreshed because they reference or are referenced by a changed cell may skip formatting
+        final SpreadsheetEngineContext context = status.isReference() && this.engine.deferFormatting ?
+            this.deferFormattingContext() :
+            this.context;
+
         if (status.isUnloaded()) {
             spreadsheetCell = this.context.storeRepository()
                 .cells()
@@ -423,7 +446,7 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
                     spreadsheetCell,
                     this.evaluation,
                     this, // SpreadsheetExpressionReferenceLoader
-                    this.context
+                    context
                 );
 
                 if (cache.status().isLoading()) {
@@ -440,6 +463,18 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         }
     }
 
+    private SpreadsheetEngineContext deferFormattingContext() {
+        if (null == this.deferFormattingContext) {
+            this.deferFormattingContext = BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext.with(this.context);
+        }
+        return this.deferFormattingContext;
+    }
+
+    /**
+     * Lazily created by {@link #deferFormattingContext()} when {@link BasicSpreadsheetEngine#deferFormatting} is true.
+     */
+    private SpreadsheetEngineContext deferFormattingContext;
+
     private void refreshAllCellExternalReferences() {
         final Collection<BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell>> cellCaches = this.cells.values()
             .stream()
@@ -450,12 +485,15 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
         for (final BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell> cache : cellCaches) {
             final SpreadsheetCellReference cell = cache.reference;
 
-            this.removeCellExternalReferences(cell);
-            this.removeFormulaReferences(cell);
+            // SKIP_EVALUATE leaves cells unchanged, so the references recorded when they were saved are still correct
+            if (SpreadsheetEngineEvaluation.SKIP_EVALUATE != this.evaluation) {
+                this.removeCellExternalReferences(cell);
+                this.removeFormulaReferences(cell);
 
-            final SpreadsheetCell spreadsheetCell = cache.valueOrNull();
-            if (null != spreadsheetCell) {
-                this.addFormulaReferences(spreadsheetCell);
+                final SpreadsheetCell spreadsheetCell = cache.valueOrNull();
+                if (null != spreadsheetCell) {
+                    this.addFormulaReferences(spreadsheetCell);
+                }
             }
             this.addCellExternalReferences(
                 cell,
@@ -567,15 +605,10 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
      * Records any {@link walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference} within the given {@link SpreadsheetFormula}.
      */
     private void addFormulaReferences(final SpreadsheetCell spreadsheetCell) {
-        final SpreadsheetCellReference cell = spreadsheetCell.reference();
-
-        spreadsheetCell.formula()
-            .consumeSpreadsheetExpressionReferences(
-                BasicSpreadsheetEngineChangesAddFormulaReferenceSpreadsheetSelectionVisitor.with(
-                    cell,
-                    this.repository
-                )::accept
-            );
+        SpreadsheetStoreRepositories.addFormulaReferences(
+            spreadsheetCell,
+            this.repository
+        );
     }
 
     /**
@@ -588,6 +621,15 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
             this.cells.keySet()
         );
 
+        for (final SpreadsheetCellRangeReference cellRange : this.missingCellRanges) {
+            cells.add(
+                cellRange.begin()
+            );
+            cells.add(
+                cellRange.end()
+            );
+        }
+
         for (final BasicSpreadsheetEngineChangesCache<SpreadsheetLabelName, SpreadsheetLabelMapping> cache : this.labels.values()) {
             if (false == cache.status().isUnloaded()) {
                 final SpreadsheetLabelMapping labelMapping = cache.valueOrNull();
@@ -618,7 +660,19 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
     }
 
     // BasicSpreadsheetEnginePrepareResponse
-    final Map<SpreadsheetCellReference, BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell>> cells = SpreadsheetSelectionMaps.cell();
+    final SortedMap<SpreadsheetCellReference, BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell>> cells = SpreadsheetSelectionMaps.cell();
+
+    /**
+     * Records a loaded range, where any cell missing from the store will be reported as deleted by
+     * {@link BasicSpreadsheetEnginePrepareResponse}, without creating a {@link BasicSpreadsheetEngineChangesCache} for
+     * every empty cell.
+     */
+    void addMissingCellRange(final SpreadsheetCellRangeReference cellRange) {
+        this.missingCellRanges.add(cellRange);
+    }
+
+    // BasicSpreadsheetEnginePrepareResponse
+    final List<SpreadsheetCellRangeReference> missingCellRanges = Lists.array();
 
     // COLUMN...........................................................................................................
 
@@ -789,6 +843,178 @@ final class BasicSpreadsheetEngineChanges implements SpreadsheetExpressionRefere
      */
     private final Set<SpreadsheetCellReference> scopedCells;
 
+    /**
+     * Tests if the given {@link Expression} is pure, remembering the purity of each function for the life of this batch.
+     */
+    boolean isPure(final Expression expression,
+                   final ExpressionPurityContext context) {
+        BasicSpreadsheetEngineChangesExpressionPurityContext purityContext = this.purityContext;
+        if (null == purityContext || context != purityContext.context) {
+            purityContext = BasicSpreadsheetEngineChangesExpressionPurityContext.with(context);
+            this.purityContext = purityContext;
+        }
+
+        return expression.isPure(purityContext);
+    }
+
+    private BasicSpreadsheetEngineChangesExpressionPurityContext purityContext;
+
+    /**
+     * Returns a {@link SpreadsheetExpressionEvaluationContext} for the given cell, created from a single context for
+     * this batch, so converters, functions and parsers are created once rather than for every evaluated cell.
+     */
+    SpreadsheetExpressionEvaluationContext spreadsheetExpressionEvaluationContext(final SpreadsheetCell cell,
+                                                                                  final SpreadsheetEngineContext context) {
+        SpreadsheetExpressionEvaluationContext expressionEvaluationContext = this.expressionEvaluationContext;
+        if (null == expressionEvaluationContext || context != this.expressionEvaluationEngineContext) {
+            expressionEvaluationContext = context.spreadsheetExpressionEvaluationContext(
+                SpreadsheetEngineContext.NO_CELL,
+                this
+            );
+            this.expressionEvaluationContext = expressionEvaluationContext;
+            this.expressionEvaluationEngineContext = context;
+        }
+
+        return expressionEvaluationContext.setCell(
+            Optional.of(cell)
+        );
+    }
+
+    /**
+     * The {@link SpreadsheetExpressionEvaluationContext} without a cell, shared by all cells evaluated by this batch.
+     */
+    private SpreadsheetExpressionEvaluationContext expressionEvaluationContext;
+
+    /**
+     * The {@link SpreadsheetEngineContext} that created {@link #expressionEvaluationContext}.
+     */
+    private SpreadsheetEngineContext expressionEvaluationEngineContext;
+
+    /**
+     * Returns a {@link SpreadsheetEngineContext} in {@link SpreadsheetMetadataMode#VALIDATION} mode, created once for
+     * this batch rather than for every validated cell.
+     */
+    SpreadsheetEngineContext validationContext(final SpreadsheetEngineContext context) {
+        // validation never formats, so cells refreshed with formatting deferred share the same validation context
+        final SpreadsheetEngineContext engineContext = context instanceof BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext ?
+            ((BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext) context).spreadsheetEngineContext() :
+            context;
+
+        SpreadsheetEngineContext validationContext = this.validationContext;
+        if (null == validationContext || engineContext != this.validationEngineContext) {
+            final SpreadsheetEngineContext previous = validationContext;
+
+            validationContext = engineContext.setSpreadsheetMetadataMode(SpreadsheetMetadataMode.VALIDATION);
+            this.validationContext = validationContext;
+            this.validationEngineContext = engineContext;
+
+            // validators are only resolved again if the validation metadata changed
+            if (null == previous || false == previous.spreadsheetMetadata().equals(validationContext.spreadsheetMetadata())) {
+                this.validators.clear();
+            }
+        }
+
+        return validationContext;
+    }
+
+    /**
+     * The {@link SpreadsheetEngineContext} used to validate all cells for this batch.
+     */
+    private SpreadsheetEngineContext validationContext;
+
+    /**
+     * The {@link SpreadsheetEngineContext} that created {@link #validationContext}.
+     */
+    private SpreadsheetEngineContext validationEngineContext;
+
+    /**
+     * Returns the {@link Validator} for the given {@link ValidatorSelector}, remembering each for the life of this batch,
+     * so cells sharing a validator only resolve it once.
+     */
+    Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext> validator(final ValidatorSelector selector,
+                                                                                     final SpreadsheetEngineContext context) {
+        final Map<ValidatorSelector, Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext>> validators = this.validators;
+
+        Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext> validator = validators.get(selector);
+        if (null == validator) {
+            validator = context.validator(
+                selector,
+                context.providerContext()
+            );
+            validators.put(
+                selector,
+                validator
+            );
+        }
+
+        return validator;
+    }
+
+    /**
+     * Cleared whenever {@link #validationContext} is replaced with one with different {@link SpreadsheetMetadata}.
+     */
+    private final Map<ValidatorSelector, Validator<SpreadsheetValidationReference, SpreadsheetValidatorContext>> validators = Maps.ordered();
+
+    /**
+     * Validates the cell using the given {@link Function}, unless the {@link SpreadsheetCellStore} holds a validated
+     * cell with an equal value and {@link ValidatorSelector}, in which case the previous errors are reused. Validations
+     * that created a {@link SpreadsheetExpressionEvaluationContext} may depend on other cells and are never recorded.
+     * {@link SpreadsheetEngineEvaluation#FORCE_RECOMPUTE} always validates.
+     */
+    SpreadsheetCell validate(final SpreadsheetCell cell,
+                             final Function<SpreadsheetCell, SpreadsheetCell> validator) {
+        final SpreadsheetFormula formula = cell.formula();
+
+        final SpreadsheetCellStore store = this.repository.cells();
+        final SpreadsheetCell previous = SpreadsheetEngineEvaluation.FORCE_RECOMPUTE != this.evaluation ?
+            store.loadValidated(cell.reference())
+                .orElse(null) :
+            null;
+
+        SpreadsheetCell result;
+
+        if (null != previous &&
+            previous.formula().value().equals(formula.value()) &&
+            previous.validator().equals(cell.validator())) {
+            result = cell.setFormula(
+                formula.setError(
+                    previous.formula()
+                        .error()
+                )
+            );
+        } else {
+            final boolean backup = this.validationExpressionEvaluation;
+            this.validationExpressionEvaluation = false;
+
+            boolean impure = true;
+            try {
+                result = validator.apply(cell);
+                impure = this.validationExpressionEvaluation;
+            } finally {
+                this.validationExpressionEvaluation = backup | impure;
+            }
+
+            if (false == impure) {
+                store.saveValidated(result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Called when a {@link Validator} creates a {@link SpreadsheetExpressionEvaluationContext}, which gives it access
+     * to other cells, the environment and the current time.
+     */
+    void onValidationExpressionEvaluation() {
+        this.validationExpressionEvaluation = true;
+    }
+
+    /**
+     * Set when the current validation created a {@link SpreadsheetExpressionEvaluationContext}.
+     */
+    private boolean validationExpressionEvaluation;
+
     /**
      * Removes previously added watchers.
      */
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.text.LineEnding;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link SpreadsheetEngineContext} used by {@link BasicSpreadsheetEngineChanges} to refresh cells that reference or
+ * are referenced by a changed cell, when formatting is deferred. {@link #formatValueAndStyle(SpreadsheetCell, Optional)}
+ * returns the cell unchanged, leaving it with its new value but without a {@link SpreadsheetCell#formattedValue()}, so
+ * {@link SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY} only formats it when it is next loaded.
+ */
+final class BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext implements SpreadsheetEngineContextDelegator {
+
+    static BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext with(final SpreadsheetEngineContext context) {
+        return new BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext(final SpreadsheetEngineContext context) {
+        super();
+        this.context = context;
+    }
+
+    @Override
+    public SpreadsheetCell formatValueAndStyle(final SpreadsheetCell cell,
+                                               final Optional<SpreadsheetFormatterSelector> formatter) {
+        Objects.requireNonNull(cell, "cell");
+        Objects.requireNonNull(formatter, "formatter");
+
+        return cell;
+    }
+
+    @Override
+    public SpreadsheetEngineContext setSpreadsheetMetadataMode(final SpreadsheetMetadataMode mode) {
+        return with(
+            this.context.setSpreadsheetMetadataMode(mode)
+        );
+    }
+
+    @Override
+    public void setSpreadsheetId(final Optional<SpreadsheetId> id) {
+        this.context.setSpreadsheetId(id);
+    }
+
+    @Override
+    public Optional<SpreadsheetSelection> resolveLabel(final SpreadsheetLabelName labelName) {
+        return this.context.resolveLabel(labelName);
+    }
+
+    @Override
+    public SpreadsheetEngineContext cloneEnvironment() {
+        return with(
+            this.context.cloneEnvironment()
+        );
+    }
+
+    @Override
+    public SpreadsheetEngineContext setEnvironmentContext(final EnvironmentContext environmentContext) {
+        return with(
+            this.context.setEnvironmentContext(environmentContext)
+        );
+    }
+
+    @Override
+    public void setLineEnding(final LineEnding lineEnding) {
+        this.context.setLineEnding(lineEnding);
+    }
+
+    @Override
+    public void setUser(final Optional<EmailAddress> user) {
+        this.context.setUser(user);
+    }
+
+    // SpreadsheetEngineContextDelegator................................................................................
+
+    @Override
+    public SpreadsheetEngineContext spreadsheetEngineContext() {
+        return this.context;
+    }
+
+    private final SpreadsheetEngineContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+
+import java.util.Map;
+
+/**
+ * An {@link ExpressionPurityContext} that remembers the purity of each {@link ExpressionFunctionName} for the life of a
+ * {@link BasicSpreadsheetEngineChanges}, so each function is only resolved once when many cells using the same
+ * functions are loaded with {@link SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY}.
+ */
+final class BasicSpreadsheetEngineChangesExpressionPurityContext implements ExpressionPurityContext {
+
+    static BasicSpreadsheetEngineChangesExpressionPurityContext with(final ExpressionPurityContext context) {
+        return new BasicSpreadsheetEngineChangesExpressionPurityContext(context);
+    }
+
+    private BasicSpreadsheetEngineChangesExpressionPurityContext(final ExpressionPurityContext context) {
+        super();
+        this.context = context;
+    }
+
+    @Override
+    public boolean isPure(final ExpressionFunctionName name) {
+        final Map<ExpressionFunctionName, Boolean> nameToPure = this.nameToPure;
+
+        Boolean pure = nameToPure.get(name);
+        if (null == pure) {
+            pure = this.context.isPure(name);
+            nameToPure.put(
+                name,
+                pure
+            );
+        }
+
+        return pure;
+    }
+
+    /**
+     * The wrapped {@link ExpressionPurityContext} which actually resolves each function.
+     */
+    final ExpressionPurityContext context;
+
+    private final Map<ExpressionFunctionName, Boolean> nameToPure = Maps.ordered();
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -18,15 +18,17 @@
 package walkingkooka.spreadsheet.engine;
 
 import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.formula.parser.CellSpreadsheetFormulaParserToken;
 import walkingkooka.spreadsheet.formula.parser.SpreadsheetFormulaParserToken;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
-import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 final class BasicSpreadsheetEngineFillCells {
@@ -84,7 +86,9 @@ final class BasicSpreadsheetEngineFillCells {
                       final SpreadsheetCellRangeReference to) {
         final List<Object> referencesAndCells = Lists.array();
         from.cells(cells,
-            referencesAndCells::add,
+            c -> referencesAndCells.add(
+                this.parseTemplate(c)
+            ),
             referencesAndCells::add);
 
         final int fromWidth = from.width();
@@ -122,11 +126,35 @@ final class BasicSpreadsheetEngineFillCells {
         }
     }
 
-    private void deleteCell(final SpreadsheetExpressionReference reference) {
-        this.engine.deleteCells(
-            reference,
+    /**
+     * Deletes the cell or cells directly from the store, the deletes are recorded by the enclosing
+     * {@link BasicSpreadsheetEngineChanges} rather than opening a new batch for every delete.
+     */
+    private void deleteCell(final SpreadsheetSelection cellOrRange) {
+        this.context.storeRepository()
+            .cells()
+            .deleteCells(
+                cellOrRange.toCellRange()
+            );
+    }
+
+    /**
+     * Parses the formula of a source cell once, so each repetition only needs to adjust relative references within the
+     * token. The {@link walkingkooka.tree.expression.Expression} is removed as it must be created from the adjusted token.
+     */
+    private SpreadsheetCell parseTemplate(final SpreadsheetCell cell) {
+        final SpreadsheetFormula formula = this.engine.parseFormulaIfNecessary(
+            cell,
+            Function.identity(),
             this.context
-        );
+        ).formula();
+
+        return formula.token()
+            .isPresent() ?
+            cell.setFormula(
+                formula.setExpression(SpreadsheetFormula.NO_EXPRESSION)
+            ) :
+            cell;
     }
 
     /**
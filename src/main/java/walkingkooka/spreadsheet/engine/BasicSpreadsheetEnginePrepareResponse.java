@@ -27,6 +27,7 @@ import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
@@ -47,6 +48,7 @@ import java.util.Comparator;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.stream.Collectors;
 
 /**
@@ -156,7 +158,7 @@ final class BasicSpreadsheetEnginePrepareResponse {
 
         if (this.shouldDeleteCells) {
             delta = delta.setDeletedCells(
-                extractDeleted(this.cells)
+                this.extractDeletedCells()
             );
         }
         if (this.shouldDeleteColumns) {
@@ -400,6 +402,8 @@ final class BasicSpreadsheetEnginePrepareResponse {
                 );
             }
 
+            this.missingCellRangeColumnsAndRows();
+
             // each cell might have additional labels...................................................................
 
             for (final Map.Entry<SpreadsheetCellReference, SpreadsheetCell> cellReferenceToCell : this.cells.entrySet()) {
@@ -413,6 +417,25 @@ final class BasicSpreadsheetEnginePrepareResponse {
         }
     }
 
+    /**
+     * Adds the columns and rows of each loaded range, which may hold cells missing from the store. Missing cells are
+     * only computed by {@link #extractDeletedCells()}.
+     */
+    private void missingCellRangeColumnsAndRows() {
+        for (final SpreadsheetCellRangeReference cellRange : this.changes.missingCellRanges) {
+            if (this.shouldSaveUpdateColumns) {
+                for (final SpreadsheetColumnReference column : cellRange.columnRange()) {
+                    this.addColumn(column);
+                }
+            }
+            if (this.shouldSaveUpdateRows) {
+                for (final SpreadsheetRowReference row : cellRange.rowRange()) {
+                    this.addRow(row);
+                }
+            }
+        }
+    }
+
     private final Map<SpreadsheetCellReference, SpreadsheetCell> cells = SpreadsheetSelectionMaps.cell();
 
     private void addCell(final SpreadsheetCellReference cell) {
@@ -446,21 +469,40 @@ final class BasicSpreadsheetEnginePrepareResponse {
         final Map<SpreadsheetColumnReference, Double> columnsWidths = SpreadsheetSelectionMaps.column();
 
         for (final SpreadsheetCellReference cell : this.cells.keySet()) {
-            final SpreadsheetColumnReference column = cell.column().toRelative();
+            this.addColumnWidth(
+                cell.column(),
+                columnsWidths
+            );
+        }
 
-            if (false == columnsWidths.containsKey(column)) {
-                final double width = this.engine.columnWidth(
-                    column,
-                    this.context
-                );
-                if (width > 0) {
-                    columnsWidths.put(column, width);
+        if (this.shouldDeleteCells) {
+            for (final SpreadsheetCellRangeReference cellRange : this.changes.missingCellRanges) {
+                for (final SpreadsheetColumnReference column : cellRange.columnRange()) {
+                    this.addColumnWidth(
+                        column,
+                        columnsWidths
+                    );
                 }
             }
         }
         return columnsWidths;
     }
 
+    private void addColumnWidth(final SpreadsheetColumnReference column,
+                                final Map<SpreadsheetColumnReference, Double> columnsWidths) {
+        final SpreadsheetColumnReference relative = column.toRelative();
+
+        if (false == columnsWidths.containsKey(relative)) {
+            final double width = this.engine.columnWidth(
+                relative,
+                this.context
+            );
+            if (width > 0) {
+                columnsWidths.put(relative, width);
+            }
+        }
+    }
+
     /**
      * Adds all the {@link SpreadsheetLabelMapping} for the given {@link SpreadsheetCellReference}.
      */
@@ -528,21 +570,40 @@ final class BasicSpreadsheetEnginePrepareResponse {
         final Map<SpreadsheetRowReference, Double> rowsHeights = SpreadsheetSelectionMaps.row();
 
         for (final SpreadsheetCellReference cell : this.cells.keySet()) {
-            final SpreadsheetRowReference row = cell.row()
-                .toRelative();
-            if (false == rowsHeights.containsKey(row)) {
-                final double height = this.engine.rowHeight(
-                    row,
-                    this.context
-                );
-                if (height > 0) {
-                    rowsHeights.put(row, height);
+            this.addRowHeight(
+                cell.row(),
+                rowsHeights
+            );
+        }
+
+        if (this.shouldDeleteCells) {
+            for (final SpreadsheetCellRangeReference cellRange : this.changes.missingCellRanges) {
+                for (final SpreadsheetRowReference row : cellRange.rowRange()) {
+                    this.addRowHeight(
+                        row,
+                        rowsHeights
+                    );
                 }
             }
         }
         return rowsHeights;
     }
 
+    private void addRowHeight(final SpreadsheetRowReference row,
+                              final Map<SpreadsheetRowReference, Double> rowsHeights) {
+        final SpreadsheetRowReference relative = row.toRelative();
+
+        if (false == rowsHeights.containsKey(relative)) {
+            final double height = this.engine.rowHeight(
+                relative,
+                this.context
+            );
+            if (height > 0) {
+                rowsHeights.put(relative, height);
+            }
+        }
+    }
+
     private <R extends SpreadsheetSelection & Comparable<R>, H extends HasSpreadsheetReference<R>> boolean add(final R reference,
                                                                                                                final Map<R, H> referenceToHas,
                                                                                                                final SpreadsheetStore<R, H> store) {
@@ -577,6 +638,74 @@ final class BasicSpreadsheetEnginePrepareResponse {
         return saveOrUpdated;
     }
 
+    /**
+     * Returns the deleted cells, along with the cells of each loaded range missing from the store. Each row of a range
+     * only visits the cells of that row held by {@link BasicSpreadsheetEngineChanges#cells}, and every gap between
+     * them is missing. A missing cell only has a {@link BasicSpreadsheetEngineChangesCache} if it was referenced by
+     * another cell.
+     */
+    private Set<SpreadsheetCellReference> extractDeletedCells() {
+        final Set<SpreadsheetCellReference> deleted = extractDeleted(this.cells);
+
+        final SortedMap<SpreadsheetCellReference, BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell>> caches = this.changes.cells;
+
+        for (final SpreadsheetCellRangeReference cellRange : this.changes.missingCellRanges) {
+            final SpreadsheetColumnReference left = cellRange.begin()
+                .column();
+            final int right = cellRange.end()
+                .column()
+                .value();
+
+            for (final SpreadsheetRowReference row : cellRange.rowRange()) {
+                int column = left.value();
+
+                for (final BasicSpreadsheetEngineChangesCache<SpreadsheetCellReference, SpreadsheetCell> cache : caches.tailMap(left.setRow(row)).values()) {
+                    final SpreadsheetCellReference cell = cache.reference;
+                    final int cellColumn = cell.column()
+                        .value();
+                    if (false == row.equalsIgnoreReferenceKind(cell.row()) || cellColumn > right) {
+                        break;
+                    }
+
+                    if (BasicSpreadsheetEngineChangesCacheStatusCell.REFERENCE_DELETED_REFERENCES_REFRESHED != cache.status()) {
+                        missingCells(
+                            row,
+                            column,
+                            cellColumn,
+                            deleted
+                        );
+                        column = cellColumn + 1;
+                    }
+                }
+
+                missingCells(
+                    row,
+                    column,
+                    right + 1,
+                    deleted
+                );
+            }
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Adds the cells of the given row from the start column inclusive to the end column exclusive.
+     */
+    private static void missingCells(final SpreadsheetRowReference row,
+                                     final int start,
+                                     final int end,
+                                     final Set<SpreadsheetCellReference> deleted) {
+        for (int column = start; column < end; column++) {
+            deleted.add(
+                row.setColumn(
+                    SpreadsheetReferenceKind.RELATIVE.column(column)
+                )
+            );
+        }
+    }
+
     private static <T extends SpreadsheetSelection> Set<T> extractDeleted(final Map<T, ?> referenceToEntities) {
         final Set<T> deleted = SortedSets.tree(SpreadsheetSelection.IGNORES_REFERENCE_KIND_COMPARATOR);
 
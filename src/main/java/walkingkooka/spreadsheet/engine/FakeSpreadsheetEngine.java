@@ -69,6 +69,15 @@ public class FakeSpreadsheetEngine implements SpreadsheetEngine, Fake {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public SpreadsheetDelta loadMultipleCellRangesChangedSince(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                               final long version,
+                                                               final SpreadsheetEngineEvaluation evaluation,
+                                                               final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                               final SpreadsheetEngineContext context) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public SpreadsheetDelta saveCell(final SpreadsheetCell cell,
                                      final SpreadsheetEngineContext context) {
@@ -302,6 +311,11 @@ public class FakeSpreadsheetEngine implements SpreadsheetEngine, Fake {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public long cellsVersion(final SpreadsheetEngineContext context) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public SpreadsheetViewportWindows window(final SpreadsheetViewport viewport,
                                              final SpreadsheetEngineContext context) {
@@ -0,0 +1,645 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.spreadsheet.compare.provider.SpreadsheetColumnOrRowSpreadsheetComparatorNames;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReferencePath;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.validation.SpreadsheetValidationReference;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetColumn;
+import walkingkooka.spreadsheet.value.SpreadsheetRow;
+import walkingkooka.spreadsheet.viewport.SpreadsheetViewport;
+import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.validation.ValueType;
+import walkingkooka.validation.form.Form;
+import walkingkooka.validation.form.FormName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a {@link SpreadsheetEngine} guarding each operation with a {@link ReadWriteLock}, allowing one writer or many
+ * readers. Operations that only read stores such as {@link #window(SpreadsheetViewport, SpreadsheetEngineContext)}
+ * and cell loads with {@link SpreadsheetEngineEvaluation#SKIP_EVALUATE}, which neither save cells nor add store watchers,
+ * share the read lock, while all others, including loads which may evaluate and save cells, take the write lock.
+ */
+final class ReadWriteLockSpreadsheetEngine implements SpreadsheetEngine {
+
+    static ReadWriteLockSpreadsheetEngine with(final SpreadsheetEngine engine,
+                                               final ReadWriteLock lock) {
+        Objects.requireNonNull(engine, "engine");
+        Objects.requireNonNull(lock, "lock");
+
+        return new ReadWriteLockSpreadsheetEngine(
+            engine,
+            lock
+        );
+    }
+
+    private ReadWriteLockSpreadsheetEngine(final SpreadsheetEngine engine,
+                                           final ReadWriteLock lock) {
+        super();
+        this.engine = engine;
+        this.lock = lock;
+    }
+
+    @Override
+    public Object evaluate(final String expression,
+                           final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.evaluate(
+                expression,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadCells(final SpreadsheetSelection selection,
+                                      final SpreadsheetEngineEvaluation evaluation,
+                                      final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                      final SpreadsheetEngineContext context) {
+        return this.readIfSkipEvaluate(
+            evaluation,
+            () -> this.engine.loadCells(
+                selection,
+                evaluation,
+                deltaProperties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadMultipleCellRanges(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                   final SpreadsheetEngineEvaluation evaluation,
+                                                   final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                   final SpreadsheetEngineContext context) {
+        return this.readIfSkipEvaluate(
+            evaluation,
+            () -> this.engine.loadMultipleCellRanges(
+                cellRanges,
+                evaluation,
+                deltaProperties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadMultipleCellRangesChangedSince(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                               final long version,
+                                                               final SpreadsheetEngineEvaluation evaluation,
+                                                               final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                               final SpreadsheetEngineContext context) {
+        return this.readIfSkipEvaluate(
+            evaluation,
+            () -> this.engine.loadMultipleCellRangesChangedSince(
+                cellRanges,
+                version,
+                evaluation,
+                deltaProperties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveCell(final SpreadsheetCell cell,
+                                     final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveCell(
+                cell,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveCells(final Set<SpreadsheetCell> cells,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveCells(
+                cells,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta deleteCells(final SpreadsheetSelection cells,
+                                        final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.deleteCells(
+                cells,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta fillCells(final Collection<SpreadsheetCell> cells,
+                                      final SpreadsheetCellRangeReference from,
+                                      final SpreadsheetCellRangeReference to,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.fillCells(
+                cells,
+                from,
+                to,
+                context
+            )
+        );
+    }
+
+    @Override
+    public Set<SpreadsheetCell> filterCells(final Set<SpreadsheetCell> cells,
+                                            final ValueType valueType,
+                                            final Expression expression,
+                                            final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.filterCells(
+                cells,
+                valueType,
+                expression,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta findFormulaReferences(final SpreadsheetCellReference reference,
+                                                  final int offset,
+                                                  final int count,
+                                                  final Set<SpreadsheetDeltaProperties> properties,
+                                                  final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.findFormulaReferences(
+                reference,
+                offset,
+                count,
+                properties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta queryCells(final SpreadsheetCellRangeReference cellRange,
+                                       final SpreadsheetCellRangeReferencePath path,
+                                       final int offset,
+                                       final int count,
+                                       final ValueType valueType,
+                                       final Expression expression,
+                                       final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.queryCells(
+                cellRange,
+                path,
+                offset,
+                count,
+                valueType,
+                expression,
+                deltaProperties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta sortCells(final SpreadsheetCellRangeReference cellRange,
+                                      final List<SpreadsheetColumnOrRowSpreadsheetComparatorNames> comparatorNames,
+                                      final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.sortCells(
+                cellRange,
+                comparatorNames,
+                deltaProperties,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadColumn(final SpreadsheetColumnReference column,
+                                       final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.loadColumn(
+                column,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveColumn(final SpreadsheetColumn column,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveColumn(
+                column,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta deleteColumns(final SpreadsheetColumnReference column,
+                                          final int count,
+                                          final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.deleteColumns(
+                column,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadRow(final SpreadsheetRowReference row,
+                                    final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.loadRow(
+                row,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveRow(final SpreadsheetRow row,
+                                    final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveRow(
+                row,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta deleteRows(final SpreadsheetRowReference row,
+                                       final int count,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.deleteRows(
+                row,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta insertColumns(final SpreadsheetColumnReference column,
+                                          final int count,
+                                          final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.insertColumns(
+                column,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta insertRows(final SpreadsheetRowReference row,
+                                       final int count,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.insertRows(
+                row,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadForm(final FormName name,
+                                     final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.loadForm(
+                name,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveForm(final Form<SpreadsheetValidationReference> form,
+                                     final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveForm(
+                form,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta deleteForm(final FormName name,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.deleteForm(
+                name,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadForms(final int offset,
+                                      final int count,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.loadForms(
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta prepareForm(final FormName name,
+                                        final SpreadsheetExpressionReference selection,
+                                        final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.prepareForm(
+                name,
+                selection,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta submitForm(final Form<SpreadsheetValidationReference> form,
+                                       final SpreadsheetExpressionReference selection,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.submitForm(
+                form,
+                selection,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta findFormsByName(final String text,
+                                            final int offset,
+                                            final int count,
+                                            final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.findFormsByName(
+                text,
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadLabel(final SpreadsheetLabelName name,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.loadLabel(
+                name,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta loadLabels(final int offset,
+                                       final int count,
+                                       final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.loadLabels(
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta saveLabel(final SpreadsheetLabelMapping mapping,
+                                      final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.saveLabel(
+                mapping,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta deleteLabel(final SpreadsheetLabelName label,
+                                        final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.deleteLabel(
+                label,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta findLabelsByName(final String text,
+                                             final int offset,
+                                             final int count,
+                                             final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.findLabelsByName(
+                text,
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta findLabelsWithReference(final SpreadsheetExpressionReference reference,
+                                                    final int offset,
+                                                    final int count,
+                                                    final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.findLabelsWithReference(
+                reference,
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetDelta findCellsWithReference(final SpreadsheetExpressionReference reference,
+                                                   final int offset,
+                                                   final int count,
+                                                   final SpreadsheetEngineContext context) {
+        return this.write(
+            () -> this.engine.findCellsWithReference(
+                reference,
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    public double columnWidth(final SpreadsheetColumnReference column,
+                              final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.columnWidth(
+                column,
+                context
+            )
+        );
+    }
+
+    @Override
+    public double rowHeight(final SpreadsheetRowReference row,
+                            final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.rowHeight(
+                row,
+                context
+            )
+        );
+    }
+
+    @Override
+    public int columnCount(final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.columnCount(
+                context
+            )
+        );
+    }
+
+    @Override
+    public int rowCount(final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.rowCount(
+                context
+            )
+        );
+    }
+
+    @Override
+    public long cellsVersion(final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.cellsVersion(
+                context
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetViewportWindows window(final SpreadsheetViewport viewport,
+                                             final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.window(
+                viewport,
+                context
+            )
+        );
+    }
+
+    @Override
+    public Optional<SpreadsheetViewport> navigate(final SpreadsheetViewport viewport,
+                                                  final SpreadsheetEngineContext context) {
+        return this.read(
+            () -> this.engine.navigate(
+                viewport,
+                context
+            )
+        );
+    }
+
+    /**
+     * Loads that skip evaluation only read stores, all other evaluations may save cells.
+     */
+    private <T> T readIfSkipEvaluate(final SpreadsheetEngineEvaluation evaluation,
+                                     final Supplier<T> supplier) {
+        return SpreadsheetEngineEvaluation.SKIP_EVALUATE == evaluation ?
+            this.read(supplier) :
+            this.write(supplier);
+    }
+
+    private <T> T read(final Supplier<T> supplier) {
+        return locked(
+            this.lock.readLock(),
+            supplier
+        );
+    }
+
+    private <T> T write(final Supplier<T> supplier) {
+        return locked(
+            this.lock.writeLock(),
+            supplier
+        );
+    }
+
+    private static <T> T locked(final Lock lock,
+                                final Supplier<T> supplier) {
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The engine being wrapped.
+     */
+    private final SpreadsheetEngine engine;
+
+    private final ReadWriteLock lock;
+
+    @Override
+    public String toString() {
+        return this.engine.toString();
+    }
+}
@@ -27,10 +27,12 @@ import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.datetime.DateTimeSymbols;
 import walkingkooka.math.DecimalNumberSymbols;
+import walkingkooka.net.header.MediaType;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.spreadsheet.engine.collection.SpreadsheetCellSet;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.net.SpreadsheetMediaTypes;
 import walkingkooka.spreadsheet.parser.provider.SpreadsheetParserSelector;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
@@ -2563,11 +2565,106 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
 
     abstract void printWindow(final IndentingPrinter printer);
 
+    // compact json.....................................................................................................
+
+    /**
+     * Marshalls this {@link SpreadsheetDelta} using the {@link SpreadsheetMediaTypes#COMPACT_JSON_DELTA} format.
+     */
+    public final JsonNode marshallCompact(final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return SpreadsheetDeltaCompactJson.marshall(
+            this,
+            context
+        );
+    }
+
+    /**
+     * Unmarshalls JSON in the {@link SpreadsheetMediaTypes#COMPACT_JSON_DELTA} format,
+     * the opposite of {@link #marshallCompact(JsonNodeMarshallContext)}.
+     */
+    public static SpreadsheetDelta unmarshallCompact(final JsonNode node,
+                                                     final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(context, "context");
+
+        return SpreadsheetDeltaCompactJson.unmarshall(
+            node,
+            context
+        );
+    }
+
+    /**
+     * Marshalls this {@link SpreadsheetDelta} using the format of the given {@link MediaType}, either
+     * {@link SpreadsheetMediaTypes#JSON_DELTA} or {@link SpreadsheetMediaTypes#COMPACT_JSON_DELTA}.
+     */
+    public final JsonNode marshall(final MediaType contentType,
+                                   final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return isCompact(contentType) ?
+            SpreadsheetDeltaCompactJson.marshall(
+                this,
+                context
+            ) :
+            this.marshall(context);
+    }
+
+    /**
+     * Unmarshalls JSON using the format of the given {@link MediaType}, either {@link SpreadsheetMediaTypes#JSON_DELTA}
+     * or {@link SpreadsheetMediaTypes#COMPACT_JSON_DELTA}.
+     */
+    public static SpreadsheetDelta unmarshall(final JsonNode node,
+                                              final MediaType contentType,
+                                              final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(node, "node");
+        Objects.requireNonNull(context, "context");
+
+        return isCompact(contentType) ?
+            SpreadsheetDeltaCompactJson.unmarshall(
+                node,
+                context
+            ) :
+            unmarshall(
+                node,
+                context
+            );
+    }
+
+    private static boolean isCompact(final MediaType contentType) {
+        Objects.requireNonNull(contentType, "contentType");
+
+        final boolean compact = SpreadsheetMediaTypes.COMPACT_JSON_DELTA.test(contentType);
+        if (false == compact && false == SpreadsheetMediaTypes.JSON_DELTA.test(contentType)) {
+            throw new IllegalArgumentException("Unsupported content type " + contentType);
+        }
+
+        return compact;
+    }
+
     // JsonNodeContext..................................................................................................
 
     // @VisibleForTesting
     static SpreadsheetDelta unmarshall(final JsonNode node,
                                        final JsonNodeUnmarshallContext context) {
+        return unmarshall(
+            node,
+            (cells) -> unmarshallReferenceTo(
+                cells,
+                SpreadsheetCell.class,
+                context
+            ),
+            context
+        );
+    }
+
+    /**
+     * Unmarshalls a {@link SpreadsheetDelta} using the given {@link Function} to unmarshall the cells, all other
+     * properties are unmarshalled normally.
+     */
+    static SpreadsheetDelta unmarshall(final JsonNode node,
+                                       final Function<JsonNode, Set<SpreadsheetCell>> cellsUnmarshaller,
+                                       final JsonNodeUnmarshallContext context) {
         SpreadsheetDelta unmarshalled = EMPTY;
 
         for (final JsonNode child : node.objectOrFail().children()) {
@@ -2584,11 +2681,7 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
                     break;
                 case CELLS_PROPERTY_STRING:
                     unmarshalled = unmarshalled.setCells(
-                        unmarshallReferenceTo(
-                            child,
-                            SpreadsheetCell.class,
-                            context
-                        )
+                        cellsUnmarshaller.apply(child)
                     );
                     break;
                 case COLUMNS_PROPERTY_STRING:
@@ -2795,6 +2888,21 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
      * </pre>
      */
     private JsonNode marshall(final JsonNodeMarshallContext context) {
+        return this.marshall(
+            (cells) -> marshallCellOrColumnsOrRow(
+                cells,
+                context
+            ),
+            context
+        );
+    }
+
+    /**
+     * Marshalls this {@link SpreadsheetDelta} using the given {@link Function} to marshall the cells, all other
+     * properties are marshalled normally.
+     */
+    final JsonNode marshall(final Function<Set<SpreadsheetCell>, JsonNode> cellsMarshaller,
+                            final JsonNodeMarshallContext context) {
         final List<JsonNode> children = Lists.array();
 
         {
@@ -2811,10 +2919,8 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
             final Set<SpreadsheetCell> cells = this.cells;
             if (false == cells.isEmpty()) {
                 children.add(
-                    marshallCellOrColumnsOrRow(
-                        cells,
-                        context
-                    ).setName(CELLS_PROPERTY)
+                    cellsMarshaller.apply(cells)
+                        .setName(CELLS_PROPERTY)
                 );
             }
         }
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.datetime.DateTimeSymbols;
+import walkingkooka.math.DecimalNumberSymbols;
+import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.net.SpreadsheetMediaTypes;
+import walkingkooka.spreadsheet.parser.provider.SpreadsheetParserSelector;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallException;
+import walkingkooka.tree.text.TextNode;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.validation.provider.ValidatorSelector;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Marshalls and unmarshalls a {@link SpreadsheetDelta} using the {@link SpreadsheetMediaTypes#COMPACT_JSON_DELTA} format.
+ * The format is the regular {@link SpreadsheetDelta} JSON with the following differences for each cell.
+ * <ul>
+ * <li>Repeated style, formatter, parser, validator, locale, currency and symbols values are replaced by an index into a
+ * per message dictionary, each distinct value is marshalled once.</li>
+ * <li>The formula token and expression are dropped, as they may be re-derived from the formula text.</li>
+ * </ul>
+ * <pre>
+ * {
+ *   "cells": {
+ *     "A1": {
+ *       "formula": {
+ *         "text": "=1+2"
+ *       },
+ *       "formatter": 0,
+ *       "style": 0
+ *     },
+ *     "B2": {
+ *       "formula": {
+ *         "text": "=3+4"
+ *       },
+ *       "formatter": 0,
+ *       "style": 0
+ *     }
+ *   },
+ *   "dictionary": {
+ *     "formatter": [
+ *       "number-format-pattern #,##0.00"
+ *     ],
+ *     "style": [
+ *       {
+ *         "font-style": "ITALIC"
+ *       }
+ *     ]
+ *   }
+ * }
+ * </pre>
+ */
+final class SpreadsheetDeltaCompactJson {
+
+    static JsonNode marshall(final SpreadsheetDelta delta,
+                             final JsonNodeMarshallContext context) {
+        final SpreadsheetDeltaCompactJson compact = new SpreadsheetDeltaCompactJson();
+
+        return compact.marshallDictionary(
+            delta.marshall(
+                (cells) -> compact.marshallCells(
+                    cells,
+                    context
+                ),
+                context
+            ).objectOrFail(),
+            context
+        );
+    }
+
+    static SpreadsheetDelta unmarshall(final JsonNode node,
+                                       final JsonNodeUnmarshallContext context) {
+        final Map<JsonPropertyName, List<Object>> dictionary = Maps.ordered();
+        final List<JsonNode> children = Lists.array();
+
+        for (final JsonNode child : node.objectOrFail().children()) {
+            if (DICTIONARY_PROPERTY.equals(child.name())) {
+                unmarshallDictionary(
+                    child,
+                    dictionary,
+                    context
+                );
+            } else {
+                children.add(child);
+            }
+        }
+
+        return SpreadsheetDelta.unmarshall(
+            JsonNode.object()
+                .setChildren(children),
+            (cells) -> unmarshallCells(
+                cells,
+                dictionary,
+                context
+            ),
+            context
+        );
+    }
+
+    private SpreadsheetDeltaCompactJson() {
+        super();
+    }
+
+    // marshall.........................................................................................................
+
+    private JsonNode marshallCells(final Set<SpreadsheetCell> cells,
+                                   final JsonNodeMarshallContext context) {
+        final List<JsonNode> children = Lists.array();
+
+        for (final SpreadsheetCell cell : cells) {
+            children.add(
+                this.marshallCell(
+                    cell,
+                    context
+                )
+            );
+        }
+
+        return JsonNode.object()
+            .setChildren(children);
+    }
+
+    /**
+     * Marshalls the cell, with the same properties in the same order as the regular {@link SpreadsheetCell} JSON.
+     */
+    private JsonNode marshallCell(final SpreadsheetCell cell,
+                                  final JsonNodeMarshallContext context) {
+        JsonObject properties = JsonNode.object()
+            .set(
+                SpreadsheetCell.FORMULA_PROPERTY,
+                context.marshall(
+                    cell.formula()
+                        .replaceToken(SpreadsheetFormula.NO_TOKEN)
+                        .replaceExpression(SpreadsheetFormula.NO_EXPRESSION)
+                )
+            );
+
+        properties = this.marshallIndex(
+            SpreadsheetCell.CURRENCY_PROPERTY,
+            cell.currency(),
+            properties,
+            context
+        );
+        properties = this.marshallIndex(
+            SpreadsheetCell.DATE_TIME_SYMBOLS_PROPERTY,
+            cell.dateTimeSymbols(),
+            properties,
+            context
+        );
+        properties = this.marshallIndex(
+            SpreadsheetCell.DECIMAL_NUMBER_SYMBOLS_PROPERTY,
+            cell.decimalNumberSymbols(),
+            properties,
+            context
+        );
+        properties = this.marshallIndex(
+            SpreadsheetCell.FORMATTER_PROPERTY,
+            cell.formatter(),
+            properties,
+            context
+        );
+        properties = this.marshallIndex(
+            SpreadsheetCell.LOCALE_PROPERTY,
+            cell.locale(),
+            properties,
+            context
+        );
+        properties = this.marshallIndex(
+            SpreadsheetCell.PARSER_PROPERTY,
+            cell.parser(),
+            properties,
+            context
+        );
+
+        final TextStyle style = cell.style();
+        if (style.isNotEmpty()) {
+            properties = this.marshallIndex(
+                SpreadsheetCell.STYLE_PROPERTY,
+                Optional.of(style),
+                properties,
+                context
+            );
+        }
+
+        properties = this.marshallIndex(
+            SpreadsheetCell.VALIDATOR_PROPERTY,
+            cell.validator(),
+            properties,
+            context
+        );
+
+        final Optional<TextNode> formattedValue = cell.formattedValue();
+        if (formattedValue.isPresent()) {
+            properties = properties.set(
+                SpreadsheetCell.FORMATTED_VALUE_PROPERTY,
+                context.marshallOptionalWithType(formattedValue)
+            );
+        }
+
+        return properties.setName(
+            JsonPropertyName.with(
+                cell.reference()
+                    .toString()
+            )
+        );
+    }
+
+    /**
+     * If the value is present adds its dictionary index to the given properties.
+     */
+    private JsonObject marshallIndex(final JsonPropertyName name,
+                                     final Optional<?> value,
+                                     final JsonObject properties,
+                                     final JsonNodeMarshallContext context) {
+        return value.isPresent() ?
+            properties.set(
+                name,
+                context.marshall(
+                    this.index(
+                        name,
+                        value.get()
+                    )
+                )
+            ) :
+            properties;
+    }
+
+    /**
+     * Returns the dictionary index for the given value, adding the value if it is new.
+     */
+    private int index(final JsonPropertyName name,
+                      final Object value) {
+        Map<Object, Integer> values = this.propertyToValues.get(name);
+        if (null == values) {
+            values = Maps.ordered();
+            this.propertyToValues.put(
+                name,
+                values
+            );
+        }
+
+        Integer index = values.get(value);
+        if (null == index) {
+            index = values.size();
+            values.put(
+                value,
+                index
+            );
+        }
+
+        return index;
+    }
+
+    /**
+     * Adds the dictionary holding each interned value to the given {@link SpreadsheetDelta} JSON, if any were recorded.
+     */
+    private JsonNode marshallDictionary(final JsonObject json,
+                                        final JsonNodeMarshallContext context) {
+        final Map<JsonPropertyName, Map<Object, Integer>> propertyToValues = this.propertyToValues;
+
+        JsonObject marshalled = json;
+
+        if (false == propertyToValues.isEmpty()) {
+            final List<JsonNode> dictionary = Lists.array();
+
+            for (final Map.Entry<JsonPropertyName, Map<Object, Integer>> propertyAndValues : propertyToValues.entrySet()) {
+                final List<JsonNode> values = Lists.array();
+
+                for (final Object value : propertyAndValues.getValue().keySet()) {
+                    values.add(
+                        context.marshall(value)
+                    );
+                }
+
+                dictionary.add(
+                    JsonNode.array()
+                        .setChildren(values)
+                        .setName(propertyAndValues.getKey())
+                );
+            }
+
+            marshalled = marshalled.set(
+                DICTIONARY_PROPERTY,
+                JsonNode.object()
+                    .setChildren(dictionary)
+            );
+        }
+
+        return marshalled;
+    }
+
+    /**
+     * Values of each interned property, in the order they were first seen.
+     */
+    private final Map<JsonPropertyName, Map<Object, Integer>> propertyToValues = Maps.ordered();
+
+    // unmarshall.......................................................................................................
+
+    /**
+     * Unmarshalls each dictionary value once, into the {@link Map} of values for each interned property.
+     */
+    private static void unmarshallDictionary(final JsonNode json,
+                                             final Map<JsonPropertyName, List<Object>> dictionary,
+                                             final JsonNodeUnmarshallContext context) {
+        for (final JsonNode values : json.objectOrFail().children()) {
+            final JsonPropertyName name = values.name();
+
+            final Class<?> type = INTERNED_PROPERTY_TO_TYPE.get(name);
+            if (null == type) {
+                JsonNodeUnmarshallContext.unknownPropertyPresent(
+                    name,
+                    json
+                );
+            }
+
+            final List<Object> unmarshalled = Lists.array();
+
+            for (final JsonNode value : values.children()) {
+                unmarshalled.add(
+                    context.unmarshall(
+                        value,
+                        type
+                    )
+                );
+            }
+
+            dictionary.put(
+                name,
+                unmarshalled
+            );
+        }
+    }
+
+    private static Set<SpreadsheetCell> unmarshallCells(final JsonNode json,
+                                                        final Map<JsonPropertyName, List<Object>> dictionary,
+                                                        final JsonNodeUnmarshallContext context) {
+        final Set<SpreadsheetCell> cells = Sets.ordered();
+
+        for (final JsonNode cell : json.objectOrFail().children()) {
+            cells.add(
+                unmarshallCell(
+                    cell,
+                    dictionary,
+                    context
+                )
+            );
+        }
+
+        return cells;
+    }
+
+    private static SpreadsheetCell unmarshallCell(final JsonNode json,
+                                                  final Map<JsonPropertyName, List<Object>> dictionary,
+                                                  final JsonNodeUnmarshallContext context) {
+        SpreadsheetFormula formula = SpreadsheetFormula.EMPTY;
+        Optional<Currency> currency = SpreadsheetCell.NO_CURRENCY;
+        Optional<DateTimeSymbols> dateTimeSymbols = SpreadsheetCell.NO_DATETIME_SYMBOLS;
+        Optional<DecimalNumberSymbols> decimalNumberSymbols = SpreadsheetCell.NO_DECIMAL_NUMBER_SYMBOLS;
+        Optional<SpreadsheetFormatterSelector> formatter = SpreadsheetCell.NO_FORMATTER;
+        Optional<Locale> locale = SpreadsheetCell.NO_LOCALE;
+        Optional<SpreadsheetParserSelector> parser = SpreadsheetCell.NO_PARSER;
+        TextStyle style = TextStyle.EMPTY;
+        Optional<ValidatorSelector> validator = SpreadsheetCell.NO_VALIDATOR;
+        Optional<TextNode> formattedValue = SpreadsheetCell.NO_FORMATTED_VALUE_CELL;
+
+        for (final JsonNode property : json.objectOrFail().children()) {
+            final JsonPropertyName name = property.name();
+
+            if (SpreadsheetCell.FORMULA_PROPERTY.equals(name)) {
+                formula = context.unmarshall(
+                    property,
+                    SpreadsheetFormula.class
+                );
+            } else if (SpreadsheetCell.FORMATTED_VALUE_PROPERTY.equals(name)) {
+                formattedValue = context.unmarshallOptionalWithType(property);
+            } else if (INTERNED_PROPERTY_TO_TYPE.containsKey(name)) {
+                final Object value = dictionaryValue(
+                    name,
+                    property,
+                    dictionary,
+                    context
+                );
+
+                if (SpreadsheetCell.CURRENCY_PROPERTY.equals(name)) {
+                    currency = Optional.of((Currency) value);
+                } else if (SpreadsheetCell.DATE_TIME_SYMBOLS_PROPERTY.equals(name)) {
+                    dateTimeSymbols = Optional.of((DateTimeSymbols) value);
+                } else if (SpreadsheetCell.DECIMAL_NUMBER_SYMBOLS_PROPERTY.equals(name)) {
+                    decimalNumberSymbols = Optional.of((DecimalNumberSymbols) value);
+                } else if (SpreadsheetCell.FORMATTER_PROPERTY.equals(name)) {
+                    formatter = Optional.of((SpreadsheetFormatterSelector) value);
+                } else if (SpreadsheetCell.LOCALE_PROPERTY.equals(name)) {
+                    locale = Optional.of((Locale) value);
+                } else if (SpreadsheetCell.PARSER_PROPERTY.equals(name)) {
+                    parser = Optional.of((SpreadsheetParserSelector) value);
+                } else if (SpreadsheetCell.STYLE_PROPERTY.equals(name)) {
+                    style = (TextStyle) value;
+                } else {
+                    validator = Optional.of((ValidatorSelector) value);
+                }
+            } else {
+                JsonNodeUnmarshallContext.unknownPropertyPresent(
+                    name,
+                    json
+                );
+            }
+        }
+
+        // formattedValue last because the other setters clear it
+        return SpreadsheetSelection.parseCell(
+                json.name()
+                    .value()
+            ).setFormula(formula)
+            .setCurrency(currency)
+            .setDateTimeSymbols(dateTimeSymbols)
+            .setDecimalNumberSymbols(decimalNumberSymbols)
+            .setFormatter(formatter)
+            .setLocale(locale)
+            .setParser(parser)
+            .setStyle(style)
+            .setValidator(validator)
+            .setFormattedValue(formattedValue);
+    }
+
+    private static Object dictionaryValue(final JsonPropertyName name,
+                                          final JsonNode index,
+                                          final Map<JsonPropertyName, List<Object>> dictionary,
+                                          final JsonNodeUnmarshallContext context) {
+        final List<Object> values = dictionary.get(name);
+        final int i = context.unmarshall(
+            index,
+            Integer.class
+        );
+
+        if (null == values || i < 0 || i >= values.size()) {
+            throw new JsonNodeUnmarshallException("Unknown " + name + " dictionary index " + i, index);
+        }
+
+        return values.get(i);
+    }
+
+    private final static JsonPropertyName DICTIONARY_PROPERTY = JsonPropertyName.with("dictionary");
+
+    /**
+     * {@link SpreadsheetCell} properties that are typically repeated across many cells, and the type of their values.
+     */
+    private final static Map<JsonPropertyName, Class<?>> INTERNED_PROPERTY_TO_TYPE = Maps.ordered();
+
+    static {
+        final Map<JsonPropertyName, Class<?>> propertyToType = INTERNED_PROPERTY_TO_TYPE;
+
+        propertyToType.put(SpreadsheetCell.CURRENCY_PROPERTY, Currency.class);
+        propertyToType.put(SpreadsheetCell.DATE_TIME_SYMBOLS_PROPERTY, DateTimeSymbols.class);
+        propertyToType.put(SpreadsheetCell.DECIMAL_NUMBER_SYMBOLS_PROPERTY, DecimalNumberSymbols.class);
+        propertyToType.put(SpreadsheetCell.FORMATTER_PROPERTY, SpreadsheetFormatterSelector.class);
+        propertyToType.put(SpreadsheetCell.LOCALE_PROPERTY, Locale.class);
+        propertyToType.put(SpreadsheetCell.PARSER_PROPERTY, SpreadsheetParserSelector.class);
+        propertyToType.put(SpreadsheetCell.STYLE_PROPERTY, TextStyle.class);
+        propertyToType.put(SpreadsheetCell.VALIDATOR_PROPERTY, ValidatorSelector.class);
+    }
+}
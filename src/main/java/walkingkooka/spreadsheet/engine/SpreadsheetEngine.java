@@ -91,6 +91,17 @@ public interface SpreadsheetEngine {
                                             final Set<SpreadsheetDeltaProperties> deltaProperties,
                                             final SpreadsheetEngineContext context);
 
+    /**
+     * Loads only the cells within the given ranges that were saved or deleted after the given {@link #cellsVersion(SpreadsheetEngineContext)},
+     * allowing a client to refresh a viewport without receiving every cell again. Deleted cells are returned in
+     * {@link SpreadsheetDelta#deletedCells()}.
+     */
+    SpreadsheetDelta loadMultipleCellRangesChangedSince(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                        final long version,
+                                                        final SpreadsheetEngineEvaluation evaluation,
+                                                        final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                        final SpreadsheetEngineContext context);
+
     /**
      * Saves the cell, and updates all affected (referenced cells) returning all updated cells.
      */
@@ -356,6 +367,12 @@ public interface SpreadsheetEngine {
      */
     int rowCount(final SpreadsheetEngineContext context);
 
+    /**
+     * Returns the current version of the cells in this spreadsheet, which increases each time a cell is saved or deleted.
+     * Clients should read the version before loading cells, so no later change is missed.
+     */
+    long cellsVersion(final SpreadsheetEngineContext context);
+
     /**
      * An absent {@link SpreadsheetSelection}.
      */
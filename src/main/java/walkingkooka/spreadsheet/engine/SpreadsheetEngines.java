@@ -17,9 +17,12 @@
 
 package walkingkooka.spreadsheet.engine;
 
+import walkingkooka.datetime.HasNow;
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 
+import java.time.Duration;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Function;
 
 public final class SpreadsheetEngines implements PublicStaticHelper {
@@ -31,6 +34,13 @@ public final class SpreadsheetEngines implements PublicStaticHelper {
         return BasicSpreadsheetEngine.INSTANCE;
     }
 
+    /**
+     * {@see BasicSpreadsheetEngine#DEFER_FORMATTING}
+     */
+    public static SpreadsheetEngine basicDeferFormatting() {
+        return BasicSpreadsheetEngine.DEFER_FORMATTING;
+    }
+
     /**
      * {@see FakeSpreadsheetEngine}
      */
@@ -38,6 +48,17 @@ public final class SpreadsheetEngines implements PublicStaticHelper {
         return new FakeSpreadsheetEngine();
     }
 
+    /**
+     * {@see ReadWriteLockSpreadsheetEngine}
+     */
+    public static SpreadsheetEngine readWriteLock(final SpreadsheetEngine engine,
+                                                  final ReadWriteLock lock) {
+        return ReadWriteLockSpreadsheetEngine.with(
+            engine,
+            lock
+        );
+    }
+
     /**
      * {@see SpreadsheetMetadataStampingSpreadsheetEngine}
      */
@@ -46,6 +67,21 @@ public final class SpreadsheetEngines implements PublicStaticHelper {
         return SpreadsheetMetadataStampingSpreadsheetEngine.with(engine, stamper);
     }
 
+    /**
+     * {@see SpreadsheetMetadataStampingSpreadsheetEngine}
+     */
+    public static SpreadsheetEngine stamper(final SpreadsheetEngine engine,
+                                            final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper,
+                                            final Duration interval,
+                                            final HasNow now) {
+        return SpreadsheetMetadataStampingSpreadsheetEngine.with(
+            engine,
+            stamper,
+            interval,
+            now
+        );
+    }
+
     /**
      * Stop creation
      */
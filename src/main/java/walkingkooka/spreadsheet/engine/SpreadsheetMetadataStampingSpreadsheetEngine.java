@@ -17,7 +17,10 @@
 
 package walkingkooka.spreadsheet.engine;
 
+import walkingkooka.collect.map.Maps;
+import walkingkooka.datetime.HasNow;
 import walkingkooka.spreadsheet.compare.provider.SpreadsheetColumnOrRowSpreadsheetComparatorNames;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReferencePath;
@@ -41,8 +44,11 @@ import walkingkooka.validation.ValueType;
 import walkingkooka.validation.form.Form;
 import walkingkooka.validation.form.FormName;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -52,23 +58,59 @@ import java.util.function.Supplier;
 
 /**
  * Wraps a {@link SpreadsheetEngine} that conditionally calls a {@link Function} to stamp and save the {@link SpreadsheetMetadata}.
- * This is particularly useful to update the last modified user and timestamp.
+ * This is particularly useful to update the last modified user and timestamp. An optional interval limits stamping to
+ * once per interval for each spreadsheet, avoiding a metadata save and the resulting metadata store watcher events for
+ * every change during bursts of writes. Changes within the interval are stamped by the first write or evaluating load
+ * once the interval has passed. There is no timer, so the trailing changes of a burst remain unstamped until such a
+ * call happens, for any spreadsheet sharing the same {@link walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore}.
  */
 final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetEngine {
 
     static SpreadsheetMetadataStampingSpreadsheetEngine with(final SpreadsheetEngine engine,
                                                              final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper) {
+        return with(
+            engine,
+            stamper,
+            Duration.ZERO,
+            LocalDateTime::now
+        );
+    }
+
+    /**
+     * Creates a {@link SpreadsheetMetadataStampingSpreadsheetEngine} which stamps and saves the metadata of a spreadsheet
+     * at most once per interval, changes within the interval of the previous stamp are stamped by the first call
+     * after the interval.
+     */
+    static SpreadsheetMetadataStampingSpreadsheetEngine with(final SpreadsheetEngine engine,
+                                                             final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper,
+                                                             final Duration interval,
+                                                             final HasNow now) {
         Objects.requireNonNull(engine, "engine");
         Objects.requireNonNull(stamper, "stamper");
+        Objects.requireNonNull(interval, "interval");
+        Objects.requireNonNull(now, "now");
+
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Invalid interval " + interval + " < 0");
+        }
 
-        return new SpreadsheetMetadataStampingSpreadsheetEngine(engine, stamper);
+        return new SpreadsheetMetadataStampingSpreadsheetEngine(
+            engine,
+            stamper,
+            interval,
+            now
+        );
     }
 
     private SpreadsheetMetadataStampingSpreadsheetEngine(final SpreadsheetEngine engine,
-                                                         final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper) {
+                                                         final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper,
+                                                         final Duration interval,
+                                                         final HasNow now) {
         super();
         this.engine = engine;
         this.stamper = stamper;
+        this.interval = interval;
+        this.now = now;
     }
 
     @Override
@@ -85,7 +127,8 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                                       final SpreadsheetEngineEvaluation evaluation,
                                       final Set<SpreadsheetDeltaProperties> deltaProperties,
                                       final SpreadsheetEngineContext context) {
-        return this.stamp(
+        return this.stampIfEvaluating(
+            evaluation,
             () -> this.engine.loadCells(
                 selection,
                 evaluation,
@@ -101,7 +144,8 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                                                    final SpreadsheetEngineEvaluation evaluation,
                                                    final Set<SpreadsheetDeltaProperties> deltaProperties,
                                                    final SpreadsheetEngineContext context) {
-        return this.stamp(
+        return this.stampIfEvaluating(
+            evaluation,
             () -> this.engine.loadMultipleCellRanges(
                 cellRanges,
                 evaluation,
@@ -112,6 +156,24 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         );
     }
 
+    @Override
+    public SpreadsheetDelta loadMultipleCellRangesChangedSince(final Set<SpreadsheetCellRangeReference> cellRanges,
+                                                               final long version,
+                                                               final SpreadsheetEngineEvaluation evaluation,
+                                                               final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                               final SpreadsheetEngineContext context) {
+        return this.stampIfEvaluating(
+            evaluation,
+            () -> this.engine.loadMultipleCellRangesChangedSince(
+                cellRanges,
+                version,
+                evaluation,
+                deltaProperties,
+                context
+            ),
+            context
+        );
+    }
 
     @Override
     public SpreadsheetDelta saveCell(final SpreadsheetCell cell,
@@ -455,6 +517,11 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         return this.engine.rowCount(context);
     }
 
+    @Override
+    public long cellsVersion(final SpreadsheetEngineContext context) {
+        return this.engine.cellsVersion(context);
+    }
+
     @Override
     public SpreadsheetViewportWindows window(final SpreadsheetViewport viewport,
                                              final SpreadsheetEngineContext context) {
@@ -470,6 +537,20 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         return this.engine.navigate(viewport, context);
     }
 
+    /**
+     * Loads that skip evaluation do not save cells or labels, so the watchers and stamping are skipped.
+     */
+    private <T> T stampIfEvaluating(final SpreadsheetEngineEvaluation evaluation,
+                                    final Supplier<T> supplier,
+                                    final SpreadsheetEngineContext context) {
+        return SpreadsheetEngineEvaluation.SKIP_EVALUATE == evaluation ?
+            supplier.get() :
+            this.stamp(
+                supplier,
+                context
+            );
+    }
+
     private <T> T stamp(final Supplier<T> supplier,
                         final SpreadsheetEngineContext context) {
         final SpreadsheetStoreRepository repository = context.storeRepository();
@@ -502,14 +583,10 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                 try {
                     return supplier.get();
                 } finally {
-                    if (savesOrDeletes.get() > 0) {
-                        repository.metadatas()
-                            .save(
-                                this.stamper.apply(
-                                    context.spreadsheetMetadata()
-                                )
-                            );
-                    }
+                    this.stampIfDue(
+                        savesOrDeletes.get() > 0,
+                        context
+                    );
                 }
             } finally {
                 labelWatcher.run();
@@ -529,6 +606,131 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
      */
     private final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper;
 
+    /**
+     * Stamps the metadata if there were changes, which is always when there is no interval. With an interval, changes
+     * within the interval of the previous stamp of the same spreadsheet are remembered as pending, and stamped by the
+     * first call after the interval has passed, even if that call changes nothing.
+     */
+    private void stampIfDue(final boolean changed,
+                            final SpreadsheetEngineContext context) {
+        final Duration interval = this.interval;
+        if (interval.isZero()) {
+            if (changed) {
+                this.stampAndSave(
+                    context.spreadsheetMetadata(),
+                    context.storeRepository()
+                );
+            }
+        } else {
+            final LocalDateTime now = this.now.now();
+            final SpreadsheetMetadata metadata = context.spreadsheetMetadata();
+            final SpreadsheetId id = metadata.id()
+                .orElse(null);
+
+            if (changed) {
+                if (null == id) {
+                    this.stampAndSave(
+                        metadata,
+                        context.storeRepository()
+                    );
+                } else {
+                    final LocalDateTime previous = this.idToPreviousStamp.get(id);
+                    if (null == previous || false == now.isBefore(previous.plus(interval))) {
+                        this.stampAndSave(
+                            metadata,
+                            context.storeRepository()
+                        );
+                        this.idToPreviousStamp.put(
+                            id,
+                            now
+                        );
+                        this.idToPending.remove(id);
+                    } else {
+                        this.idToPending.putIfAbsent(
+                            id,
+                            now
+                        );
+                    }
+                }
+            }
+
+            this.stampPending(
+                now,
+                id,
+                context
+            );
+        }
+    }
+
+    /**
+     * Stamps any spreadsheet with pending changes whose interval has passed, and forgets spreadsheets without pending
+     * changes once their interval has passed, so only spreadsheets stamped within the last interval are remembered.
+     * Other spreadsheets are loaded from the metadata store of the given {@link SpreadsheetEngineContext}, and are
+     * forgotten if missing.
+     */
+    private void stampPending(final LocalDateTime now,
+                              final SpreadsheetId currentId,
+                              final SpreadsheetEngineContext context) {
+        final Duration interval = this.interval;
+
+        for (final Map.Entry<SpreadsheetId, LocalDateTime> idAndPrevious : this.idToPreviousStamp.entrySet()) {
+            if (false == now.isBefore(idAndPrevious.getValue().plus(interval))) {
+                final SpreadsheetId id = idAndPrevious.getKey();
+                if (null == this.idToPending.remove(id)) {
+                    this.idToPreviousStamp.remove(id);
+                } else {
+                    final SpreadsheetStoreRepository repository = context.storeRepository();
+
+                    if (id.equals(currentId)) {
+                        this.stampAndSave(
+                            context.spreadsheetMetadata(),
+                            repository
+                        );
+                    } else {
+                        // other spreadsheets are stamped using their saved metadata
+                        repository.metadatas()
+                            .load(id)
+                            .ifPresent(m -> this.stampAndSave(
+                                    m,
+                                    repository
+                                )
+                            );
+                    }
+                    this.idToPreviousStamp.put(
+                        id,
+                        now
+                    );
+                }
+            }
+        }
+    }
+
+    private void stampAndSave(final SpreadsheetMetadata metadata,
+                              final SpreadsheetStoreRepository repository) {
+        repository.metadatas()
+            .save(
+                this.stamper.apply(metadata)
+            );
+    }
+
+    /**
+     * The minimum time between stamps of the same spreadsheet, zero stamps every change.
+     */
+    private final Duration interval;
+
+    private final HasNow now;
+
+    /**
+     * The time of the previous stamp for each spreadsheet stamped within the last interval, only used when there is an interval.
+     */
+    private final Map<SpreadsheetId, LocalDateTime> idToPreviousStamp = Maps.concurrent();
+
+    /**
+     * Spreadsheets with changes since their previous stamp and the time of the first of those changes, which are stamped
+     * once the interval has passed.
+     */
+    private final Map<SpreadsheetId, LocalDateTime> idToPending = Maps.concurrent();
+
     @Override
     public String toString() {
         return this.engine.toString();
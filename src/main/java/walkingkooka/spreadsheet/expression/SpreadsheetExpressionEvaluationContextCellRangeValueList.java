@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression;
+
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read only {@link List} view of the values of a {@link SpreadsheetCellRangeReference}, with an element for every
+ * cell in the range, in the same order as {@link SpreadsheetCellRangeReference#cellStream()}. Only the values of
+ * cells that exist are held, missing cells return null, avoiding a large list of mostly nulls for ranges like A:A.
+ * A {@link List} cannot have more than {@link Integer#MAX_VALUE} elements, so the size of larger ranges such as the
+ * whole spreadsheet is clamped, and their cells after that index are not visible.
+ */
+final class SpreadsheetExpressionEvaluationContextCellRangeValueList extends AbstractList<Object> {
+
+    static SpreadsheetExpressionEvaluationContextCellRangeValueList with(final SpreadsheetCellRangeReference range,
+                                                                         final Map<SpreadsheetCellReference, Object> cellToValue) {
+        return new SpreadsheetExpressionEvaluationContextCellRangeValueList(
+            range,
+            cellToValue
+        );
+    }
+
+    private SpreadsheetExpressionEvaluationContextCellRangeValueList(final SpreadsheetCellRangeReference range,
+                                                                     final Map<SpreadsheetCellReference, Object> cellToValue) {
+        super();
+
+        final SpreadsheetCellReference begin = range.begin();
+        this.columnOffset = begin.column()
+            .value();
+        this.rowOffset = begin.row()
+            .value();
+
+        final int width = range.width();
+        this.width = width;
+        this.size = (int) Math.min(
+            (long) width * range.height(),
+            Integer.MAX_VALUE
+        );
+
+        this.cellToValue = cellToValue;
+    }
+
+    @Override
+    public Object get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range 0.." + this.size);
+        }
+
+        final int width = this.width;
+
+        return this.cellToValue.get(
+            SpreadsheetReferenceKind.RELATIVE.column(this.columnOffset + index % width)
+                .setRow(
+                    SpreadsheetReferenceKind.RELATIVE.row(this.rowOffset + index / width)
+                )
+        );
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private final int columnOffset;
+
+    private final int rowOffset;
+
+    private final int width;
+
+    private final int size;
+
+    /**
+     * Only holds entries for cells that exist.
+     */
+    private final Map<SpreadsheetCellReference, Object> cellToValue;
+}
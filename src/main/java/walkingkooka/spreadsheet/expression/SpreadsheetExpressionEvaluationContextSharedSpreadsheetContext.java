@@ -94,7 +94,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
             null, // SpreadsheetParser
             spreadsheetContext,
             null, // SpreadsheetParserContext
-            terminalContext
+            terminalContext,
+            null // parent
         );
     }
 
@@ -110,7 +111,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
                                                                            final FormHandlerContext<SpreadsheetValidationReference, SpreadsheetDelta> formHandlerContext,
                                                                            final SpreadsheetContext spreadsheetContext,
                                                                            final SpreadsheetParserContext spreadsheetParserContext,
-                                                                           final TerminalContext terminalContext) {
+                                                                           final TerminalContext terminalContext,
+                                                                           final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent) {
         super(
             terminalContext
         );
@@ -130,6 +132,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
         this.formHandlerContext = formHandlerContext;
         this.spreadsheetContext = spreadsheetContext;
         this.spreadsheetParserContext = spreadsheetParserContext;
+
+        this.parent = parent;
     }
 
     @Override
@@ -139,12 +143,32 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
 
     // SpreadsheetExpressionEvaluationContext............................................................................
 
+    /**
+     * Returns a sibling context for the given cell, which fetches and shares the lazily created components of this
+     * context. This makes creating a context for each cell evaluated during a batch cheap.
+     */
     @Override
     public SpreadsheetExpressionEvaluationContext setCell(final Optional<SpreadsheetCell> cell) {
-        return SpreadsheetExpressionEvaluationContexts.cell(
-            cell,
-            this
-        );
+        Objects.requireNonNull(cell, "cell");
+
+        return this.cell.equals(cell) ?
+            this :
+            new SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext(
+                this.mode,
+                cell,
+                this.spreadsheetExpressionReferenceLoader,
+                this.spreadsheetLabelNameResolver,
+                null, // spreadsheetConverterContext fetched from parent
+                null, // expressionFunctionProvider fetched from parent
+                this.jsonNodeMarshallContextObjectPostProcessor,
+                this.jsonNodeUnmarshallContextPreProcessor,
+                null, // SpreadsheetParser fetched from parent
+                this.formHandlerContext,
+                this.spreadsheetContext,
+                null, // SpreadsheetParserContext fetched from parent
+                this.terminalContext,
+                this
+            );
     }
 
     @Override
@@ -173,10 +197,22 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
         // TODO maybe should clear parsed cell formulas.
         this.spreadsheetContext.saveMetadata(metadata);
 
-        // re-create these instances which use SpreadsheetMetadata properties
+        this.clearSpreadsheetMetadataComponents();
+    }
+
+    /**
+     * Clears these instances which use SpreadsheetMetadata properties, including those shared by the parent, so they
+     * are re-created.
+     */
+    private void clearSpreadsheetMetadataComponents() {
         this.spreadsheetConverterContext = null;
         this.expressionFunctionProvider = null;
         this.spreadsheetParserContext = null;
+
+        final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent = this.parent;
+        if (null != parent) {
+            parent.clearSpreadsheetMetadataComponents();
+        }
     }
 
     private SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext setMode(final SpreadsheetMetadataMode mode) {
@@ -195,7 +231,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
                 this.formHandlerContext,
                 this.spreadsheetContext,
                 null, // re-create SpreadsheetParserContext
-                this.terminalContext
+                this.terminalContext,
+                null // parent
             );
     }
 
@@ -258,23 +295,26 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
     public SpreadsheetConverterContext spreadsheetConverterContext() {
         if (null == this.spreadsheetConverterContext) {
             final SpreadsheetContext spreadsheetContext = this.spreadsheetContext;
-
-            this.spreadsheetConverterContext = this.spreadsheetMetadata()
-                .spreadsheetConverterContext(
-                    this.cell,
-                    SpreadsheetMetadata.NO_VALIDATION_REFERENCE,
-                    this.mode.converter(),
-                    this, // CanParseEnvironmentValueName
-                    this, // HasUserDirectories
-                    this.spreadsheetLabelNameResolver,
-                    spreadsheetContext, // MediaTypeDetector
-                    spreadsheetContext.multiplier(),
-                    spreadsheetContext, // SpreadsheetMetadataLoader
-                    spreadsheetContext, // SpreadsheetProvider, // SpreadsheetConverterProvider
-                    spreadsheetContext, // BinaryTextContext
-                    spreadsheetContext, // CurrencyLocaleContext
-                    spreadsheetContext.providerContext()
-                );
+            final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent = this.parent;
+
+            this.spreadsheetConverterContext = null != parent && parent.hasSameLocaleAndSymbols(this.cell) ?
+                parent.spreadsheetConverterContext() :
+                this.spreadsheetMetadata()
+                    .spreadsheetConverterContext(
+                        this.cell,
+                        SpreadsheetMetadata.NO_VALIDATION_REFERENCE,
+                        this.mode.converter(),
+                        this, // CanParseEnvironmentValueName
+                        this, // HasUserDirectories
+                        this.spreadsheetLabelNameResolver,
+                        spreadsheetContext, // MediaTypeDetector
+                        spreadsheetContext.multiplier(),
+                        spreadsheetContext, // SpreadsheetMetadataLoader
+                        spreadsheetContext, // SpreadsheetProvider, // SpreadsheetConverterProvider
+                        spreadsheetContext, // BinaryTextContext
+                        spreadsheetContext, // CurrencyLocaleContext
+                        spreadsheetContext.providerContext()
+                    );
         }
         return this.spreadsheetConverterContext;
     }
@@ -288,12 +328,15 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
     SpreadsheetParser spreadsheetParser() {
         if (null == this.spreadsheetParser) {
             final SpreadsheetContext spreadsheetContext = this.spreadsheetContext;
-
-            this.spreadsheetParser = this.spreadsheetMetadata()
-                .spreadsheetParser(
-                    spreadsheetContext, // SpreadsheetParserProvider
-                    spreadsheetContext.providerContext()
-                );
+            final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent = this.parent;
+
+            this.spreadsheetParser = null != parent ?
+                parent.spreadsheetParser() :
+                this.spreadsheetMetadata()
+                    .spreadsheetParser(
+                        spreadsheetContext, // SpreadsheetParserProvider
+                        spreadsheetContext.providerContext()
+                    );
         }
         return this.spreadsheetParser;
     }
@@ -303,12 +346,16 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
     @Override
     SpreadsheetParserContext spreadsheetParserContext() {
         if (null == this.spreadsheetParserContext) {
-            this.spreadsheetParserContext = this.spreadsheetMetadata()
-                .spreadsheetParserContext(
-                    this.cell,
-                    this, // LocaleContext
-                    this // now
-                );
+            final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent = this.parent;
+
+            this.spreadsheetParserContext = null != parent && parent.hasSameLocaleAndSymbols(this.cell) ?
+                parent.spreadsheetParserContext() :
+                this.spreadsheetMetadata()
+                    .spreadsheetParserContext(
+                        this.cell,
+                        this, // LocaleContext
+                        this // now
+                    );
         }
         return this.spreadsheetParserContext;
     }
@@ -321,17 +368,43 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
     @Override
     ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider() {
         if (null == this.expressionFunctionProvider) {
-            this.expressionFunctionProvider = this.spreadsheetMetadata()
-                .expressionFunctionProvider(
-                    this.mode.function(),
-                    this.spreadsheetContext // SpreadsheetProvider
-                );
+            final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent = this.parent;
+
+            this.expressionFunctionProvider = null != parent ?
+                parent.expressionFunctionProvider() :
+                this.spreadsheetMetadata()
+                    .expressionFunctionProvider(
+                        this.mode.function(),
+                        this.spreadsheetContext // SpreadsheetProvider
+                    );
         }
         return this.expressionFunctionProvider;
     }
 
     private transient ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider;
 
+    /**
+     * Only the {@link SpreadsheetCell} {@link java.util.Locale} and symbols are used when creating the
+     * {@link SpreadsheetConverterContext} and {@link SpreadsheetParserContext}, if these are the same the parent
+     * instances may be shared.
+     */
+    private boolean hasSameLocaleAndSymbols(final Optional<SpreadsheetCell> cell) {
+        final Optional<SpreadsheetCell> parentCell = this.cell;
+
+        return parentCell.flatMap(SpreadsheetCell::locale)
+            .equals(cell.flatMap(SpreadsheetCell::locale)) &&
+            parentCell.flatMap(SpreadsheetCell::dateTimeSymbols)
+                .equals(cell.flatMap(SpreadsheetCell::dateTimeSymbols)) &&
+            parentCell.flatMap(SpreadsheetCell::decimalNumberSymbols)
+                .equals(cell.flatMap(SpreadsheetCell::decimalNumberSymbols));
+    }
+
+    /**
+     * The context that created this with {@link #setCell(Optional)}, lazily created components are fetched from it and
+     * shared. This will be null for all other instances.
+     */
+    private final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext parent;
+
     @Override
     public SpreadsheetFormatterContext spreadsheetFormatterContext(final Optional<SpreadsheetCell> cell) {
         final SpreadsheetContext spreadsheetContext = this.spreadsheetContext;
@@ -439,7 +512,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
             this.formHandlerContext,
             this.spreadsheetContext,
             this.spreadsheetParserContext,
-            this.terminalContext
+            this.terminalContext,
+            null // parent
         );
     }
 
@@ -503,7 +577,8 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext exten
                 this.formHandlerContext,
                 spreadsheetContext,
                 null, // re-create SpreadsheetParserContext
-                this.terminalContext
+                this.terminalContext,
+                null // parent
             );
     }
 
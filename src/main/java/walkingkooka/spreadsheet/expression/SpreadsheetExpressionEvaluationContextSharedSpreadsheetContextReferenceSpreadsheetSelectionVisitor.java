@@ -17,7 +17,6 @@
 
 package walkingkooka.spreadsheet.expression;
 
-import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
@@ -28,7 +27,6 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelectionVisitor;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorException;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -99,16 +97,14 @@ final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContextRefere
             );
         }
 
-        // create a list with entries for each cell in the given range. missing values will have an Optional#empty.
-        final List<Object> value = Lists.array();
-        for (final SpreadsheetCellReference cell : range) {
-            value.add(
-                cellToValue.get(cell)
-            );
-        }
-
+        // a list view with entries for each cell in the given range. missing values will be null.
         this.value = Optional.of(
-            Optional.of(value)
+            Optional.of(
+                SpreadsheetExpressionEvaluationContextCellRangeValueList.with(
+                    range,
+                    cellToValue
+                )
+            )
         );
     }
 
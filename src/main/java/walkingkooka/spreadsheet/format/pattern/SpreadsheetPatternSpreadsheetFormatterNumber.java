@@ -75,6 +75,13 @@ final class SpreadsheetPatternSpreadsheetFormatterNumber implements SpreadsheetP
 
         this.decimalPlacesShift = visitor.decimalPlacesShift;
         this.groupSeparator = visitor.groupSeparator;
+
+        final int doubleScale = this.decimalPlacesShift + this.fractionDigitSymbolCount;
+        this.doubleMultiplier = SpreadsheetPatternSpreadsheetFormatterNumberNormalOrScientific.NORMAL == this.normalOrScientific &&
+            doubleScale >= 0 &&
+            doubleScale < POWERS_OF_TEN.length ?
+            POWERS_OF_TEN[doubleScale] :
+            NO_DOUBLE_MULTIPLIER;
     }
 
     @Override
@@ -96,9 +103,8 @@ final class SpreadsheetPatternSpreadsheetFormatterNumber implements SpreadsheetP
             null != expressionNumber ?
                 SpreadsheetText.with(
                     this.formatSpreadsheetTextExpressionNumber(
-                        this.normalOrScientific.context(
-                            expressionNumber.bigDecimal(),
-                            this,
+                        this.numberContext(
+                            expressionNumber,
                             context
                         )
                     )
@@ -109,6 +115,47 @@ final class SpreadsheetPatternSpreadsheetFormatterNumber implements SpreadsheetP
         );
     }
 
+    /**
+     * Tries the double fast path when the {@link ExpressionNumber} is not a {@link java.math.BigDecimal} and then
+     * the general {@link java.math.BigDecimal} path.
+     */
+    private SpreadsheetPatternSpreadsheetFormatterNumberContext numberContext(final ExpressionNumber number,
+                                                                              final SpreadsheetFormatterContext context) {
+        SpreadsheetPatternSpreadsheetFormatterNumberContext numberContext = null;
+
+        if (NO_DOUBLE_MULTIPLIER != this.doubleMultiplier && false == number.isBigDecimal()) {
+            numberContext = SpreadsheetPatternSpreadsheetFormatterNumberNormalOrScientific.normalDouble(
+                number.doubleValue(),
+                this,
+                context
+            );
+        }
+
+        return null != numberContext ?
+            numberContext :
+            this.normalOrScientific.context(
+                number.bigDecimal(),
+                this,
+                context
+            );
+    }
+
+    /**
+     * Multiplying a double value by this moves all required digits into the integer part, equivalent to shifting by
+     * {@link #decimalPlacesShift} and then {@link #fractionDigitSymbolCount}. A value of {@link #NO_DOUBLE_MULTIPLIER}
+     * disables the double fast path.
+     */
+    final double doubleMultiplier;
+
+    private final static double NO_DOUBLE_MULTIPLIER = 0;
+
+    /**
+     * Powers of ten that are exact doubles.
+     */
+    private final static double[] POWERS_OF_TEN = {
+        1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15
+    };
+
     /**
      * Should only be true when this pattern is for negative values and minus signs within a parens should not be outputted.
      */
@@ -42,48 +42,12 @@ enum SpreadsheetPatternSpreadsheetFormatterNumberNormalOrScientific {
                         .getRoundingMode()
                 );
 
-            final char zeroDigit = context.zeroDigit();
-
-            final int valueSignum = rounded.signum();
-            String integerDigits = "";
-            String fractionDigits = "";
-
-            if (0 != valueSignum) {
-                final String digits = fixDigits(
-                    rounded
-                        .unscaledValue()
-                        .abs()
-                        .toString(),
-                    zeroDigit
-                );
-                final int integerDigitCount = Math.min(
-                    rounded.precision() - rounded.scale(),
-                    digits.length()
-                );
-                integerDigits = integerDigitCount > 0 ?
-                    digits.substring(0, integerDigitCount) :
-                    "";
-                fractionDigits = integerDigitCount >= 0 ?
-                    digits.substring(integerDigitCount) :
-                    CharSequences.repeating(
-                        zeroDigit,
-                        -integerDigitCount
-                    ) + digits;
-            }
-
-            return SpreadsheetPatternSpreadsheetFormatterNumberContext.with(
-                formatter.currency, // when true formatting will use the monetaryDecimalSeparator rather than decimalSeparator
-                formatter.suppressMinusSignsWithinParens,
-                SpreadsheetPatternSpreadsheetFormatterNumberDigits.integer(
-                    SpreadsheetPatternSpreadsheetFormatterNumberMinusSign.fromSignum(valueSignum),
-                    integerDigits,
-                    formatter.groupSeparator
-                ),
-                SpreadsheetPatternSpreadsheetFormatterNumberDigits.fraction(
-                    fractionDigits,
-                    zeroDigit
-                ),
-                NO_EXPONENT,
+            return normal(
+                rounded.signum(),
+                rounded.unscaledValue()
+                    .abs()
+                    .toString(),
+                rounded.precision() - rounded.scale(),
                 formatter,
                 context
             );
@@ -165,6 +129,103 @@ enum SpreadsheetPatternSpreadsheetFormatterNumberNormalOrScientific {
         }
     };
 
+    /**
+     * Fast path for {@link #NORMAL} that uses double arithmetic rather than {@link BigDecimal}, returning null when the
+     * value cannot be formatted with the exact same result, leaving the caller to use {@link #context(BigDecimal, SpreadsheetPatternSpreadsheetFormatterNumber, SpreadsheetFormatterContext)}.
+     * <br>
+     * Only values that become a whole number after scaling are handled, and only with a half rounding mode, which means
+     * the tiny representation error of the double cannot change the rounded result.
+     */
+    static SpreadsheetPatternSpreadsheetFormatterNumberContext normalDouble(final double value,
+                                                                             final SpreadsheetPatternSpreadsheetFormatterNumber formatter,
+                                                                             final SpreadsheetFormatterContext context) {
+        SpreadsheetPatternSpreadsheetFormatterNumberContext numberContext = null;
+
+        final double scaled = value * formatter.doubleMultiplier;
+        if (Math.abs(scaled) < MAX_DOUBLE_FAST_PATH && scaled == Math.rint(scaled)) {
+            switch (context.mathContext().getRoundingMode()) {
+                case HALF_UP:
+                case HALF_DOWN:
+                case HALF_EVEN:
+                    final long unscaled = (long) scaled;
+                    final String digits = Long.toString(
+                        Math.abs(unscaled)
+                    );
+
+                    numberContext = normal(
+                        Long.signum(unscaled),
+                        digits,
+                        digits.length() - formatter.fractionDigitSymbolCount,
+                        formatter,
+                        context
+                    );
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return numberContext;
+    }
+
+    /**
+     * Whole numbers below this are exact and at least 4 times larger than the representation error of any double that
+     * was scaled to produce them.
+     */
+    private final static double MAX_DOUBLE_FAST_PATH = 1L << 50;
+
+    /**
+     * Shared by {@link #NORMAL} and {@link #normalDouble(double, SpreadsheetPatternSpreadsheetFormatterNumber, SpreadsheetFormatterContext)}
+     * once the value has been rounded to the required number of fraction digits.
+     */
+    private static SpreadsheetPatternSpreadsheetFormatterNumberContext normal(final int valueSignum,
+                                                                              final String unscaledDigits,
+                                                                              final int integerDigitCountOrNegative,
+                                                                              final SpreadsheetPatternSpreadsheetFormatterNumber formatter,
+                                                                              final SpreadsheetFormatterContext context) {
+        final char zeroDigit = context.zeroDigit();
+
+        String integerDigits = "";
+        String fractionDigits = "";
+
+        if (0 != valueSignum) {
+            final String digits = fixDigits(
+                unscaledDigits,
+                zeroDigit
+            );
+            final int integerDigitCount = Math.min(
+                integerDigitCountOrNegative,
+                digits.length()
+            );
+            integerDigits = integerDigitCount > 0 ?
+                digits.substring(0, integerDigitCount) :
+                "";
+            fractionDigits = integerDigitCount >= 0 ?
+                digits.substring(integerDigitCount) :
+                CharSequences.repeating(
+                    zeroDigit,
+                    -integerDigitCount
+                ) + digits;
+        }
+
+        return SpreadsheetPatternSpreadsheetFormatterNumberContext.with(
+            formatter.currency, // when true formatting will use the monetaryDecimalSeparator rather than decimalSeparator
+            formatter.suppressMinusSignsWithinParens,
+            SpreadsheetPatternSpreadsheetFormatterNumberDigits.integer(
+                SpreadsheetPatternSpreadsheetFormatterNumberMinusSign.fromSignum(valueSignum),
+                integerDigits,
+                formatter.groupSeparator
+            ),
+            SpreadsheetPatternSpreadsheetFormatterNumberDigits.fraction(
+                fractionDigits,
+                zeroDigit
+            ),
+            NO_EXPONENT,
+            formatter,
+            context
+        );
+    }
+
     /**
      * Creates a new {@link SpreadsheetPatternSpreadsheetFormatterNumberContext} which will accompany the current
      * format request. Note context cannot be recycled as they contain state.
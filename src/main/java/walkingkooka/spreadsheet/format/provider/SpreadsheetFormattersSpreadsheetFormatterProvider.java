@@ -18,6 +18,7 @@
 package walkingkooka.spreadsheet.format.provider;
 
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.color.WebColorName;
 import walkingkooka.datetime.DateFormatKind;
@@ -48,6 +49,7 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -133,15 +135,48 @@ final class SpreadsheetFormattersSpreadsheetFormatterProvider implements Spreads
                 );
                 break;
             default:
-                formatter = selector.spreadsheetFormatPattern()
-                    .map(SpreadsheetPattern::formatter)
-                    .orElseThrow(() -> new IllegalArgumentException("Unknown formatter " + name));
+                formatter = this.patternFormatter(selector);
                 break;
         }
 
         return formatter;
     }
 
+    /**
+     * Pattern formatters are immutable and do not depend on the {@link ProviderContext}, so they are cached by selector,
+     * avoiding parsing the pattern text again for every cell using the same pattern.
+     */
+    private SpreadsheetFormatter patternFormatter(final SpreadsheetFormatterSelector selector) {
+        final Map<SpreadsheetFormatterSelector, SpreadsheetFormatter> cache = this.selectorToPatternFormatter;
+
+        SpreadsheetFormatter formatter = cache.get(selector);
+        if (null == formatter) {
+            formatter = selector.spreadsheetFormatPattern()
+                .map(SpreadsheetPattern::formatter)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown formatter " + selector.name()));
+
+            if (cache.size() >= MAX_PATTERN_FORMATTER_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(
+                selector,
+                formatter
+            );
+        }
+
+        return formatter;
+    }
+
+    /**
+     * A cache of {@link SpreadsheetFormatter} for pattern {@link SpreadsheetFormatterSelector}.
+     */
+    private final Map<SpreadsheetFormatterSelector, SpreadsheetFormatter> selectorToPatternFormatter = Maps.concurrent();
+
+    /**
+     * When the cache reaches this size it is cleared, keeping memory bounded when many different patterns are used.
+     */
+    private final static int MAX_PATTERN_FORMATTER_CACHE_SIZE = 1024;
+
     @Override
     public SpreadsheetFormatter spreadsheetFormatter(final SpreadsheetFormatterName name,
                                                      final List<?> values,
@@ -269,6 +269,28 @@ public final class SpreadsheetFormula implements CanBeEmpty,
         }
     }
 
+    /**
+     * Unlike {@link #setToken(Optional)} the {@link #expression()}, {@link #value()}, {@link #valueType()} and {@link #error()} are kept.
+     * This is intended for formats that drop the {@link SpreadsheetFormulaParserToken} and later re-parse the {@link #text()}.
+     */
+    public SpreadsheetFormula replaceToken(final Optional<SpreadsheetFormulaParserToken> token) {
+        if (this.token.equals(token)) {
+            return this;
+        } else {// no need to keep text if token is present.
+            final String text1 = Objects.requireNonNull(token, "token")
+                .isPresent() ? null :
+                this.text();
+            return new SpreadsheetFormula(
+                text1,
+                token,
+                this.expression,
+                this.valueType,
+                this.value,
+                this.error
+            );
+        }
+    }
+
     /**
      * The token parsed parse the text form of this formula. When loading a stored/persisted formula this should be
      * used to reconstruct the text form.
@@ -297,6 +319,23 @@ public final class SpreadsheetFormula implements CanBeEmpty,
             );
     }
 
+    /**
+     * Unlike {@link #setExpression(Optional)} the {@link #value()}, {@link #valueType()} and {@link #error()} are kept.
+     * This is intended for stores that drop the {@link Expression} and later re-derive it from the {@link #token()}.
+     */
+    public SpreadsheetFormula replaceExpression(final Optional<Expression> expression) {
+        return this.expression.equals(expression) ?
+            this :
+            new SpreadsheetFormula(
+                this.text,
+                this.token,
+                Objects.requireNonNull(expression, "expression"),
+                this.valueType,
+                this.value,
+                this.error
+            );
+    }
+
     /**
      * The expression from the {@link #token()} which was parsed from the {@link #text()}.
      * The expression can be executed to produce a value or error.
@@ -22,6 +22,7 @@ import walkingkooka.math.DecimalNumberSymbols;
 import walkingkooka.net.header.HasContentType;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.spreadsheet.engine.SpreadsheetDelta;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
@@ -54,6 +55,8 @@ public final class SpreadsheetMediaTypes implements PublicStaticHelper {
 
     public static final MediaType JSON_DECIMAL_NUMBER_SYMBOLS = HasContentType.DECIMAL_NUMBER_SYMBOLS;
 
+    public static final MediaType JSON_DELTA = HasContentType.json(SpreadsheetDelta.class);
+
     public static final MediaType JSON_FORM = Form.CONTENT_TYPE;
 
     public static final MediaType JSON_FORMATTED_VALUE = TextNode.CONTENT_TYPE;
@@ -74,6 +77,20 @@ public final class SpreadsheetMediaTypes implements PublicStaticHelper {
 
     public static final MediaType JSON_VALUE_TYPE = ValueType.CONTENT_TYPE;
 
+    // compact json.....................................................................................................
+
+    private final static MediaType COMPACT_JSON = MediaType.parse("application/compact-json");
+
+    /**
+     * A {@link SpreadsheetDelta} where repeated cell properties such as style and formatter are replaced by an index
+     * into a per message dictionary, and formula tokens and expressions are omitted.
+     */
+    public static final MediaType COMPACT_JSON_DELTA = COMPACT_JSON.setSuffix(
+        Optional.of(
+            SpreadsheetDelta.class.getName()
+        )
+    );
+
     // object...........................................................................................................
 
     private final static MediaType MEMORY = MediaType.parse("application/memory");
@@ -18,6 +18,7 @@
 package walkingkooka.spreadsheet.parser.provider;
 
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.net.AbsoluteUrl;
 import walkingkooka.net.UrlPath;
@@ -40,6 +41,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -88,15 +90,48 @@ final class SpreadsheetParserSpreadsheetParserProvider implements SpreadsheetPar
                 );
                 break;
             default:
-                parser = selector.spreadsheetParsePattern()
-                    .map(SpreadsheetParsePattern::parser)
-                    .orElseThrow(() -> new IllegalArgumentException("Unknown parser " + name));
+                parser = this.patternParser(selector);
                 break;
         }
 
         return parser;
     }
 
+    /**
+     * Pattern parsers are immutable and do not depend on the {@link ProviderContext}, so they are cached by selector,
+     * avoiding parsing the pattern text again for every cell using the same pattern.
+     */
+    private SpreadsheetParser patternParser(final SpreadsheetParserSelector selector) {
+        final Map<SpreadsheetParserSelector, SpreadsheetParser> cache = this.selectorToPatternParser;
+
+        SpreadsheetParser parser = cache.get(selector);
+        if (null == parser) {
+            parser = selector.spreadsheetParsePattern()
+                .map(SpreadsheetParsePattern::parser)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown parser " + selector.name()));
+
+            if (cache.size() >= MAX_PATTERN_PARSER_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(
+                selector,
+                parser
+            );
+        }
+
+        return parser;
+    }
+
+    /**
+     * A cache of {@link SpreadsheetParser} for pattern {@link SpreadsheetParserSelector}.
+     */
+    private final Map<SpreadsheetParserSelector, SpreadsheetParser> selectorToPatternParser = Maps.concurrent();
+
+    /**
+     * When the cache reaches this size it is cleared, keeping memory bounded when many different patterns are used.
+     */
+    private final static int MAX_PATTERN_PARSER_CACHE_SIZE = 1024;
+
     @Override
     public SpreadsheetParser spreadsheetParser(final SpreadsheetParserName name,
                                                final List<?> values,
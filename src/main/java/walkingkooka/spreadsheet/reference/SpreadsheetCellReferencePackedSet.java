@@ -0,0 +1,355 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A mutable {@link java.util.Set} of {@link SpreadsheetCellReference} that holds each cell packed into a long within a
+ * sorted array, rather than a tree of entries each holding a cell, column and row object.
+ * <br>
+ * Cells added after the last cell are appended. Other cells are buffered in a small sorted pending array, which is
+ * merged into the sorted array in one pass by the {@link #add(SpreadsheetCellReference)} that fills it, so out of order
+ * adds do not shift the whole array each time. Reads never merge, so concurrent readers never modify the set.
+ * <br>
+ * Like {@link SpreadsheetSelection#IGNORES_REFERENCE_KIND_COMPARATOR} the {@link SpreadsheetReferenceKind} is ignored,
+ * and iteration returns {@link SpreadsheetReferenceKind#RELATIVE} cells sorted by row then column.
+ */
+final class SpreadsheetCellReferencePackedSet extends AbstractSet<SpreadsheetCellReference> {
+
+    static SpreadsheetCellReferencePackedSet empty() {
+        return new SpreadsheetCellReferencePackedSet();
+    }
+
+    private SpreadsheetCellReferencePackedSet() {
+        super();
+    }
+
+    @Override
+    public boolean add(final SpreadsheetCellReference cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        final long packed = pack(cell);
+
+        final boolean added;
+        final int size = this.size;
+        if (0 == size || packed > this.values[size - 1]) {
+            added = indexOf(this.pending, this.pendingSize, packed) < 0;
+            if (added) {
+                this.values = insert(
+                    this.values,
+                    size,
+                    size,
+                    packed
+                );
+                this.size = size + 1;
+            }
+        } else {
+            added = indexOf(this.values, size, packed) < 0 && this.addPending(packed);
+        }
+
+        return added;
+    }
+
+    private boolean addPending(final long packed) {
+        final int pendingSize = this.pendingSize;
+        final int index = indexOf(this.pending, pendingSize, packed);
+
+        final boolean added = index < 0;
+        if (added) {
+            this.pending = insert(
+                this.pending,
+                pendingSize,
+                -index - 1,
+                packed
+            );
+            this.pendingSize = pendingSize + 1;
+
+            if (this.pendingSize >= Math.max(INITIAL_CAPACITY, (int) Math.sqrt(this.size))) {
+                this.merge();
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Merges the pending cells into {@link #values} in one pass.
+     */
+    private void merge() {
+        final long[] values = this.values;
+        final int size = this.size;
+        final long[] pending = this.pending;
+        final int pendingSize = this.pendingSize;
+
+        final long[] merged = new long[size + pendingSize];
+
+        int v = 0;
+        int p = 0;
+        int m = 0;
+        while (v < size && p < pendingSize) {
+            merged[m++] = values[v] < pending[p] ?
+                values[v++] :
+                pending[p++];
+        }
+        System.arraycopy(values, v, merged, m, size - v);
+        m += size - v;
+        System.arraycopy(pending, p, merged, m, pendingSize - p);
+
+        this.values = merged;
+        this.size = size + pendingSize;
+        this.pendingSize = 0;
+    }
+
+    /**
+     * Inserts the value at the index, growing the array if it is full.
+     */
+    private static long[] insert(final long[] values,
+                                 final int size,
+                                 final int index,
+                                 final long value) {
+        long[] insert = values;
+        if (size == values.length) {
+            insert = Arrays.copyOf(
+                values,
+                Math.max(
+                    INITIAL_CAPACITY,
+                    size * 2
+                )
+            );
+        }
+
+        System.arraycopy(
+            insert,
+            index,
+            insert,
+            index + 1,
+            size - index
+        );
+        insert[index] = value;
+
+        return insert;
+    }
+
+    @Override
+    public boolean contains(final Object other) {
+        boolean contains = false;
+
+        if (other instanceof SpreadsheetCellReference) {
+            final long packed = pack((SpreadsheetCellReference) other);
+
+            contains = indexOf(this.values, this.size, packed) >= 0 ||
+                indexOf(this.pending, this.pendingSize, packed) >= 0;
+        }
+
+        return contains;
+    }
+
+    @Override
+    public boolean remove(final Object other) {
+        boolean removed = false;
+
+        if (other instanceof SpreadsheetCellReference) {
+            final long packed = pack((SpreadsheetCellReference) other);
+
+            int index = indexOf(this.values, this.size, packed);
+            if (index >= 0) {
+                this.removeValue(index);
+                removed = true;
+            } else {
+                index = indexOf(this.pending, this.pendingSize, packed);
+                if (index >= 0) {
+                    this.removePending(index);
+                    removed = true;
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    private void removeValue(final int index) {
+        this.size = remove(
+            this.values,
+            this.size,
+            index
+        );
+    }
+
+    private void removePending(final int index) {
+        this.pendingSize = remove(
+            this.pending,
+            this.pendingSize,
+            index
+        );
+    }
+
+    private static int remove(final long[] values,
+                              final int size,
+                              final int index) {
+        final int newSize = size - 1;
+
+        System.arraycopy(
+            values,
+            index + 1,
+            values,
+            index,
+            newSize - index
+        );
+        return newSize;
+    }
+
+    @Override
+    public void clear() {
+        this.values = NO_VALUES;
+        this.size = 0;
+        this.pending = NO_VALUES;
+        this.pendingSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size + this.pendingSize;
+    }
+
+    /**
+     * Returns the cells of {@link #values} and the pending cells merged in sort order.
+     */
+    @Override
+    public Iterator<SpreadsheetCellReference> iterator() {
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return this.nextValue < SpreadsheetCellReferencePackedSet.this.size ||
+                    this.nextPending < SpreadsheetCellReferencePackedSet.this.pendingSize;
+            }
+
+            @Override
+            public SpreadsheetCellReference next() {
+                if (false == this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.this;
+                final long packed;
+
+                this.lastPending = this.nextValue >= set.size ||
+                    (this.nextPending < set.pendingSize && set.pending[this.nextPending] < set.values[this.nextValue]);
+                if (this.lastPending) {
+                    this.last = this.nextPending;
+                    packed = set.pending[this.nextPending];
+                    this.nextPending++;
+                } else {
+                    this.last = this.nextValue;
+                    packed = set.values[this.nextValue];
+                    this.nextValue++;
+                }
+
+                return unpack(packed);
+            }
+
+            @Override
+            public void remove() {
+                final int last = this.last;
+                if (-1 == last) {
+                    throw new IllegalStateException();
+                }
+
+                final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.this;
+                if (this.lastPending) {
+                    set.removePending(last);
+                    this.nextPending = last;
+                } else {
+                    set.removeValue(last);
+                    this.nextValue = last;
+                }
+                this.last = -1;
+            }
+
+            private int nextValue;
+
+            private int nextPending;
+
+            private int last = -1;
+
+            private boolean lastPending;
+        };
+    }
+
+    private static int indexOf(final long[] values,
+                               final int size,
+                               final long packed) {
+        return Arrays.binarySearch(
+            values,
+            0,
+            size,
+            packed
+        );
+    }
+
+    /**
+     * Sorted packed cells, only the first {@link #size} are used.
+     */
+    private long[] values = NO_VALUES;
+
+    private int size;
+
+    /**
+     * Sorted packed cells added before the last of {@link #values}, only the first {@link #pendingSize} are used.
+     * These are never in {@link #values}.
+     */
+    private long[] pending = NO_VALUES;
+
+    private int pendingSize;
+
+    private final static long[] NO_VALUES = new long[0];
+
+    private final static int INITIAL_CAPACITY = 8;
+
+    // packing..........................................................................................................
+
+    /**
+     * The row is placed in the high bits so the natural ordering of packed values matches
+     * {@link SpreadsheetSelection#IGNORES_REFERENCE_KIND_COMPARATOR}, rows then columns.
+     */
+    static long pack(final SpreadsheetCellReference cell) {
+        return ((long) cell.row.value << COLUMN_BITS) | cell.column.value;
+    }
+
+    static SpreadsheetCellReference unpack(final long packed) {
+        return SpreadsheetReferenceKind.RELATIVE.column(
+            (int) (packed & COLUMN_MASK)
+        ).setRow(
+            SpreadsheetReferenceKind.RELATIVE.row(
+                (int) (packed >>> COLUMN_BITS)
+            )
+        );
+    }
+
+    /**
+     * Enough bits to hold {@link SpreadsheetColumnReference#MAX_VALUE}.
+     */
+    private final static int COLUMN_BITS = 16;
+
+    private final static long COLUMN_MASK = (1L << COLUMN_BITS) - 1;
+}
@@ -432,11 +432,15 @@ public abstract class SpreadsheetSelection implements HasText,
      * Parsers the text expecting a valid {@link SpreadsheetCellReference} or fails.
      */
     public static SpreadsheetCellReference parseCell(final String text) {
-        return parseTextOrFail(
-            text,
-            CELL_PARSER
-        ).cast(CellSpreadsheetFormulaParserToken.class)
-            .cell();
+        final SpreadsheetCellReference cell = SpreadsheetSelectionScanner.cell(text);
+
+        return null != cell ?
+            cell :
+            parseTextOrFail(
+                text,
+                CELL_PARSER
+            ).cast(CellSpreadsheetFormulaParserToken.class)
+                .cell();
     }
 
     static final Parser<SpreadsheetParserContext> CELL_PARSER = SpreadsheetFormulaParsers.cell()
@@ -473,13 +477,17 @@ public abstract class SpreadsheetSelection implements HasText,
      * </pre>
      */
     public static SpreadsheetCellRangeReference parseCellRange(final String text) {
-        return parseRange(
-            text,
-            ALL_CELLS,
-            SpreadsheetFormulaParsers.cell(),
-            (t) -> t.cast(CellSpreadsheetFormulaParserToken.class).cell(),
-            SpreadsheetCellRangeReference::with
-        );
+        final SpreadsheetCellRangeReference range = SpreadsheetSelectionScanner.cellRange(text);
+
+        return null != range ?
+            range :
+            parseRange(
+                text,
+                ALL_CELLS,
+                SpreadsheetFormulaParsers.cell(),
+                (t) -> t.cast(CellSpreadsheetFormulaParserToken.class).cell(),
+                SpreadsheetCellRangeReference::with
+            );
     }
 
     /**
@@ -497,11 +505,15 @@ public abstract class SpreadsheetSelection implements HasText,
      * Parsers the text expecting a valid {@link SpreadsheetColumnReference} or fails.
      */
     public static SpreadsheetColumnReference parseColumn(final String text) {
-        return parseTextOrFail(
-            text,
-            COLUMN_PARSER
-        ).cast(ColumnSpreadsheetFormulaParserToken.class)
-            .value();
+        final SpreadsheetColumnReference column = SpreadsheetSelectionScanner.column(text);
+
+        return null != column ?
+            column :
+            parseTextOrFail(
+                text,
+                COLUMN_PARSER
+            ).cast(ColumnSpreadsheetFormulaParserToken.class)
+                .value();
     }
 
     /**
@@ -549,24 +561,32 @@ public abstract class SpreadsheetSelection implements HasText,
      * Parsers a range of columns.
      */
     public static SpreadsheetColumnRangeReference parseColumnRange(final String text) {
-        return parseRange(
-            text,
-            ALL_COLUMNS,
-            SpreadsheetFormulaParsers.column(),
-            (t) -> t.cast(ColumnSpreadsheetFormulaParserToken.class).value(),
-            SpreadsheetColumnRangeReference::with
-        );
+        final SpreadsheetColumnRangeReference range = SpreadsheetSelectionScanner.columnRange(text);
+
+        return null != range ?
+            range :
+            parseRange(
+                text,
+                ALL_COLUMNS,
+                SpreadsheetFormulaParsers.column(),
+                (t) -> t.cast(ColumnSpreadsheetFormulaParserToken.class).value(),
+                SpreadsheetColumnRangeReference::with
+            );
     }
 
     /**
      * Parsers the text expecting a valid {@link SpreadsheetRowReference} or fails.
      */
     public static SpreadsheetRowReference parseRow(final String text) {
-        return parseTextOrFail(
-            text,
-            ROW_PARSER
-        ).cast(RowSpreadsheetFormulaParserToken.class)
-            .value();
+        final SpreadsheetRowReference row = SpreadsheetSelectionScanner.row(text);
+
+        return null != row ?
+            row :
+            parseTextOrFail(
+                text,
+                ROW_PARSER
+            ).cast(RowSpreadsheetFormulaParserToken.class)
+                .value();
     }
 
     /**
@@ -629,13 +649,17 @@ public abstract class SpreadsheetSelection implements HasText,
      * Parsers a range of rows.
      */
     public static SpreadsheetRowRangeReference parseRowRange(final String text) {
-        return parseRange(
-            text,
-            ALL_ROWS,
-            SpreadsheetFormulaParsers.row(),
-            (t) -> t.cast(RowSpreadsheetFormulaParserToken.class).value(),
-            SpreadsheetRowRangeReference::with
-        );
+        final SpreadsheetRowRangeReference range = SpreadsheetSelectionScanner.rowRange(text);
+
+        return null != range ?
+            range :
+            parseRange(
+                text,
+                ALL_ROWS,
+                SpreadsheetFormulaParsers.row(),
+                (t) -> t.cast(RowSpreadsheetFormulaParserToken.class).value(),
+                SpreadsheetRowRangeReference::with
+            );
     }
 
     /**
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+import walkingkooka.collect.Range;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormulaParsers;
+
+/**
+ * A hand written scanner that handles well-formed cell, column, row and range references without running the
+ * {@link SpreadsheetFormulaParsers} parser combinators. All methods return null when the text is not a simple valid
+ * reference, leaving the caller to use the parsers which will then report the appropriate error.
+ */
+final class SpreadsheetSelectionScanner {
+
+    /**
+     * Scans text such as <pre>B12</pre> or <pre>$B$12</pre>.
+     */
+    static SpreadsheetCellReference cell(final String text) {
+        return null != text ?
+            cell(
+                text,
+                0,
+                text.length()
+            ) :
+            null;
+    }
+
+    /**
+     * Scans text such as <pre>A1:B2</pre>, a single cell such as <pre>C3</pre> becomes a range of one cell.
+     */
+    static SpreadsheetCellRangeReference cellRange(final String text) {
+        SpreadsheetCellRangeReference range = null;
+
+        final int separator = separator(text);
+        if (NOT_RANGE != separator) {
+            final int length = text.length();
+
+            if (NO_SEPARATOR == separator) {
+                final SpreadsheetCellReference cell = cell(
+                    text,
+                    0,
+                    length
+                );
+                if (null != cell) {
+                    range = SpreadsheetCellRangeReference.with(
+                        Range.singleton(cell)
+                    );
+                }
+            } else {
+                final SpreadsheetCellReference lower = cell(
+                    text,
+                    0,
+                    separator
+                );
+                if (null != lower) {
+                    final SpreadsheetCellReference upper = cell(
+                        text,
+                        separator + 1,
+                        length
+                    );
+                    if (null != upper) {
+                        range = SpreadsheetCellRangeReference.with(
+                            range(
+                                lower,
+                                upper
+                            )
+                        );
+                    }
+                }
+            }
+        }
+
+        return range;
+    }
+
+    private static SpreadsheetCellReference cell(final String text,
+                                                 final int start,
+                                                 final int end) {
+        SpreadsheetCellReference cell = null;
+
+        final int columnEnd = columnEnd(
+            text,
+            start,
+            end
+        );
+        if (NOT_FOUND != columnEnd) {
+            final SpreadsheetColumnReference column = column(
+                text,
+                start,
+                columnEnd
+            );
+            if (null != column) {
+                final SpreadsheetRowReference row = row(
+                    text,
+                    columnEnd,
+                    end
+                );
+                if (null != row) {
+                    cell = column.setRow(row);
+                }
+            }
+        }
+
+        return cell;
+    }
+
+    /**
+     * Scans text such as <pre>B</pre> or <pre>$B</pre>.
+     */
+    static SpreadsheetColumnReference column(final String text) {
+        return null != text ?
+            column(
+                text,
+                0,
+                text.length()
+            ) :
+            null;
+    }
+
+    /**
+     * Scans text such as <pre>A:B</pre>, a single column such as <pre>C</pre> becomes a range of one column.
+     */
+    static SpreadsheetColumnRangeReference columnRange(final String text) {
+        SpreadsheetColumnRangeReference range = null;
+
+        final int separator = separator(text);
+        if (NOT_RANGE != separator) {
+            final int length = text.length();
+
+            if (NO_SEPARATOR == separator) {
+                final SpreadsheetColumnReference column = column(
+                    text,
+                    0,
+                    length
+                );
+                if (null != column) {
+                    range = SpreadsheetColumnRangeReference.with(
+                        Range.singleton(column)
+                    );
+                }
+            } else {
+                final SpreadsheetColumnReference lower = column(
+                    text,
+                    0,
+                    separator
+                );
+                if (null != lower) {
+                    final SpreadsheetColumnReference upper = column(
+                        text,
+                        separator + 1,
+                        length
+                    );
+                    if (null != upper) {
+                        range = SpreadsheetColumnRangeReference.with(
+                            range(
+                                lower,
+                                upper
+                            )
+                        );
+                    }
+                }
+            }
+        }
+
+        return range;
+    }
+
+    private static SpreadsheetColumnReference column(final String text,
+                                                     final int start,
+                                                     final int end) {
+        SpreadsheetColumnReference column = null;
+
+        if (start < end) {
+            int i = start;
+            SpreadsheetReferenceKind kind = SpreadsheetReferenceKind.RELATIVE;
+            if (SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+                kind = SpreadsheetReferenceKind.ABSOLUTE;
+                i++;
+            }
+
+            if (i < end) {
+                int value = 0;
+
+                while (i < end) {
+                    final int digit = SpreadsheetFormulaParsers.columnLetterValue(
+                        text.charAt(i)
+                    );
+                    if (-1 == digit) {
+                        value = NOT_FOUND;
+                        break;
+                    }
+                    value = value * SpreadsheetColumnReference.RADIX + digit;
+                    if (value > SpreadsheetColumnReference.MAX_VALUE) {
+                        value = NOT_FOUND;
+                        break;
+                    }
+                    i++;
+                }
+
+                if (value >= SpreadsheetColumnReference.MIN_VALUE) {
+                    column = kind.column(value);
+                }
+            }
+        }
+
+        return column;
+    }
+
+    /**
+     * Returns the index of the first character after the column letters of a cell reference, or {@link #NOT_FOUND}.
+     */
+    private static int columnEnd(final String text,
+                                 final int start,
+                                 final int end) {
+        int i = start;
+        if (i < end && SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+            i++;
+        }
+
+        final int letters = i;
+        while (i < end && -1 != SpreadsheetFormulaParsers.columnLetterValue(text.charAt(i))) {
+            i++;
+        }
+
+        return letters == i ?
+            NOT_FOUND :
+            i;
+    }
+
+    /**
+     * Scans text such as <pre>12</pre> or <pre>$12</pre>.
+     */
+    static SpreadsheetRowReference row(final String text) {
+        return null != text ?
+            row(
+                text,
+                0,
+                text.length()
+            ) :
+            null;
+    }
+
+    /**
+     * Scans text such as <pre>1:2</pre>, a single row such as <pre>3</pre> becomes a range of one row.
+     */
+    static SpreadsheetRowRangeReference rowRange(final String text) {
+        SpreadsheetRowRangeReference range = null;
+
+        final int separator = separator(text);
+        if (NOT_RANGE != separator) {
+            final int length = text.length();
+
+            if (NO_SEPARATOR == separator) {
+                final SpreadsheetRowReference row = row(
+                    text,
+                    0,
+                    length
+                );
+                if (null != row) {
+                    range = SpreadsheetRowRangeReference.with(
+                        Range.singleton(row)
+                    );
+                }
+            } else {
+                final SpreadsheetRowReference lower = row(
+                    text,
+                    0,
+                    separator
+                );
+                if (null != lower) {
+                    final SpreadsheetRowReference upper = row(
+                        text,
+                        separator + 1,
+                        length
+                    );
+                    if (null != upper) {
+                        range = SpreadsheetRowRangeReference.with(
+                            range(
+                                lower,
+                                upper
+                            )
+                        );
+                    }
+                }
+            }
+        }
+
+        return range;
+    }
+
+    private static SpreadsheetRowReference row(final String text,
+                                               final int start,
+                                               final int end) {
+        SpreadsheetRowReference row = null;
+
+        if (start < end) {
+            int i = start;
+            SpreadsheetReferenceKind kind = SpreadsheetReferenceKind.RELATIVE;
+            if (SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+                kind = SpreadsheetReferenceKind.ABSOLUTE;
+                i++;
+            }
+
+            if (i < end) {
+                int value = 0;
+
+                while (i < end) {
+                    final int digit = Character.digit(
+                        text.charAt(i),
+                        SpreadsheetRowReference.RADIX
+                    );
+                    if (-1 == digit) {
+                        value = NOT_FOUND;
+                        break;
+                    }
+                    value = value * SpreadsheetRowReference.RADIX + digit;
+                    if (value > SpreadsheetRowReference.MAX_VALUE) {
+                        value = NOT_FOUND;
+                        break;
+                    }
+                    i++;
+                }
+
+                if (value >= SpreadsheetRowReference.MIN_VALUE) {
+                    row = kind.row(value);
+                }
+            }
+        }
+
+        return row;
+    }
+
+    // helpers..........................................................................................................
+
+    /**
+     * Returns the index of the only {@link SpreadsheetSelection#SEPARATOR}, {@link #NO_SEPARATOR} if none is present
+     * or {@link #NOT_RANGE} if the text is null, empty or has more than one separator.
+     */
+    private static int separator(final String text) {
+        int separator = NOT_RANGE;
+
+        if (null != text && false == text.isEmpty()) {
+            final char separatorChar = SpreadsheetSelection.SEPARATOR.character();
+
+            separator = text.indexOf(separatorChar);
+            if (-1 == separator) {
+                separator = NO_SEPARATOR;
+            } else {
+                if (-1 != text.indexOf(separatorChar, separator + 1)) {
+                    separator = NOT_RANGE;
+                }
+            }
+        }
+
+        return separator;
+    }
+
+    private final static int NO_SEPARATOR = -1;
+
+    private final static int NOT_RANGE = -2;
+
+    private final static int NOT_FOUND = -1;
+
+    /**
+     * Creates a {@link Range} with the lower and upper swapped if necessary, matching the ordering performed by
+     * {@link SpreadsheetSelection#parseCellRange(String)}.
+     */
+    private static <S extends SpreadsheetSelection & Comparable<S>> Range<S> range(final S lower,
+                                                                                    final S upper) {
+        return lower.compareTo(upper) > 0 ?
+            Range.greaterThanEquals(upper)
+                .and(
+                    Range.lessThanEquals(lower)
+                ) :
+            Range.greaterThanEquals(lower)
+                .and(
+                    Range.lessThanEquals(upper)
+                );
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetSelectionScanner() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -103,4 +103,25 @@ public class FakeSpreadsheetCellStore extends FakeStore<SpreadsheetCellReference
                                        final ValueType valueType) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public Optional<SpreadsheetCell> loadValidated(final SpreadsheetCellReference cell) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void saveValidated(final SpreadsheetCell cell) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long version() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<SpreadsheetCellReference> findCellsChangedSince(final SpreadsheetCellRangeReference range,
+                                                               final long version) {
+        throw new UnsupportedOperationException();
+    }
 }
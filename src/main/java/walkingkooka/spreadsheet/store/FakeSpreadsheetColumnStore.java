@@ -21,6 +21,8 @@ import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.value.SpreadsheetColumn;
 import walkingkooka.store.FakeStore;
 
+import java.util.Optional;
+
 public class FakeSpreadsheetColumnStore extends FakeStore<SpreadsheetColumnReference, SpreadsheetColumn> implements SpreadsheetColumnStore {
 
     public FakeSpreadsheetColumnStore() {
@@ -31,4 +33,10 @@ public class FakeSpreadsheetColumnStore extends FakeStore<SpreadsheetColumnRefer
     public boolean isHidden(SpreadsheetColumnReference reference) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public Optional<SpreadsheetColumnReference> skipHidden(final SpreadsheetColumnReference reference,
+                                                           final int delta) {
+        throw new UnsupportedOperationException();
+    }
 }
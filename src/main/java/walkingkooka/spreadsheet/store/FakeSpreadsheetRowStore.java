@@ -21,6 +21,8 @@ import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.value.SpreadsheetRow;
 import walkingkooka.store.FakeStore;
 
+import java.util.Optional;
+
 public class FakeSpreadsheetRowStore extends FakeStore<SpreadsheetRowReference, SpreadsheetRow> implements SpreadsheetRowStore {
 
     public FakeSpreadsheetRowStore() {
@@ -31,4 +33,10 @@ public class FakeSpreadsheetRowStore extends FakeStore<SpreadsheetRowReference,
     public boolean isHidden(SpreadsheetRowReference reference) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public Optional<SpreadsheetRowReference> skipHidden(final SpreadsheetRowReference reference,
+                                                        final int delta) {
+        throw new UnsupportedOperationException();
+    }
 }
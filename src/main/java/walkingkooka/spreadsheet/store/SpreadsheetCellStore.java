@@ -28,6 +28,7 @@ import walkingkooka.spreadsheet.value.SpreadsheetError;
 import walkingkooka.store.Store;
 import walkingkooka.validation.ValueType;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -59,6 +60,18 @@ public interface SpreadsheetCellStore extends SpreadsheetStore<SpreadsheetCellRe
                                        final int offset,
                                        final int count);
 
+    /**
+     * Saves all the given {@link SpreadsheetCell cells}, implementations may update any indices once for all the cells
+     * rather than once per cell.
+     */
+    default void saveCells(final Collection<SpreadsheetCell> cells) {
+        Objects.requireNonNull(cells, "cells");
+
+        for (final SpreadsheetCell cell : cells) {
+            this.save(cell);
+        }
+    }
+
     /**
      * Default implementation that deletes all the cells in the given {@link SpreadsheetCellRangeReference}.
      */
@@ -161,4 +174,39 @@ public interface SpreadsheetCellStore extends SpreadsheetStore<SpreadsheetCellRe
      */
     int countCellsWithValueType(final SpreadsheetCellRangeReference range,
                                 final ValueType valueType);
+
+    /**
+     * Returns a version that increases each time a cell is saved with a different value or deleted.
+     */
+    long version();
+
+    /**
+     * Returns the cell last recorded by {@link #saveValidated(SpreadsheetCell)}, if its reference was not deleted,
+     * saved with a different value or {@link walkingkooka.validation.provider.ValidatorSelector} or cleared by
+     * {@link #clearFormatted()} since.
+     */
+    Optional<SpreadsheetCell> loadValidated(final SpreadsheetCellReference cell);
+
+    /**
+     * Records a cell after validation, holding the value, {@link walkingkooka.validation.provider.ValidatorSelector}
+     * and the errors in its {@link SpreadsheetFormula#error()}. Only validations that depend on nothing but the cell
+     * value should be recorded, so later operations may reuse the errors rather than validating again.
+     */
+    void saveValidated(final SpreadsheetCell cell);
+
+    static void checkFindCellsChangedSince(final SpreadsheetCellRangeReference range,
+                                           final long version) {
+        Objects.requireNonNull(range, "range");
+        if (version < 0) {
+            throw new IllegalArgumentException("Invalid version " + version + " < 0");
+        }
+    }
+
+    /**
+     * Finds the {@link SpreadsheetCellReference} of all cells within the range that were saved or deleted after the
+     * given {@link #version()}. Stores may fail with an {@link IllegalArgumentException} if deletes after a very old
+     * version are no longer remembered, in which case all cells should be loaded again.
+     */
+    Set<SpreadsheetCellReference> findCellsChangedSince(final SpreadsheetCellRangeReference range,
+                                                        final long version);
 }
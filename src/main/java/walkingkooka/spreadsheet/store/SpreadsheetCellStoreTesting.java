@@ -387,4 +387,42 @@ public interface SpreadsheetCellStoreTesting<S extends SpreadsheetCellStore> ext
             () -> "countCellsWithValueType " + cellRange + " " + valueType
         );
     }
+
+    // findCellsChangedSince...........................................................................................
+
+    @Test
+    default void testFindCellsChangedSinceWithNullRangeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore().findCellsChangedSince(
+                null,
+                0
+            )
+        );
+    }
+
+    @Test
+    default void testFindCellsChangedSinceWithNegativeVersionFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createStore().findCellsChangedSince(
+                SpreadsheetSelection.ALL_CELLS,
+                -1
+            )
+        );
+    }
+
+    default void findCellsChangedSinceAndCheck(final SpreadsheetCellStore store,
+                                               final SpreadsheetCellRangeReference cellRange,
+                                               final long version,
+                                               final SpreadsheetCellReference... expected) {
+        this.checkEquals(
+            Sets.of(expected),
+            store.findCellsChangedSince(
+                cellRange,
+                version
+            ),
+            () -> "findCellsChangedSince " + cellRange + " " + version
+        );
+    }
 }
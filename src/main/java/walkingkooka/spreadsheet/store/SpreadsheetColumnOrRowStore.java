@@ -17,11 +17,13 @@
 
 package walkingkooka.spreadsheet.store;
 
+import walkingkooka.Cast;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetColumn;
 import walkingkooka.spreadsheet.value.SpreadsheetColumnOrRow;
 import walkingkooka.spreadsheet.value.SpreadsheetRow;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -36,4 +38,29 @@ public interface SpreadsheetColumnOrRowStore<R extends SpreadsheetSelection & Co
         final Optional<V> columnOrRow = this.load(reference);
         return columnOrRow.isPresent() && columnOrRow.get().hidden();
     }
+
+    /**
+     * Returns the given column or row if it is not hidden, otherwise the first column or row that is not hidden moving
+     * in the direction of the delta, which should be +1 or -1. If all are hidden until the first or last, nothing is
+     * returned.
+     */
+    default Optional<R> skipHidden(final R reference,
+                                   final int delta) {
+        Objects.requireNonNull(reference, "reference");
+
+        R current = reference;
+
+        while (this.isHidden(current)) {
+            final R next = Cast.to(
+                current.addSaturated(delta)
+            );
+            if (next.equals(current)) {
+                current = null;
+                break;
+            }
+            current = next;
+        }
+
+        return Optional.ofNullable(current);
+    }
 }
@@ -37,6 +37,7 @@ import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
 import walkingkooka.validation.ValueType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -47,6 +48,10 @@ import java.util.stream.Collectors;
  * A {@link SpreadsheetCellStore} that tries to parse any formula text into an {@link Expression} when necessary for any
  * cells that are saved. When cells are loaded, the {@link SpreadsheetFormula} text is updated using the {@link Expression}.
  * Most other methods simply delegate without modification to the wrapped {@link SpreadsheetCellStore}.
+ * <br>
+ * To save memory the wrapped {@link SpreadsheetCellStore} only holds the {@link SpreadsheetFormulaParserToken}, any
+ * {@link Expression} is dropped before saving. Loaded cells and store watcher events are returned without their
+ * {@link Expression}, the engine re-derives it from the token only when the cell is evaluated.
  */
 final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore implements SpreadsheetCellStore {
 
@@ -126,14 +131,49 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore imple
 
         return this.fixFormulaText(
             this.store.save(
-                this.ensureFormulaHasToken(cell)
+                compact(
+                    this.ensureFormulaHasToken(cell)
+                )
             )
         );
     }
 
+    @Override
+    public void saveCells(final Collection<SpreadsheetCell> cells) {
+        Objects.requireNonNull(cells, "cells");
+
+        final List<SpreadsheetCell> fixed = Lists.array();
+        for (final SpreadsheetCell cell : cells) {
+            fixed.add(
+                compact(
+                    this.ensureFormulaHasToken(cell)
+                )
+            );
+        }
+
+        this.store.saveCells(fixed);
+    }
+
+    /**
+     * Removes the {@link Expression} if a {@link SpreadsheetFormulaParserToken} is present, keeping any value, error
+     * and formatted value.
+     */
+    private static SpreadsheetCell compact(final SpreadsheetCell cell) {
+        final SpreadsheetFormula formula = cell.formula();
+
+        return formula.token().isPresent() ?
+            cell.setFormula(
+                formula.replaceExpression(SpreadsheetFormula.NO_EXPRESSION)
+            ).setFormattedValue(
+                cell.formattedValue()
+            ) :
+            cell;
+    }
+
     /**
-     * If the {@link SpreadsheetFormula#token()} or {@link SpreadsheetFormula#expression()} are missing, parsing the text
-     * and rebuilding the expression is performed. This has the side effect that the value/error will also be cleared.
+     * If the {@link SpreadsheetFormula#token()} is missing, parsing the text and building the expression is performed.
+     * This has the side effect that the value/error will also be cleared. A present token is kept with any value, its
+     * {@link Expression} is not rebuilt because {@link #compact(SpreadsheetCell)} drops it.
      */
     private SpreadsheetCell ensureFormulaHasToken(final SpreadsheetCell cell) {
         SpreadsheetFormula formula = cell.formula();
@@ -152,14 +192,14 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore imple
                     );
                     formula = formula
                         .setToken(Optional.of(token));
-                }
-                if (null != token) {
                     formula = formula.setText(token.text());
                     formula = formula.setExpression(
                         token.toExpression(
                             this.expressionEvaluationContext(cell)
                         )
                     ); // also clears value/error
+                } else {
+                    formula = formula.setText(token.text());
                 }
             } catch (final Exception failed) {
                 formula = formula.setValue(
@@ -328,6 +368,38 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore imple
         );
     }
 
+    /**
+     * The wrapped store holds cells that already have their formula tokens, so only their formatted values change.
+     */
+    @Override
+    public void clearFormatted() {
+        this.store.clearFormatted();
+    }
+
+    @Override
+    public Optional<SpreadsheetCell> loadValidated(final SpreadsheetCellReference cell) {
+        return this.store.loadValidated(cell);
+    }
+
+    @Override
+    public void saveValidated(final SpreadsheetCell cell) {
+        this.store.saveValidated(cell);
+    }
+
+    @Override
+    public long version() {
+        return this.store.version();
+    }
+
+    @Override
+    public Set<SpreadsheetCellReference> findCellsChangedSince(final SpreadsheetCellRangeReference range,
+                                                               final long version) {
+        return this.store.findCellsChangedSince(
+            range,
+            version
+        );
+    }
+
     // helpers that do the formula tokenization/text thing..............................................................
 
     private List<SpreadsheetCell> fixFormulaTextList(final List<SpreadsheetCell> cells) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * A mutable index of names, that answers case-insensitive contains queries such as
+ * {@link SpreadsheetLabelStore#findLabelsByName(String, int, int)} and {@link walkingkooka.spreadsheet.validation.form.store.SpreadsheetFormStore#findFormsByName(String, int, int)}
+ * without testing every name.
+ * <br>
+ * Every distinct substring of one, two and three characters of each case folded name is indexed. Longer queries only
+ * test the names that hold the rarest three character substring of the query. Names are returned in their natural order.
+ * <br>
+ * This is public only because the {@link walkingkooka.spreadsheet.validation.form.store.SpreadsheetFormStore} in another
+ * package also uses it.
+ */
+public final class SpreadsheetStoreNameIndex<N extends Comparable<N>> {
+
+    public static <N extends Comparable<N>> SpreadsheetStoreNameIndex<N> empty() {
+        return new SpreadsheetStoreNameIndex<>();
+    }
+
+    private SpreadsheetStoreNameIndex() {
+        super();
+    }
+
+    /**
+     * Adds or replaces the text for the given name.
+     */
+    public void add(final N name,
+                    final String text) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(text, "text");
+
+        this.remove(name);
+
+        final String folded = fold(text);
+        this.nameToFolded.put(
+            name,
+            folded
+        );
+
+        final int length = folded.length();
+        for (int i = 0; i < length; i++) {
+            for (int j = i + 1; j <= Math.min(i + GRAM_LENGTH, length); j++) {
+                final String gram = folded.substring(i, j);
+
+                SortedSet<N> names = this.gramToNames.get(gram);
+                if (null == names) {
+                    names = SortedSets.tree();
+                    this.gramToNames.put(
+                        gram,
+                        names
+                    );
+                }
+                names.add(name);
+            }
+        }
+    }
+
+    public void remove(final N name) {
+        Objects.requireNonNull(name, "name");
+
+        final String folded = this.nameToFolded.remove(name);
+        if (null != folded) {
+            final int length = folded.length();
+            for (int i = 0; i < length; i++) {
+                for (int j = i + 1; j <= Math.min(i + GRAM_LENGTH, length); j++) {
+                    final String gram = folded.substring(i, j);
+
+                    final Set<N> names = this.gramToNames.get(gram);
+                    if (null != names) {
+                        names.remove(name);
+                        if (names.isEmpty()) {
+                            this.gramToNames.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the names whose text contains the given text ignoring case, skipping offset matches and returning
+     * at most count. An empty text matches all names.
+     */
+    public List<N> find(final String text,
+                        final int offset,
+                        final int count) {
+        Objects.requireNonNull(text, "text");
+
+        final String folded = fold(text);
+        final int length = folded.length();
+
+        Set<N> candidates;
+        if (0 == length) {
+            candidates = this.nameToFolded.keySet();
+        } else {
+            candidates = null;
+
+            for (int i = 0; i + Math.min(GRAM_LENGTH, length) <= length; i++) {
+                final Set<N> names = this.gramToNames.get(
+                    folded.substring(
+                        i,
+                        i + Math.min(GRAM_LENGTH, length)
+                    )
+                );
+                if (null == names) {
+                    candidates = SortedSets.empty();
+                    break;
+                }
+                if (null == candidates || names.size() < candidates.size()) {
+                    candidates = names;
+                }
+            }
+        }
+
+        final List<N> found = Lists.array();
+        int skip = offset;
+
+        for (final N name : candidates) {
+            if (found.size() >= count) {
+                break;
+            }
+            if (length <= GRAM_LENGTH || this.nameToFolded.get(name).contains(folded)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    found.add(name);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private static String fold(final String text) {
+        final int length = text.length();
+        final char[] folded = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            folded[i] = Character.toLowerCase(
+                Character.toUpperCase(
+                    text.charAt(i)
+                )
+            );
+        }
+
+        return new String(folded);
+    }
+
+    /**
+     * The longest substring indexed.
+     */
+    private final static int GRAM_LENGTH = 3;
+
+    private final SortedMap<N, String> nameToFolded = Maps.sorted();
+
+    private final Map<String, SortedSet<N>> gramToNames = Maps.sorted();
+
+    @Override
+    public String toString() {
+        return this.nameToFolded.keySet()
+            .toString();
+    }
+}
@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.store;
 
 import walkingkooka.CanBeEmpty;
 import walkingkooka.NeverError;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
@@ -27,8 +28,8 @@ import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
-import walkingkooka.spreadsheet.value.SpreadsheetValueType;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
 import walkingkooka.store.Stores;
@@ -43,11 +44,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * A {@link SpreadsheetCellStore} that uses a {@link Map}.
@@ -83,22 +82,80 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
     public SpreadsheetCell save(final SpreadsheetCell cell) {
         Objects.requireNonNull(cell, "cell");
 
-        this.lrtd.addOrReplace(cell);
-        this.rltd.addOrReplace(cell);
+        final SpreadsheetCell interned = cell.intern(this.interner);
 
-        this.lrbu.addOrReplace(cell);
-        this.rlbu.addOrReplace(cell);
+        this.lrtd.addOrReplace(interned);
+        this.rltd.addOrReplace(interned);
 
-        this.tdlr.addOrReplace(cell);
-        this.tdrl.addOrReplace(cell);
+        this.lrbu.addOrReplace(interned);
+        this.rlbu.addOrReplace(interned);
 
-        this.bulr.addOrReplace(cell);
-        this.burl.addOrReplace(cell);
+        this.tdlr.addOrReplace(interned);
+        this.tdrl.addOrReplace(interned);
+
+        this.bulr.addOrReplace(interned);
+        this.burl.addOrReplace(interned);
+
+        this.valueTypes.addOrReplace(interned);
+
+        return this.saveStore(interned);
+    }
+
+    private SpreadsheetCell saveStore(final SpreadsheetCell cell) {
+        final SpreadsheetCell previous = this.store.load(cell.reference())
+            .orElse(null);
+        if (false == cell.equals(previous)) {
+            this.versions.changed(cell.reference());
+        }
+
+        final SpreadsheetCell validated = this.validated.get(cell.reference());
+        if (null != validated && false == isSameValueAndValidator(validated, cell)) {
+            this.validated.remove(cell.reference());
+        }
+        if (null != previous) {
+            this.interner.release(previous);
+        }
 
         // must be last so any SaveWatchers that try and loadCellRange after the #maps like #lrtd have already saved $cell
         return this.store.save(cell);
     }
 
+    /**
+     * Adds all the cells to the sorted lists with a single merge each, before saving each cell to the {@link #store},
+     * so any {@link walkingkooka.store.StoreWatcher} sees all the cells.
+     */
+    @Override
+    public void saveCells(final Collection<SpreadsheetCell> cells) {
+        Objects.requireNonNull(cells, "cells");
+
+        final List<SpreadsheetCell> interned = Lists.array();
+        for (final SpreadsheetCell cell : cells) {
+            interned.add(
+                cell.intern(this.interner)
+            );
+        }
+
+        this.lrtd.addOrReplaceAll(interned);
+        this.rltd.addOrReplaceAll(interned);
+
+        this.lrbu.addOrReplaceAll(interned);
+        this.rlbu.addOrReplaceAll(interned);
+
+        this.tdlr.addOrReplaceAll(interned);
+        this.tdrl.addOrReplaceAll(interned);
+
+        this.bulr.addOrReplaceAll(interned);
+        this.burl.addOrReplaceAll(interned);
+
+        for (final SpreadsheetCell cell : interned) {
+            this.valueTypes.addOrReplace(cell);
+        }
+
+        for (final SpreadsheetCell cell : interned) {
+            this.saveStore(cell);
+        }
+    }
+
     @Override
     public void delete(final SpreadsheetCellReference id) {
         Objects.requireNonNull(id, "id");
@@ -115,6 +172,17 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
         this.bulr.remove(id);
         this.burl.remove(id);
 
+        this.valueTypes.remove(id);
+
+        final SpreadsheetCell previous = this.store.load(id)
+            .orElse(null);
+        if (null != previous) {
+            this.versions.deleted(id);
+            this.interner.release(previous);
+        }
+
+        this.validated.remove(id);
+
         // must be last so any DeleteWatchers that try and loadCellRange after the #maps like #lrtd have already deleted $id
         this.store.delete(id);
     }
@@ -187,7 +255,7 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
         }
 
         final int height = path.height(range);
-        final List<SpreadsheetCell> cells = list.cells;
+        final List<SpreadsheetCell> cells = list.cells();
         final Comparator<SpreadsheetCellReference> comparator = path.comparator();
         final int size = cells.size();
 
@@ -434,11 +502,15 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
             max
         );
 
-        return this.valueTypeStream(
-                range,
-                valueType
-            ).limit(max)
-            .collect(Collectors.toCollection(() -> SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR)));
+        final Set<SpreadsheetCell> found = SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR);
+
+        for (final SpreadsheetCellReference cell : this.valueTypes.find(range, valueType, max)) {
+            found.add(
+                this.store.loadOrFail(cell)
+            );
+        }
+
+        return found;
     }
 
     @Override
@@ -449,34 +521,72 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
             valueType
         );
 
-        return (int) valueTypeStream(
+        return this.valueTypes.find(
             range,
-            valueType
-        ).count();
+            valueType,
+            Integer.MAX_VALUE
+        ).size();
+    }
+
+    @Override
+    public long version() {
+        return this.versions.version();
+    }
+
+    @Override
+    public Set<SpreadsheetCellReference> findCellsChangedSince(final SpreadsheetCellRangeReference range,
+                                                               final long version) {
+        SpreadsheetCellStore.checkFindCellsChangedSince(
+            range,
+            version
+        );
+
+        return this.versions.find(
+            range,
+            version
+        );
+    }
+
+    @Override
+    public Optional<SpreadsheetCell> loadValidated(final SpreadsheetCellReference cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        return Optional.ofNullable(
+            this.validated.get(cell)
+        );
+    }
+
+    @Override
+    public void saveValidated(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        this.validated.put(
+            cell.reference(),
+            cell
+        );
     }
 
     /**
-     * If the {@link ValueType} is {@link SpreadsheetValueType#ANY} this will match all cells with a value.
+     * Also forgets all validated cells, as this is called when {@link walkingkooka.spreadsheet.meta.SpreadsheetMetadata}
+     * that validators may depend upon changes.
      */
-    private Stream<SpreadsheetCell> valueTypeStream(final SpreadsheetCellRangeReference range,
-                                                    final ValueType valueType) {
-        final Function<Object, Boolean> filter = SpreadsheetValueType.ANY.equals(valueType) ?
-            v -> Boolean.TRUE :
-            v -> valueType.equals(
-                SpreadsheetValueType.toValueType(v.getClass())
-                    .orElse(null)
-            );
+    @Override
+    public void clearFormatted() {
+        this.validated.clear();
 
-        return this.between(
-                range.begin(),
-                range.end()
-            ).stream()
-            .filter(
-                (cell) -> cell.formula()
-                    .errorOrValue()
-                    .map(filter)
-                    .orElse(false)
-            );
+        SpreadsheetCellStore.super.clearFormatted();
+    }
+
+    private static boolean isSameValueAndValidator(final SpreadsheetCell validated,
+                                                   final SpreadsheetCell cell) {
+        return validated.formula()
+            .value()
+            .equals(
+                cell.formula()
+                    .value()
+            ) &&
+            validated.validator()
+                .equals(cell.validator());
     }
 
     @Override
@@ -523,6 +633,27 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore,
         SpreadsheetCellRangeReferencePath.BURL
     );
 
+    /**
+     * Used by {@link #findCellsWithValueType(SpreadsheetCellRangeReference, ValueType, int)} and
+     * {@link #countCellsWithValueType(SpreadsheetCellRangeReference, ValueType)}.
+     */
+    private final TreeMapSpreadsheetCellStoreValueTypeIndex valueTypes = TreeMapSpreadsheetCellStoreValueTypeIndex.empty();
+
+    /**
+     * Used by {@link #version()} and {@link #findCellsChangedSince(SpreadsheetCellRangeReference, long)}.
+     */
+    private final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.empty();
+
+    /**
+     * Shares equal styles, selectors and locales between saved cells.
+     */
+    private final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+
+    /**
+     * Cells recorded by {@link #saveValidated(SpreadsheetCell)}.
+     */
+    private final Map<SpreadsheetCellReference, SpreadsheetCell> validated = SpreadsheetSelectionMaps.cell();
+
     // Object...........................................................................................................
 
     @Override
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A pool used by {@link TreeMapSpreadsheetCellStore} with {@link SpreadsheetCell#intern(Function)}, so saved cells with
+ * equal styles, selectors and locales share a single instance of each. Each entry counts the saved cells using it, and
+ * is removed when the last of those cells is replaced or deleted and {@link #release(SpreadsheetCell)} is called.
+ */
+final class TreeMapSpreadsheetCellStoreInterner implements Function<Object, Object> {
+
+    static TreeMapSpreadsheetCellStoreInterner empty() {
+        return new TreeMapSpreadsheetCellStoreInterner();
+    }
+
+    private TreeMapSpreadsheetCellStoreInterner() {
+        super();
+    }
+
+    @Override
+    public Object apply(final Object value) {
+        Objects.requireNonNull(value, "value");
+
+        Object interned = this.pool.get(value);
+        if (null == interned) {
+            this.pool.put(
+                value,
+                value
+            );
+            interned = value;
+        }
+
+        final Integer count = this.counts.get(interned);
+        this.counts.put(
+            interned,
+            null == count ?
+                1 :
+                count + 1
+        );
+
+        return interned;
+    }
+
+    /**
+     * Releases the values of a previously interned cell that has been replaced or deleted.
+     */
+    void release(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        this.release(cell.currency());
+        this.release(cell.dateTimeSymbols());
+        this.release(cell.decimalNumberSymbols());
+        this.release(cell.locale());
+        this.release(cell.formatter());
+        this.release(cell.parser());
+        this.release(cell.style());
+        this.release(cell.validator());
+    }
+
+    private void release(final Object value) {
+        final Integer count = this.counts.get(value);
+        if (null != count) {
+            if (1 == count) {
+                this.counts.remove(value);
+                this.pool.remove(value);
+            } else {
+                this.counts.put(
+                    value,
+                    count - 1
+                );
+            }
+        }
+    }
+
+    /**
+     * The pool, where each key is also its own value.
+     */
+    private final Map<Object, Object> pool = Maps.ordered();
+
+    /**
+     * The number of saved cells using each pooled value.
+     */
+    private final Map<Object, Integer> counts = Maps.ordered();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.pool.keySet()
+            .toString();
+    }
+}
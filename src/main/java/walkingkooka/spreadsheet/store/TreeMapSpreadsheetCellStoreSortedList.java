@@ -24,6 +24,8 @@ import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReferencePath;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -32,6 +34,11 @@ import java.util.Optional;
 /**
  * A very simple abstraction that holds {@link SpreadsheetCell cells} sorted by the given {@link Comparator} only exists
  * to support {@link TreeMapSpreadsheetCellStore#loadCellRange(SpreadsheetCellRangeReference, SpreadsheetCellRangeReferencePath, int, int)}.
+ * <br>
+ * Reads never modify the cells, only {@link #addOrReplace(SpreadsheetCell)}, {@link #addOrReplaceAll(Collection)} and
+ * {@link #remove(SpreadsheetCellReference)} do. Saving many cells, such as a large paste or import, should use
+ * {@link #addOrReplaceAll(Collection)} which costs a single sort and merge rather than shifting the sorted cells for
+ * every cell.
  */
 final class TreeMapSpreadsheetCellStoreSortedList {
 
@@ -67,7 +74,7 @@ final class TreeMapSpreadsheetCellStoreSortedList {
 
         SpreadsheetCell getOrNext = null;
 
-        final List<SpreadsheetCell> cells = this.cells;
+        final List<SpreadsheetCell> cells = this.cells();
         if (index < 0) {
             index = -index - 1;
         }
@@ -79,7 +86,7 @@ final class TreeMapSpreadsheetCellStoreSortedList {
     }
 
     Optional<SpreadsheetCell> offset(final int index) {
-        final List<SpreadsheetCell> cells = this.cells;
+        final List<SpreadsheetCell> cells = this.cells();
         return Optional.ofNullable(
             index < 0 || index >= cells.size() ?
                 null :
@@ -94,10 +101,17 @@ final class TreeMapSpreadsheetCellStoreSortedList {
         }
     }
 
+    /**
+     * Adds the given {@link SpreadsheetCell}, replacing any cell with the same reference.
+     */
     void addOrReplace(final SpreadsheetCell cell) {
         final List<SpreadsheetCell> cells = this.cells;
 
-        int index = this.indexOf(cell.reference());
+        int index = Collections.binarySearch(
+            cells,
+            cell,
+            this.comparator
+        );
         if (index >= 0) {
             cells.set(index, cell);
         } else {
@@ -114,13 +128,96 @@ final class TreeMapSpreadsheetCellStoreSortedList {
         }
     }
 
+    /**
+     * Adds all the given {@link SpreadsheetCell cells}, replacing any cell with the same reference. When several of
+     * the given cells share a reference the last wins.
+     */
+    void addOrReplaceAll(final Collection<SpreadsheetCell> cells) {
+        switch (cells.size()) {
+            case 0:
+                break;
+            case 1:
+                this.addOrReplace(
+                    cells.iterator()
+                        .next()
+                );
+                break;
+            default:
+                this.merge(
+                    new ArrayList<>(cells)
+                );
+                break;
+        }
+    }
+
+    /**
+     * Returns the sorted cells, which must not be modified.
+     */
+    List<SpreadsheetCell> cells() {
+        return this.cells;
+    }
+
+    /**
+     * Sorts the added cells once, keeping the last of any with the same reference, and merges them with the sorted
+     * cells into a new list.
+     */
+    private void merge(final List<SpreadsheetCell> added) {
+        final Comparator<SpreadsheetCell> comparator = this.comparator;
+
+        // sort is stable so the last of cells with the same reference remains last
+        added.sort(comparator);
+
+        final List<SpreadsheetCell> cells = this.cells;
+        final int cellsSize = cells.size();
+        final int addedSize = added.size();
+
+        final List<SpreadsheetCell> merged = new ArrayList<>(cellsSize + addedSize);
+
+        int c = 0;
+        int a = 0;
+
+        while (a < addedSize) {
+            SpreadsheetCell add = added.get(a);
+            a++;
+
+            // skip replaced cells with the same reference
+            while (a < addedSize && 0 == comparator.compare(add, added.get(a))) {
+                add = added.get(a);
+                a++;
+            }
+
+            while (c < cellsSize) {
+                final SpreadsheetCell cell = cells.get(c);
+                final int compare = comparator.compare(cell, add);
+                if (compare > 0) {
+                    break;
+                }
+                if (compare < 0) {
+                    merged.add(cell);
+                }
+                c++;
+            }
+
+            merged.add(add);
+        }
+
+        merged.addAll(
+            cells.subList(
+                c,
+                cellsSize
+            )
+        );
+
+        this.cells = merged;
+    }
+
     int indexOfOrNext(final SpreadsheetCellReference reference) {
         int index = this.indexOf(reference);
 
         if (index < 0) {
             index = -index - 1;
         }
-        if (index >= cells.size()) {
+        if (index >= this.cells.size()) {
             index = -1;
         }
 
@@ -137,8 +234,10 @@ final class TreeMapSpreadsheetCellStoreSortedList {
 
     private final Comparator<SpreadsheetCell> comparator;
 
-    // VisibleForTesting
-    final List<SpreadsheetCell> cells;
+    /**
+     * The sorted cells, which are replaced by {@link #merge(List)}.
+     */
+    private List<SpreadsheetCell> cells;
 
     @Override
     public String toString() {
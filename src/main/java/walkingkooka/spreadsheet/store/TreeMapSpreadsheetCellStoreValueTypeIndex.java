@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetValueType;
+import walkingkooka.validation.ValueType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+
+/**
+ * Indexes the cells of a {@link TreeMapSpreadsheetCellStore} by the {@link ValueType} of their value, so cells of a
+ * type within a range may be found without classifying the value of every cell in the range.
+ */
+final class TreeMapSpreadsheetCellStoreValueTypeIndex {
+
+    static TreeMapSpreadsheetCellStoreValueTypeIndex empty() {
+        return new TreeMapSpreadsheetCellStoreValueTypeIndex();
+    }
+
+    private TreeMapSpreadsheetCellStoreValueTypeIndex() {
+        super();
+    }
+
+    void addOrReplace(final SpreadsheetCell cell) {
+        final SpreadsheetCellReference reference = cell.reference()
+            .toRelative();
+        this.remove(reference);
+
+        final Optional<Object> value = cell.formula()
+            .errorOrValue();
+        if (value.isPresent()) {
+            this.withValue.add(reference);
+
+            final ValueType valueType = SpreadsheetValueType.toValueType(
+                value.get()
+                    .getClass()
+            ).orElse(null);
+            if (null != valueType) {
+                this.cellToValueType.put(
+                    reference,
+                    valueType
+                );
+
+                SortedSet<SpreadsheetCellReference> cells = this.valueTypeToCells.get(valueType);
+                if (null == cells) {
+                    cells = SortedSets.tree();
+                    this.valueTypeToCells.put(
+                        valueType,
+                        cells
+                    );
+                }
+                cells.add(reference);
+            }
+        }
+    }
+
+    void remove(final SpreadsheetCellReference reference) {
+        final SpreadsheetCellReference relative = reference.toRelative();
+
+        if (this.withValue.remove(relative)) {
+            final ValueType valueType = this.cellToValueType.remove(relative);
+            if (null != valueType) {
+                final SortedSet<SpreadsheetCellReference> cells = this.valueTypeToCells.get(valueType);
+                cells.remove(relative);
+                if (cells.isEmpty()) {
+                    this.valueTypeToCells.remove(valueType);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cells within the range with a value of the given {@link ValueType}, sorted by row then column.
+     * {@link SpreadsheetValueType#ANY} matches all cells with a value.
+     */
+    List<SpreadsheetCellReference> find(final SpreadsheetCellRangeReference range,
+                                        final ValueType valueType,
+                                        final int max) {
+        final List<SpreadsheetCellReference> found = Lists.array();
+
+        final SortedSet<SpreadsheetCellReference> cells = SpreadsheetValueType.ANY.equals(valueType) ?
+            this.withValue :
+            this.valueTypeToCells.get(valueType);
+
+        if (null != cells && max > 0) {
+            final int bottom = range.end()
+                .row()
+                .value();
+
+            // cells are sorted by row, skip directly to the first row of the range and stop after the last
+            for (final SpreadsheetCellReference cell : cells.tailSet(range.begin().toRelative())) {
+                if (cell.row().value() > bottom) {
+                    break;
+                }
+                if (range.testCell(cell)) {
+                    found.add(cell);
+                    if (found.size() >= max) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * All cells with a value, including values without a {@link ValueType}.
+     */
+    private final SortedSet<SpreadsheetCellReference> withValue = SortedSets.tree();
+
+    /**
+     * Used to find the type of a cell when it is replaced or removed.
+     */
+    private final Map<SpreadsheetCellReference, ValueType> cellToValueType = SpreadsheetSelectionMaps.cell();
+
+    private final Map<ValueType, SortedSet<SpreadsheetCellReference>> valueTypeToCells = Maps.ordered();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.valueTypeToCells.toString();
+    }
+}
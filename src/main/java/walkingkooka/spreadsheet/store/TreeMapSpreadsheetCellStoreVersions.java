@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Records the version when each cell of a {@link TreeMapSpreadsheetCellStore} was last saved or deleted, so cells
+ * changed within a range since a version may be found by visiting only the changes after that version. Deleted cells
+ * keep their version so they are also found, until they are older than the tombstone age, after which finds for
+ * earlier versions fail as those deletes are forgotten.
+ */
+final class TreeMapSpreadsheetCellStoreVersions {
+
+    /**
+     * The number of versions a deleted cell is remembered, clients holding an older version must load all cells again.
+     */
+    private final static long TOMBSTONE_AGE = 10_000;
+
+    static TreeMapSpreadsheetCellStoreVersions empty() {
+        return with(TOMBSTONE_AGE);
+    }
+
+    // @VisibleForTesting
+    static TreeMapSpreadsheetCellStoreVersions with(final long tombstoneAge) {
+        if (tombstoneAge < 0) {
+            throw new IllegalArgumentException("Invalid tombstoneAge " + tombstoneAge + " < 0");
+        }
+        return new TreeMapSpreadsheetCellStoreVersions(tombstoneAge);
+    }
+
+    private TreeMapSpreadsheetCellStoreVersions(final long tombstoneAge) {
+        super();
+        this.tombstoneAge = tombstoneAge;
+    }
+
+    /**
+     * Increments the version and records it against the given saved cell.
+     */
+    void changed(final SpreadsheetCellReference cell) {
+        this.record(cell);
+        this.pruneTombstones();
+    }
+
+    /**
+     * Increments the version and records it against the given deleted cell.
+     */
+    void deleted(final SpreadsheetCellReference cell) {
+        this.versionToTombstone.put(
+            this.record(cell),
+            cell.toRelative()
+        );
+        this.pruneTombstones();
+    }
+
+    private long record(final SpreadsheetCellReference cell) {
+        final long version = ++this.version;
+        final SpreadsheetCellReference relative = cell.toRelative();
+
+        final Long previous = this.cellToVersion.put(
+            relative,
+            version
+        );
+        if (null != previous) {
+            this.versionToCell.remove(previous);
+            this.versionToTombstone.remove(previous);
+        }
+
+        this.versionToCell.put(
+            version,
+            relative
+        );
+
+        return version;
+    }
+
+    /**
+     * Forgets deleted cells older than the tombstone age.
+     */
+    private void pruneTombstones() {
+        final long oldest = this.version - this.tombstoneAge;
+
+        final SortedMap<Long, SpreadsheetCellReference> versionToTombstone = this.versionToTombstone;
+        while (false == versionToTombstone.isEmpty()) {
+            final Long version = versionToTombstone.firstKey();
+            if (version > oldest) {
+                break;
+            }
+
+            this.cellToVersion.remove(
+                versionToTombstone.remove(version)
+            );
+            this.versionToCell.remove(version);
+            this.prunedVersion = version;
+        }
+    }
+
+    /**
+     * The version of the most recent change, or zero if nothing has changed.
+     */
+    long version() {
+        return this.version;
+    }
+
+    private long version;
+
+    /**
+     * Returns the cells within the range that were saved or deleted after the given version.
+     */
+    Set<SpreadsheetCellReference> find(final SpreadsheetCellRangeReference range,
+                                       final long version) {
+        if (version < this.prunedVersion) {
+            throw new IllegalArgumentException("Version " + version + " older than forgotten deletes up to " + this.prunedVersion);
+        }
+
+        final Set<SpreadsheetCellReference> found = SortedSets.tree();
+
+        if (version < this.version) {
+            // only visit the changes after the version
+            for (final SpreadsheetCellReference cell : this.versionToCell.tailMap(version + 1).values()) {
+                if (range.testCell(cell)) {
+                    found.add(cell);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * The latest version of each saved or remembered deleted cell.
+     */
+    private final SortedMap<SpreadsheetCellReference, Long> cellToVersion = Maps.sorted();
+
+    /**
+     * The inverse of {@link #cellToVersion}, ordered by version.
+     */
+    private final SortedMap<Long, SpreadsheetCellReference> versionToCell = Maps.sorted();
+
+    /**
+     * The deleted cells still remembered, ordered by version.
+     */
+    private final SortedMap<Long, SpreadsheetCellReference> versionToTombstone = Maps.sorted();
+
+    private final long tombstoneAge;
+
+    /**
+     * The version of the most recent forgotten delete, finds for earlier versions fail.
+     */
+    private long prunedVersion;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "version=" + this.version + " " + this.cellToVersion;
+    }
+}
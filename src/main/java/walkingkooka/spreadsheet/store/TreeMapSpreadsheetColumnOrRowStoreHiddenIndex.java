@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.SortedMap;
+
+/**
+ * Records the hidden columns or rows of a store as runs of consecutive values, so that tests and skipping over a
+ * block of hidden columns or rows take a single lookup rather than loading each column or row.
+ */
+final class TreeMapSpreadsheetColumnOrRowStoreHiddenIndex {
+
+    static TreeMapSpreadsheetColumnOrRowStoreHiddenIndex empty() {
+        return new TreeMapSpreadsheetColumnOrRowStoreHiddenIndex();
+    }
+
+    private TreeMapSpreadsheetColumnOrRowStoreHiddenIndex() {
+        super();
+    }
+
+    /**
+     * Updates the hidden state of the given value, merging or splitting runs as necessary.
+     */
+    void set(final int value,
+             final boolean hidden) {
+        if (hidden) {
+            this.hide(value);
+        } else {
+            this.show(value);
+        }
+    }
+
+    private void hide(final int value) {
+        final SortedMap<Integer, Integer> beginToEnd = this.beginToEnd;
+
+        if (false == this.isHidden(value)) {
+            int begin = value;
+            int end = value;
+
+            // merge with a run ending immediately before
+            final SortedMap<Integer, Integer> before = beginToEnd.headMap(value);
+            if (false == before.isEmpty()) {
+                final Integer beforeBegin = before.lastKey();
+                if (beginToEnd.get(beforeBegin) == value - 1) {
+                    begin = beforeBegin;
+                }
+            }
+
+            // merge with a run beginning immediately after
+            final Integer after = beginToEnd.remove(value + 1);
+            if (null != after) {
+                end = after;
+            }
+
+            beginToEnd.put(
+                begin,
+                end
+            );
+        }
+    }
+
+    private void show(final int value) {
+        final SortedMap<Integer, Integer> beginToEnd = this.beginToEnd;
+
+        final Integer begin = this.runBegin(value);
+        if (null != begin) {
+            final int end = beginToEnd.remove(begin);
+
+            if (begin < value) {
+                beginToEnd.put(
+                    begin,
+                    value - 1
+                );
+            }
+            if (value < end) {
+                beginToEnd.put(
+                    value + 1,
+                    end
+                );
+            }
+        }
+    }
+
+    boolean isHidden(final int value) {
+        return null != this.runBegin(value);
+    }
+
+    /**
+     * Returns the value if it is not hidden, otherwise the first value that is not hidden moving in the direction of
+     * the delta, or -1 if the run of hidden values continues past the given first or last.
+     */
+    int skipHidden(final int value,
+                   final int delta,
+                   final int first,
+                   final int last) {
+        int visible = value;
+
+        final Integer begin = this.runBegin(value);
+        if (null != begin) {
+            visible = delta < 0 ?
+                begin - 1 :
+                this.beginToEnd.get(begin) + 1;
+            if (visible < first || visible > last) {
+                visible = -1;
+            }
+        }
+
+        return visible;
+    }
+
+    /**
+     * Returns the begin of the run holding the given value or null if the value is not hidden.
+     */
+    private Integer runBegin(final int value) {
+        Integer begin = null;
+
+        final SortedMap<Integer, Integer> upTo = this.beginToEnd.headMap(value + 1);
+        if (false == upTo.isEmpty()) {
+            final Integer possible = upTo.lastKey();
+            if (upTo.get(possible) >= value) {
+                begin = possible;
+            }
+        }
+
+        return begin;
+    }
+
+    /**
+     * Runs of hidden values, the begin and the inclusive end.
+     */
+    private final SortedMap<Integer, Integer> beginToEnd = Maps.sorted();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.beginToEnd.toString();
+    }
+}
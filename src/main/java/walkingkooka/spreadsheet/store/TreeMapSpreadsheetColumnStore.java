@@ -19,6 +19,7 @@
 package walkingkooka.spreadsheet.store;
 
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.value.SpreadsheetColumn;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
@@ -26,6 +27,7 @@ import walkingkooka.store.Stores;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
@@ -62,14 +64,58 @@ final class TreeMapSpreadsheetColumnStore implements SpreadsheetColumnStore {
 
     @Override
     public SpreadsheetColumn save(final SpreadsheetColumn SpreadsheetColumn) {
-        return this.store.save(SpreadsheetColumn);
+        final SpreadsheetColumn saved = this.store.save(SpreadsheetColumn);
+        this.hidden.set(
+            saved.reference()
+                .value(),
+            saved.hidden()
+        );
+        return saved;
     }
 
     @Override
     public void delete(final SpreadsheetColumnReference id) {
         this.store.delete(id);
+        this.hidden.set(
+            id.value(),
+            false
+        );
+    }
+
+    @Override
+    public boolean isHidden(final SpreadsheetColumnReference reference) {
+        return this.hidden.isHidden(
+            reference.value()
+        );
+    }
+
+    @Override
+    public Optional<SpreadsheetColumnReference> skipHidden(final SpreadsheetColumnReference reference,
+                                                           final int delta) {
+        Objects.requireNonNull(reference, "reference");
+
+        final int value = reference.value();
+        final int visible = this.hidden.skipHidden(
+            value,
+            delta,
+            SpreadsheetReferenceKind.RELATIVE.firstColumn()
+                .value(),
+            SpreadsheetReferenceKind.RELATIVE.lastColumn()
+                .value()
+        );
+
+        return -1 == visible ?
+            Optional.empty() :
+            Optional.of(
+                reference.addSaturated(visible - value)
+            );
     }
 
+    /**
+     * Hidden columns, kept in step with {@link #save(SpreadsheetColumn)} and {@link #delete(SpreadsheetColumnReference)}.
+     */
+    private final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex hidden = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+
     @Override
     public int count() {
         return this.store.count();
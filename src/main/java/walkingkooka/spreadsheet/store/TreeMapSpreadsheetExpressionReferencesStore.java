@@ -19,10 +19,10 @@ package walkingkooka.spreadsheet.store;
 
 import walkingkooka.CanBeEmpty;
 import walkingkooka.Cast;
-import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionSets;
 import walkingkooka.store.MultiValueStore;
 import walkingkooka.store.MultiValueStoreDelegator;
 import walkingkooka.store.MultiValueStores;
@@ -54,7 +54,7 @@ final class TreeMapSpreadsheetExpressionReferencesStore<T extends SpreadsheetExp
         );
     }
 
-    private final static Supplier<Set<SpreadsheetCellReference>> EMPTY_VALUES_SET_SUPPLIER = () -> SortedSets.tree(SpreadsheetSelection.IGNORES_REFERENCE_KIND_COMPARATOR);
+    private final static Supplier<Set<SpreadsheetCellReference>> EMPTY_VALUES_SET_SUPPLIER = SpreadsheetSelectionSets::cell;
 
     // addValue/removeValue make id and value relative before delegating...
 
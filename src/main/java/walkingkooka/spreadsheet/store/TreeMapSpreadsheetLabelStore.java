@@ -21,6 +21,7 @@ import walkingkooka.CanBeEmpty;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.ImmutableSet;
 import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
@@ -29,7 +30,6 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
 import walkingkooka.store.StoreWatchers;
-import walkingkooka.text.CaseSensitivity;
 
 import java.util.List;
 import java.util.Map;
@@ -77,6 +77,14 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore,
         final SpreadsheetLabelName key = mapping.label();
         final SpreadsheetLabelMapping previous = this.mappings.put(key, mapping);
         if (false == mapping.equals(previous)) {
+            this.removeLabelToLabel(previous);
+            this.addLabelToLabel(mapping);
+            this.reindex(key);
+            this.nameIndex.add(
+                key,
+                key.value()
+            );
+
             this.watchers.onValueChange(
                 Optional.ofNullable(previous),
                 Optional.of(mapping)
@@ -92,6 +100,10 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore,
 
         final SpreadsheetLabelMapping removed = this.mappings.remove(label);
         if (null != removed) {
+            this.removeLabelToLabel(removed);
+            this.reindex(label);
+            this.nameIndex.remove(label);
+
             this.watchers.onValueChange(
                 Optional.of(removed),
                 Optional.empty()
@@ -159,20 +171,20 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore,
             count
         );
 
-
-        return this.all()
-            .stream()
-            .filter(m -> text.isEmpty() ||
-                CaseSensitivity.INSENSITIVE.contains(
-                    m.label()
-                        .value(),
-                    text
-                )
-            ).skip(offset)
-            .limit(count)
+        return this.nameIndex.find(
+                text,
+                offset,
+                count
+            ).stream()
+            .map(this.mappings::get)
             .collect(ImmutableSet.collector());
     }
 
+    /**
+     * Used to find labels by name.
+     */
+    private final SpreadsheetStoreNameIndex<SpreadsheetLabelName> nameIndex = SpreadsheetStoreNameIndex.empty();
+
     @Override
     public Set<SpreadsheetCellReferenceOrRange> loadCellOrCellRanges(final SpreadsheetLabelName label) {
         Objects.requireNonNull(label, "label");
@@ -195,14 +207,106 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore,
             count
         );
 
-        return TreeMapSpreadsheetLabelStoreFindLabelsWithReferencesSpreadsheetSelectionVisitor.gather(
-            this.mappings,
-            reference,
-            offset,
-            count
+        final Optional<SpreadsheetCellReferenceOrRange> cellOrRange = reference.isLabelName() ?
+            this.resolveLabel(reference.toLabelName()) :
+            Optional.of(
+                reference.toCellOrCellRange()
+            );
+
+        return Sets.readOnly(
+            cellOrRange.map(
+                r -> this.index.find(
+                        r.toCellRange()
+                    ).stream()
+                    .skip(offset)
+                    .limit(count)
+                    .map(this.mappings::get)
+                    .collect(Collectors.toCollection(Sets::ordered))
+            ).orElse(Sets.empty())
         );
     }
 
+    // index............................................................................................................
+
+    /**
+     * Records a mapping to another label, so labels that resolve through the target are re-indexed when it changes.
+     */
+    private void addLabelToLabel(final SpreadsheetLabelMapping mapping) {
+        final SpreadsheetExpressionReference reference = mapping.reference();
+        if (reference.isLabelName()) {
+            final SpreadsheetLabelName target = reference.toLabelName();
+
+            Set<SpreadsheetLabelName> labels = this.targetToLabels.get(target);
+            if (null == labels) {
+                labels = SortedSets.tree();
+                this.targetToLabels.put(
+                    target,
+                    labels
+                );
+            }
+            labels.add(mapping.label());
+        }
+    }
+
+    private void removeLabelToLabel(final SpreadsheetLabelMapping mapping) {
+        if (null != mapping) {
+            final SpreadsheetExpressionReference reference = mapping.reference();
+            if (reference.isLabelName()) {
+                final SpreadsheetLabelName target = reference.toLabelName();
+
+                final Set<SpreadsheetLabelName> labels = this.targetToLabels.get(target);
+                labels.remove(mapping.label());
+                if (labels.isEmpty()) {
+                    this.targetToLabels.remove(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-indexes the given label and every label that resolves through it. The index is only ever updated by writes,
+     * so readers such as {@link #findLabelsWithReference(SpreadsheetExpressionReference, int, int)} never modify this
+     * store.
+     */
+    private void reindex(final SpreadsheetLabelName label) {
+        final TreeMapSpreadsheetLabelStoreReferenceIndex index = this.index;
+
+        final Set<SpreadsheetLabelName> visited = SortedSets.tree();
+        final List<SpreadsheetLabelName> pending = Lists.array();
+        pending.add(label);
+
+        while (false == pending.isEmpty()) {
+            final SpreadsheetLabelName next = pending.remove(pending.size() - 1);
+            if (visited.add(next)) {
+                final Optional<SpreadsheetCellReferenceOrRange> cellOrRange = this.resolveLabel(next);
+                if (cellOrRange.isPresent()) {
+                    index.add(
+                        next,
+                        cellOrRange.get()
+                            .toCellRange()
+                    );
+                } else {
+                    index.remove(next);
+                }
+
+                final Set<SpreadsheetLabelName> labels = this.targetToLabels.get(next);
+                if (null != labels) {
+                    pending.addAll(labels);
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the resolved reference of every label.
+     */
+    private final TreeMapSpreadsheetLabelStoreReferenceIndex index = TreeMapSpreadsheetLabelStoreReferenceIndex.empty();
+
+    /**
+     * For each label the labels with a mapping to it.
+     */
+    private final Map<SpreadsheetLabelName, Set<SpreadsheetLabelName>> targetToLabels = SpreadsheetSelectionMaps.label();
+
     /**
      * All mappings present in this spreadsheet
      */
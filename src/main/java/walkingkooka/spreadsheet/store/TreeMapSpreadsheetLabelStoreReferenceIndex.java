@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * An index of the resolved {@link SpreadsheetCellRangeReference} for each {@link SpreadsheetLabelName}, grouped by the
+ * top row of each range. Finding labels that overlap a range only tests labels whose top row falls within the rows of
+ * the range, extended upwards by the tallest range currently indexed, rather than every label.
+ */
+final class TreeMapSpreadsheetLabelStoreReferenceIndex {
+
+    static TreeMapSpreadsheetLabelStoreReferenceIndex empty() {
+        return new TreeMapSpreadsheetLabelStoreReferenceIndex();
+    }
+
+    private TreeMapSpreadsheetLabelStoreReferenceIndex() {
+        super();
+    }
+
+    /**
+     * Adds or replaces the range for the given {@link SpreadsheetLabelName}.
+     */
+    void add(final SpreadsheetLabelName label,
+             final SpreadsheetCellRangeReference range) {
+        this.remove(label);
+
+        this.labelToRange.put(
+            label,
+            range
+        );
+
+        final int top = top(range);
+        Set<SpreadsheetLabelName> labels = this.topRowToLabels.get(top);
+        if (null == labels) {
+            labels = SortedSets.tree();
+            this.topRowToLabels.put(
+                top,
+                labels
+            );
+        }
+        labels.add(label);
+
+        final int height = range.height();
+        final Integer count = this.heightToCount.get(height);
+        this.heightToCount.put(
+            height,
+            null == count ?
+                1 :
+                count + 1
+        );
+    }
+
+    void remove(final SpreadsheetLabelName label) {
+        final SpreadsheetCellRangeReference range = this.labelToRange.remove(label);
+        if (null != range) {
+            final int top = top(range);
+
+            final Set<SpreadsheetLabelName> labels = this.topRowToLabels.get(top);
+            labels.remove(label);
+            if (labels.isEmpty()) {
+                this.topRowToLabels.remove(top);
+            }
+
+            final int height = range.height();
+            final int count = this.heightToCount.get(height);
+            if (1 == count) {
+                this.heightToCount.remove(height);
+            } else {
+                this.heightToCount.put(
+                    height,
+                    count - 1
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns all {@link SpreadsheetLabelName} with a range that overlaps the given range, sorted by label.
+     */
+    SortedSet<SpreadsheetLabelName> find(final SpreadsheetCellRangeReference range) {
+        final SortedSet<SpreadsheetLabelName> found = SortedSets.tree();
+
+        final int top = top(range);
+        final int bottom = range.end()
+            .row()
+            .value();
+        final int maxHeight = this.maxHeight();
+
+        for (final Set<SpreadsheetLabelName> labels : this.topRowToLabels.subMap(
+            Math.max(
+                0,
+                top - maxHeight + 1
+            ),
+            bottom + 1
+        ).values()) {
+            for (final SpreadsheetLabelName label : labels) {
+                if (this.labelToRange.get(label).testCellRange(range)) {
+                    found.add(label);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * The height of the tallest indexed range.
+     */
+    // @VisibleForTesting
+    int maxHeight() {
+        final SortedMap<Integer, Integer> heightToCount = this.heightToCount;
+        return heightToCount.isEmpty() ?
+            0 :
+            heightToCount.lastKey();
+    }
+
+    private static int top(final SpreadsheetCellRangeReference range) {
+        return range.begin()
+            .row()
+            .value();
+    }
+
+    private final Map<SpreadsheetLabelName, SpreadsheetCellRangeReference> labelToRange = SpreadsheetSelectionMaps.label();
+
+    private final SortedMap<Integer, Set<SpreadsheetLabelName>> topRowToLabels = Maps.sorted();
+
+    /**
+     * The number of indexed ranges of each height, the tallest is the last key. Ranges beginning this many rows above
+     * a query may still overlap.
+     */
+    private final SortedMap<Integer, Integer> heightToCount = Maps.sorted();
+
+    @Override
+    public String toString() {
+        return this.labelToRange.toString();
+    }
+}
@@ -19,6 +19,7 @@
 package walkingkooka.spreadsheet.store;
 
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.value.SpreadsheetRow;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
@@ -26,6 +27,7 @@ import walkingkooka.store.Stores;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
@@ -62,14 +64,58 @@ final class TreeMapSpreadsheetRowStore implements SpreadsheetRowStore {
 
     @Override
     public SpreadsheetRow save(final SpreadsheetRow SpreadsheetRow) {
-        return this.store.save(SpreadsheetRow);
+        final SpreadsheetRow saved = this.store.save(SpreadsheetRow);
+        this.hidden.set(
+            saved.reference()
+                .value(),
+            saved.hidden()
+        );
+        return saved;
     }
 
     @Override
     public void delete(final SpreadsheetRowReference id) {
         this.store.delete(id);
+        this.hidden.set(
+            id.value(),
+            false
+        );
+    }
+
+    @Override
+    public boolean isHidden(final SpreadsheetRowReference reference) {
+        return this.hidden.isHidden(
+            reference.value()
+        );
+    }
+
+    @Override
+    public Optional<SpreadsheetRowReference> skipHidden(final SpreadsheetRowReference reference,
+                                                        final int delta) {
+        Objects.requireNonNull(reference, "reference");
+
+        final int value = reference.value();
+        final int visible = this.hidden.skipHidden(
+            value,
+            delta,
+            SpreadsheetReferenceKind.RELATIVE.firstRow()
+                .value(),
+            SpreadsheetReferenceKind.RELATIVE.lastRow()
+                .value()
+        );
+
+        return -1 == visible ?
+            Optional.empty() :
+            Optional.of(
+                reference.addSaturated(visible - value)
+            );
     }
 
+    /**
+     * Hidden rows, kept in step with {@link #save(SpreadsheetRow)} and {@link #delete(SpreadsheetRowReference)}.
+     */
+    private final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex hidden = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+
     @Override
     public int count() {
         return this.store.count();
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.datetime.HasNow;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallUnmarshallContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SpreadsheetStoreRepositoryCache} that holds at most a maximum number of unpinned
+ * {@link SpreadsheetStoreRepository} in memory, evicting the least recently used. An evicted repository is written as
+ * a snapshot of journal entries and given to a {@link BiConsumer}, which may store it anywhere. The next use fetches
+ * the snapshot and replays it into a new repository from the factory, which also restores the references within cell
+ * formulas.
+ * <br>
+ * A repository is pinned for the duration of each {@link #use(SpreadsheetId, Function)} and is never evicted while
+ * pinned, so more than the maximum may be resident while many spreadsheets are in use at the same time. Only the
+ * bookkeeping is guarded by the given {@link Lock}. Loading, snapshotting, the {@link BiConsumer} and replaying
+ * synchronize on a {@link EvictingSpreadsheetStoreRepositoryCacheEntry} for each spreadsheet, so they only block uses
+ * of the same spreadsheet, which wait for a snapshot to be given to the {@link BiConsumer} before reloading. A
+ * repository whose snapshot fails is kept resident and evicted by a later use. The
+ * {@link walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore} is usually shared by every spreadsheet and is
+ * never included in a snapshot.
+ */
+final class EvictingSpreadsheetStoreRepositoryCache implements SpreadsheetStoreRepositoryCache {
+
+    static EvictingSpreadsheetStoreRepositoryCache with(final Function<SpreadsheetId, SpreadsheetStoreRepository> factory,
+                                                        final int maxResident,
+                                                        final BiConsumer<SpreadsheetId, List<JsonNode>> evicted,
+                                                        final Function<SpreadsheetId, Optional<List<JsonNode>>> snapshots,
+                                                        final JsonNodeMarshallUnmarshallContext context,
+                                                        final HasNow now,
+                                                        final Lock lock) {
+        Objects.requireNonNull(factory, "factory");
+        if (maxResident < 1) {
+            throw new IllegalArgumentException("Invalid maxResident " + maxResident + " < 1");
+        }
+        Objects.requireNonNull(evicted, "evicted");
+        Objects.requireNonNull(snapshots, "snapshots");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(now, "now");
+        Objects.requireNonNull(lock, "lock");
+
+        return new EvictingSpreadsheetStoreRepositoryCache(
+            factory,
+            maxResident,
+            evicted,
+            snapshots,
+            context,
+            now,
+            lock
+        );
+    }
+
+    private EvictingSpreadsheetStoreRepositoryCache(final Function<SpreadsheetId, SpreadsheetStoreRepository> factory,
+                                                    final int maxResident,
+                                                    final BiConsumer<SpreadsheetId, List<JsonNode>> evicted,
+                                                    final Function<SpreadsheetId, Optional<List<JsonNode>>> snapshots,
+                                                    final JsonNodeMarshallUnmarshallContext context,
+                                                    final HasNow now,
+                                                    final Lock lock) {
+        super();
+        this.factory = factory;
+        this.maxResident = maxResident;
+        this.evicted = evicted;
+        this.snapshots = snapshots;
+        this.context = context;
+        this.now = now;
+        this.lock = lock;
+    }
+
+    // SpreadsheetStoreRepositoryCache..................................................................................
+
+    @Override
+    public <T> T use(final SpreadsheetId id,
+                     final Function<SpreadsheetStoreRepository, T> operation) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(operation, "operation");
+
+        final EvictingSpreadsheetStoreRepositoryCacheEntry entry = this.locked(
+            () -> this.pin(id)
+        );
+        try {
+            return operation.apply(
+                this.load(entry)
+            );
+        } finally {
+            this.evict(
+                this.locked(
+                    () -> this.unpin(entry)
+                )
+            );
+        }
+    }
+
+    /**
+     * Returns the {@link EvictingSpreadsheetStoreRepositoryCacheEntry} for the given {@link SpreadsheetId}, taking it
+     * back if it is being evicted, marking it as the most recently used and pinning it.
+     */
+    private EvictingSpreadsheetStoreRepositoryCacheEntry pin(final SpreadsheetId id) {
+        final Map<SpreadsheetId, EvictingSpreadsheetStoreRepositoryCacheEntry> resident = this.resident;
+
+        EvictingSpreadsheetStoreRepositoryCacheEntry entry = resident.remove(id);
+        if (null == entry) {
+            entry = this.evicting.remove(id);
+            if (null == entry) {
+                entry = EvictingSpreadsheetStoreRepositoryCacheEntry.with(id);
+            }
+        }
+        resident.put(
+            id,
+            entry
+        );
+
+        entry.pins++;
+
+        return entry;
+    }
+
+    /**
+     * Unpins the repository and returns the least recently used unpinned repositories over the maximum, which are moved
+     * from {@link #resident} to {@link #evicting}. Evicting happens after rather than before an operation so a failed
+     * eviction never leaves a repository pinned.
+     */
+    private List<EvictingSpreadsheetStoreRepositoryCacheEntry> unpin(final EvictingSpreadsheetStoreRepositoryCacheEntry entry) {
+        entry.pins--;
+
+        final Map<SpreadsheetId, EvictingSpreadsheetStoreRepositoryCacheEntry> resident = this.resident;
+        final List<EvictingSpreadsheetStoreRepositoryCacheEntry> evict = Lists.array();
+
+        int count = resident.size();
+        if (count > this.maxResident) {
+            for (final EvictingSpreadsheetStoreRepositoryCacheEntry candidate : resident.values()) {
+                if (0 == candidate.pins) {
+                    evict.add(candidate);
+
+                    count--;
+                    if (count <= this.maxResident) {
+                        break;
+                    }
+                }
+            }
+
+            for (final EvictingSpreadsheetStoreRepositoryCacheEntry evicting : evict) {
+                resident.remove(evicting.id);
+                this.evicting.put(
+                    evicting.id,
+                    evicting
+                );
+            }
+        }
+
+        return evict;
+    }
+
+    /**
+     * Returns the {@link SpreadsheetStoreRepository} of the entry, creating and replaying any snapshot if it was not
+     * loaded or was evicted. Other uses of the same spreadsheet wait for the load or an eviction to finish.
+     */
+    private SpreadsheetStoreRepository load(final EvictingSpreadsheetStoreRepositoryCacheEntry entry) {
+        synchronized (entry) {
+            SpreadsheetStoreRepository repository = entry.repository;
+
+            if (null == repository) {
+                final SpreadsheetId id = entry.id;
+                final LocalDateTime start = this.now.now();
+
+                repository = this.factory.apply(id);
+
+                final List<JsonNode> snapshot = this.snapshots.apply(id)
+                    .orElse(null);
+                if (null != snapshot) {
+                    JournalSpreadsheetStoreRepository.replay(
+                        snapshot,
+                        repository,
+                        this.context
+                    );
+
+                    final Duration duration = Duration.between(
+                        start,
+                        this.now.now()
+                    );
+                    this.locked(
+                        () -> {
+                            this.reloadCount++;
+                            this.reloadDuration = this.reloadDuration.plus(duration);
+                            return null;
+                        }
+                    );
+                }
+
+                entry.repository = repository;
+            }
+
+            return repository;
+        }
+    }
+
+    /**
+     * Snapshots each entry and gives the snapshot to {@link #evicted}, and only then forgets the repository, unless it
+     * was taken back by another use while evicting. Entries whose snapshot fails are returned to {@link #resident}, so
+     * a failure is never thrown from an unrelated {@link #use(SpreadsheetId, Function)}.
+     */
+    private void evict(final List<EvictingSpreadsheetStoreRepositoryCacheEntry> entries) {
+        for (final EvictingSpreadsheetStoreRepositoryCacheEntry entry : entries) {
+            synchronized (entry) {
+                final boolean snapshot = this.snapshot(entry);
+                final SpreadsheetId id = entry.id;
+
+                final boolean forget = this.locked(
+                    () -> {
+                        boolean removed = false;
+
+                        // the entry is no longer evicting if it was taken back by another use
+                        if (entry == this.evicting.get(id)) {
+                            this.evicting.remove(id);
+
+                            if (snapshot) {
+                                this.evictionCount++;
+                                removed = true;
+                            } else {
+                                this.resident.put(
+                                    id,
+                                    entry
+                                );
+                            }
+                        }
+
+                        return removed;
+                    }
+                );
+
+                if (forget) {
+                    entry.repository = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives a snapshot of the repository to {@link #evicted}, returning false if that failed. A repository that failed
+     * to load has nothing to snapshot.
+     */
+    private boolean snapshot(final EvictingSpreadsheetStoreRepositoryCacheEntry entry) {
+        boolean snapshot;
+
+        try {
+            final SpreadsheetStoreRepository repository = entry.repository;
+
+            if (null != repository) {
+                final List<JsonNode> nodes = Lists.array();
+                for (final JournalSpreadsheetStoreRepositoryStore store : JournalSpreadsheetStoreRepositoryStore.values()) {
+                    if (JournalSpreadsheetStoreRepositoryStore.METADATAS != store) {
+                        JournalSpreadsheetStoreRepository.snapshotStore(
+                            store,
+                            repository,
+                            nodes::add,
+                            this.context
+                        );
+                    }
+                }
+
+                this.evicted.accept(
+                    entry.id,
+                    nodes
+                );
+            }
+            snapshot = true;
+        } catch (final RuntimeException failed) {
+            snapshot = false;
+        }
+
+        return snapshot;
+    }
+
+    private <T> T locked(final Supplier<T> supplier) {
+        final Lock lock = this.lock;
+
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates an empty {@link SpreadsheetStoreRepository} for a {@link SpreadsheetId}.
+     */
+    private final Function<SpreadsheetId, SpreadsheetStoreRepository> factory;
+
+    private final int maxResident;
+
+    /**
+     * Receives the snapshot of each evicted repository.
+     */
+    private final BiConsumer<SpreadsheetId, List<JsonNode>> evicted;
+
+    /**
+     * Returns the snapshot of an earlier evicted repository if one exists.
+     */
+    private final Function<SpreadsheetId, Optional<List<JsonNode>>> snapshots;
+
+    private final JsonNodeMarshallUnmarshallContext context;
+
+    private final HasNow now;
+
+    /**
+     * Guards {@link #resident}, {@link #evicting}, the pins of each entry and the metrics.
+     */
+    private final Lock lock;
+
+    /**
+     * The resident repositories, with the least recently used first.
+     */
+    private final Map<SpreadsheetId, EvictingSpreadsheetStoreRepositoryCacheEntry> resident = Maps.ordered();
+
+    /**
+     * Repositories being snapshotted and given to {@link #evicted}, which are taken back by a use of the same spreadsheet.
+     */
+    private final Map<SpreadsheetId, EvictingSpreadsheetStoreRepositoryCacheEntry> evicting = Maps.sorted();
+
+    // metrics..........................................................................................................
+
+    @Override
+    public int residentCount() {
+        return this.locked(
+            this.resident::size
+        );
+    }
+
+    @Override
+    public long evictionCount() {
+        return this.locked(
+            () -> this.evictionCount
+        );
+    }
+
+    private long evictionCount;
+
+    @Override
+    public long reloadCount() {
+        return this.locked(
+            () -> this.reloadCount
+        );
+    }
+
+    private long reloadCount;
+
+    @Override
+    public Duration reloadDuration() {
+        return this.locked(
+            () -> this.reloadDuration
+        );
+    }
+
+    private Duration reloadDuration = Duration.ZERO;
+
+    // Object...........................................................................................................
+
+    private Set<SpreadsheetId> pinned() {
+        final Set<SpreadsheetId> pinned = SortedSets.tree();
+
+        for (final EvictingSpreadsheetStoreRepositoryCacheEntry entry : this.resident.values()) {
+            if (entry.pins > 0) {
+                pinned.add(entry.id);
+            }
+        }
+
+        return pinned;
+    }
+
+    @Override
+    public String toString() {
+        return this.locked(
+            () -> "resident=" + this.resident.keySet() +
+                " pinned=" + this.pinned() +
+                " evictions=" + this.evictionCount +
+                " reloads=" + this.reloadCount
+        );
+    }
+}
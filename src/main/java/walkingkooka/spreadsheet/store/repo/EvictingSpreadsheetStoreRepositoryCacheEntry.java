@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+
+/**
+ * The state of a single spreadsheet within a {@link EvictingSpreadsheetStoreRepositoryCache}. Loading and evicting
+ * synchronize on the entry, so they only block other uses of the same spreadsheet, while the pins are guarded by the
+ * cache lock.
+ */
+final class EvictingSpreadsheetStoreRepositoryCacheEntry {
+
+    static EvictingSpreadsheetStoreRepositoryCacheEntry with(final SpreadsheetId id) {
+        return new EvictingSpreadsheetStoreRepositoryCacheEntry(id);
+    }
+
+    private EvictingSpreadsheetStoreRepositoryCacheEntry(final SpreadsheetId id) {
+        super();
+        this.id = id;
+    }
+
+    final SpreadsheetId id;
+
+    /**
+     * The loaded repository, which is null before it is loaded and after it was evicted. Only accessed while
+     * synchronized on this entry.
+     */
+    SpreadsheetStoreRepository repository;
+
+    /**
+     * The number of uses of the repository, guarded by the cache lock.
+     */
+    int pins;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.id.toString();
+    }
+}
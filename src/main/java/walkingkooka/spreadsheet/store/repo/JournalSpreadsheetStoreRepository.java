@@ -0,0 +1,347 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.store.SpreadsheetCellReferencesStore;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
+import walkingkooka.spreadsheet.store.SpreadsheetLabelReferencesStore;
+import walkingkooka.spreadsheet.store.SpreadsheetLabelStore;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+import walkingkooka.spreadsheet.validation.form.store.SpreadsheetFormStore;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.store.Store;
+import walkingkooka.store.StoreWatcher;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A {@link SpreadsheetStoreRepository} that appends a JSON entry to a journal for every save or delete of a cell,
+ * column, form, label, metadata or row, so a durable copy may be kept by appending entries to a log. The wrapped
+ * {@link SpreadsheetStoreRepository} continues to answer all reads.
+ * <br>
+ * A checkpoint may be written with {@link #snapshot(SpreadsheetStoreRepository, Consumer, JsonNodeMarshallContext)},
+ * after which earlier entries may be discarded. Recovery replays the snapshot followed by any later entries into an
+ * empty repository using {@link #replay(Iterable, SpreadsheetStoreRepository, JsonNodeUnmarshallContext)}, before it
+ * is wrapped again.
+ */
+final class JournalSpreadsheetStoreRepository implements SpreadsheetStoreRepository {
+
+    static JournalSpreadsheetStoreRepository with(final SpreadsheetStoreRepository repository,
+                                                  final Consumer<JsonNode> journal,
+                                                  final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(journal, "journal");
+        Objects.requireNonNull(context, "context");
+
+        return new JournalSpreadsheetStoreRepository(
+            repository,
+            journal,
+            context
+        );
+    }
+
+    private JournalSpreadsheetStoreRepository(final SpreadsheetStoreRepository repository,
+                                              final Consumer<JsonNode> journal,
+                                              final JsonNodeMarshallContext context) {
+        super();
+        this.repository = repository;
+
+        for (final JournalSpreadsheetStoreRepositoryStore store : JournalSpreadsheetStoreRepositoryStore.values()) {
+            store.objectStore(repository)
+                .addStoreWatcher(
+                    new StoreWatcher<>() {
+                        @Override
+                        public void onValueChange(final Optional<Object> previous,
+                                                  final Optional<Object> next) {
+                            journal.accept(
+                                next.isPresent() ?
+                                    save(
+                                        store,
+                                        next.get(),
+                                        context
+                                    ) :
+                                    delete(
+                                        store,
+                                        previous.get()
+                                    )
+                            );
+                        }
+                    }
+                );
+        }
+    }
+
+    /**
+     * Appends a save entry to the journal for every value in every journalled store, producing a compact copy which
+     * may replace all earlier entries.
+     */
+    static void snapshot(final SpreadsheetStoreRepository repository,
+                         final Consumer<JsonNode> journal,
+                         final JsonNodeMarshallContext context) {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(journal, "journal");
+        Objects.requireNonNull(context, "context");
+
+        for (final JournalSpreadsheetStoreRepositoryStore store : JournalSpreadsheetStoreRepositoryStore.values()) {
+            snapshotStore(
+                store,
+                repository,
+                journal,
+                context
+            );
+        }
+    }
+
+    /**
+     * Appends a save entry to the journal for every value in the given journalled store.
+     */
+    static void snapshotStore(final JournalSpreadsheetStoreRepositoryStore store,
+                              final SpreadsheetStoreRepository repository,
+                              final Consumer<JsonNode> journal,
+                              final JsonNodeMarshallContext context) {
+        final Store<Object, Object> objectStore = store.objectStore(repository);
+
+        for (final Object value : objectStore.values(0, objectStore.count())) {
+            journal.accept(
+                save(
+                    store,
+                    value,
+                    context
+                )
+            );
+        }
+    }
+
+    /**
+     * Saves or deletes the value of each entry in order into the given {@link SpreadsheetStoreRepository}, then
+     * rebuilds the references within the formula of each replayed cell, which are not journalled.
+     */
+    static void replay(final Iterable<JsonNode> entries,
+                       final SpreadsheetStoreRepository repository,
+                       final JsonNodeUnmarshallContext context) {
+        Objects.requireNonNull(entries, "entries");
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(context, "context");
+
+        final Set<SpreadsheetCellReference> cells = SortedSets.tree(SpreadsheetSelection.IGNORES_REFERENCE_KIND_COMPARATOR);
+
+        for (final JsonNode entry : entries) {
+            final Object id = replay0(
+                entry,
+                repository,
+                context
+            );
+            if (id instanceof SpreadsheetCellReference) {
+                cells.add((SpreadsheetCellReference) id);
+            }
+        }
+
+        final SpreadsheetCellRangeStore rangeToCells = repository.rangeToCells();
+
+        for (final SpreadsheetCellReference cell : cells) {
+            repository.cellReferences()
+                .removeByValue(cell);
+            repository.labelReferences()
+                .removeByValue(cell);
+            for (final SpreadsheetCellRangeReference cellRange : rangeToCells.findCellRangesWithValue(cell)) {
+                rangeToCells.removeValue(
+                    cellRange,
+                    cell
+                );
+            }
+
+            final SpreadsheetCell spreadsheetCell = repository.cells()
+                .load(cell)
+                .orElse(null);
+            if (null != spreadsheetCell) {
+                SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor.addFormulaReferences(
+                    spreadsheetCell,
+                    repository
+                );
+            }
+        }
+    }
+
+    /**
+     * Saves or deletes the value of a single entry, returning the id of the saved or deleted value.
+     */
+    private static Object replay0(final JsonNode entry,
+                                  final SpreadsheetStoreRepository repository,
+                                  final JsonNodeUnmarshallContext context) {
+        JournalSpreadsheetStoreRepositoryStore store = null;
+        JsonNode save = null;
+        String delete = null;
+
+        for (final JsonNode child : entry.objectOrFail().children()) {
+            final JsonPropertyName name = child.name();
+            switch (name.value()) {
+                case STORE_PROPERTY_STRING:
+                    store = JournalSpreadsheetStoreRepositoryStore.fromJsonName(child.stringOrFail());
+                    break;
+                case SAVE_PROPERTY_STRING:
+                    save = child;
+                    break;
+                case DELETE_PROPERTY_STRING:
+                    delete = child.stringOrFail();
+                    break;
+                default:
+                    JsonNodeUnmarshallContext.unknownPropertyPresent(
+                        name,
+                        entry
+                    );
+                    break;
+            }
+        }
+
+        if (null == store) {
+            JsonNodeUnmarshallContext.missingProperty(
+                STORE_PROPERTY,
+                entry
+            );
+        }
+
+        final Store<Object, Object> objectStore = store.objectStore(repository);
+        final Object id;
+        if (null != save) {
+            id = store.id(
+                objectStore.save(
+                    context.unmarshall(
+                        save,
+                        store.valueType()
+                    )
+                )
+            );
+        } else {
+            if (null == delete) {
+                JsonNodeUnmarshallContext.missingProperty(
+                    DELETE_PROPERTY,
+                    entry
+                );
+            }
+            id = store.parseId(delete);
+            objectStore.delete(id);
+        }
+
+        return id;
+    }
+
+    private static JsonNode save(final JournalSpreadsheetStoreRepositoryStore store,
+                                 final Object value,
+                                 final JsonNodeMarshallContext context) {
+        return JsonNode.object()
+            .set(
+                STORE_PROPERTY,
+                store.jsonName
+            ).set(
+                SAVE_PROPERTY,
+                context.marshall(value)
+            );
+    }
+
+    private static JsonNode delete(final JournalSpreadsheetStoreRepositoryStore store,
+                                   final Object value) {
+        return JsonNode.object()
+            .set(
+                STORE_PROPERTY,
+                store.jsonName
+            ).set(
+                DELETE_PROPERTY,
+                store.id(value)
+                    .toString()
+            );
+    }
+
+    private final static String STORE_PROPERTY_STRING = "store";
+    private final static String SAVE_PROPERTY_STRING = "save";
+    private final static String DELETE_PROPERTY_STRING = "delete";
+
+    // @VisibleForTesting
+
+    final static JsonPropertyName STORE_PROPERTY = JsonPropertyName.with(STORE_PROPERTY_STRING);
+    final static JsonPropertyName SAVE_PROPERTY = JsonPropertyName.with(SAVE_PROPERTY_STRING);
+    final static JsonPropertyName DELETE_PROPERTY = JsonPropertyName.with(DELETE_PROPERTY_STRING);
+
+    // SpreadsheetStoreRepository.......................................................................................
+
+    @Override
+    public SpreadsheetCellStore cells() {
+        return this.repository.cells();
+    }
+
+    @Override
+    public SpreadsheetCellReferencesStore cellReferences() {
+        return this.repository.cellReferences();
+    }
+
+    @Override
+    public SpreadsheetColumnStore columns() {
+        return this.repository.columns();
+    }
+
+    @Override
+    public SpreadsheetFormStore forms() {
+        return this.repository.forms();
+    }
+
+    @Override
+    public SpreadsheetLabelStore labels() {
+        return this.repository.labels();
+    }
+
+    @Override
+    public SpreadsheetLabelReferencesStore labelReferences() {
+        return this.repository.labelReferences();
+    }
+
+    @Override
+    public SpreadsheetMetadataStore metadatas() {
+        return this.repository.metadatas();
+    }
+
+    @Override
+    public SpreadsheetCellRangeStore rangeToCells() {
+        return this.repository.rangeToCells();
+    }
+
+    @Override
+    public SpreadsheetRowStore rows() {
+        return this.repository.rows();
+    }
+
+    // @VisibleForTesting
+    final SpreadsheetStoreRepository repository;
+
+    @Override
+    public String toString() {
+        return this.repository.toString();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.Cast;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.validation.form.SpreadsheetForms;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetColumn;
+import walkingkooka.spreadsheet.value.SpreadsheetRow;
+import walkingkooka.store.Store;
+import walkingkooka.text.CaseKind;
+import walkingkooka.validation.form.Form;
+import walkingkooka.validation.form.FormName;
+
+/**
+ * The {@link Store stores} of a {@link SpreadsheetStoreRepository} that are journalled. The remaining stores hold
+ * references derived from cell formulas and labels and are not journalled.
+ */
+enum JournalSpreadsheetStoreRepositoryStore {
+
+    CELLS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.cells();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((SpreadsheetCell) value).reference();
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return SpreadsheetSelection.parseCell(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetCell.class;
+        }
+    },
+
+    COLUMNS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.columns();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((SpreadsheetColumn) value).reference();
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return SpreadsheetSelection.parseColumn(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetColumn.class;
+        }
+    },
+
+    FORMS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.forms();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((Form<?>) value).name();
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return FormName.with(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetForms.FORM_CLASS;
+        }
+    },
+
+    LABELS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.labels();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((SpreadsheetLabelMapping) value).label();
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return SpreadsheetSelection.labelName(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetLabelMapping.class;
+        }
+    },
+
+    METADATAS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.metadatas();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((SpreadsheetMetadata) value).getOrFail(SpreadsheetMetadataPropertyName.SPREADSHEET_ID);
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return SpreadsheetId.parse(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetMetadata.class;
+        }
+    },
+
+    ROWS {
+        @Override
+        Store<?, ?> store(final SpreadsheetStoreRepository repository) {
+            return repository.rows();
+        }
+
+        @Override
+        Object id(final Object value) {
+            return ((SpreadsheetRow) value).reference();
+        }
+
+        @Override
+        Object parseId(final String id) {
+            return SpreadsheetSelection.parseRow(id);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return SpreadsheetRow.class;
+        }
+    };
+
+    JournalSpreadsheetStoreRepositoryStore() {
+        this.jsonName = CaseKind.kebabEnumName(this);
+    }
+
+    abstract Store<?, ?> store(final SpreadsheetStoreRepository repository);
+
+    /**
+     * Helper that returns the {@link Store} with generics relaxed so values and ids may be saved or deleted.
+     */
+    final Store<Object, Object> objectStore(final SpreadsheetStoreRepository repository) {
+        return Cast.to(
+            this.store(repository)
+        );
+    }
+
+    /**
+     * Returns the id of the given value, whose {@link Object#toString()} may be parsed by {@link #parseId(String)}.
+     */
+    abstract Object id(final Object value);
+
+    abstract Object parseId(final String id);
+
+    /**
+     * The type used to unmarshall a saved value.
+     */
+    abstract Class<?> valueType();
+
+    /**
+     * The name of this store within a journal entry.
+     */
+    final String jsonName;
+
+    static JournalSpreadsheetStoreRepositoryStore fromJsonName(final String name) {
+        for (final JournalSpreadsheetStoreRepositoryStore store : values()) {
+            if (store.jsonName.equals(name)) {
+                return store;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown store " + name);
+    }
+}
@@ -17,6 +17,7 @@
 
 package walkingkooka.spreadsheet.store.repo;
 
+import walkingkooka.datetime.HasNow;
 import walkingkooka.locale.LocaleContext;
 import walkingkooka.plugin.ProviderContext;
 import walkingkooka.reflect.PublicStaticHelper;
@@ -39,12 +40,46 @@ import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
 import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
 import walkingkooka.spreadsheet.validation.form.store.SpreadsheetFormStore;
 import walkingkooka.spreadsheet.validation.form.store.SpreadsheetFormStores;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Contains many factory methods for a variety of {@link SpreadsheetCellStore} implementations.
  */
 public final class SpreadsheetStoreRepositories implements PublicStaticHelper {
 
+    /**
+     * {@see EvictingSpreadsheetStoreRepositoryCache}
+     */
+    public static SpreadsheetStoreRepositoryCache evicting(final Function<SpreadsheetId, SpreadsheetStoreRepository> factory,
+                                                           final int maxResident,
+                                                           final BiConsumer<SpreadsheetId, List<JsonNode>> evicted,
+                                                           final Function<SpreadsheetId, Optional<List<JsonNode>>> snapshots,
+                                                           final JsonNodeMarshallUnmarshallContext context,
+                                                           final HasNow now,
+                                                           final Lock lock) {
+        return EvictingSpreadsheetStoreRepositoryCache.with(
+            factory,
+            maxResident,
+            evicted,
+            snapshots,
+            context,
+            now,
+            lock
+        );
+    }
+
     /**
      * {@see FakeSpreadsheetStoreRepository}
      */
@@ -52,6 +87,20 @@ public final class SpreadsheetStoreRepositories implements PublicStaticHelper {
         return new FakeSpreadsheetStoreRepository();
     }
 
+    /**
+     * {@see SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor}
+     */
+    public static void addFormulaReferences(final SpreadsheetCell cell,
+                                            final SpreadsheetStoreRepository repository) {
+        Objects.requireNonNull(cell, "cell");
+        Objects.requireNonNull(repository, "repository");
+
+        SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor.addFormulaReferences(
+            cell,
+            repository
+        );
+    }
+
     /**
      * {@see BasicSpreadsheetStoreRepository}
      */
@@ -77,6 +126,45 @@ public final class SpreadsheetStoreRepositories implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see JournalSpreadsheetStoreRepository}
+     */
+    public static SpreadsheetStoreRepository journal(final SpreadsheetStoreRepository repository,
+                                                     final Consumer<JsonNode> journal,
+                                                     final JsonNodeMarshallContext context) {
+        return JournalSpreadsheetStoreRepository.with(
+            repository,
+            journal,
+            context
+        );
+    }
+
+    /**
+     * {@see JournalSpreadsheetStoreRepository#replay(Iterable, SpreadsheetStoreRepository, JsonNodeUnmarshallContext)}
+     */
+    public static void journalReplay(final Iterable<JsonNode> entries,
+                                     final SpreadsheetStoreRepository repository,
+                                     final JsonNodeUnmarshallContext context) {
+        JournalSpreadsheetStoreRepository.replay(
+            entries,
+            repository,
+            context
+        );
+    }
+
+    /**
+     * {@see JournalSpreadsheetStoreRepository#snapshot(SpreadsheetStoreRepository, Consumer, JsonNodeMarshallContext)}
+     */
+    public static void journalSnapshot(final SpreadsheetStoreRepository repository,
+                                       final Consumer<JsonNode> journal,
+                                       final JsonNodeMarshallContext context) {
+        JournalSpreadsheetStoreRepository.snapshot(
+            repository,
+            journal,
+            context
+        );
+    }
+
     /**
      * {@see SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreRepository}
      */
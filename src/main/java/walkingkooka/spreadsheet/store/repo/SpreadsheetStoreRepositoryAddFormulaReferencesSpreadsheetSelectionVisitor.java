@@ -15,30 +15,36 @@
  *
  */
 
-package walkingkooka.spreadsheet.engine;
+package walkingkooka.spreadsheet.store.repo;
 
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelectionVisitor;
-import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
 
 /**
  * A {@link SpreadsheetSelectionVisitor} that adds references to each reference present within cell formula.
  */
-final class BasicSpreadsheetEngineChangesAddFormulaReferenceSpreadsheetSelectionVisitor extends SpreadsheetSelectionVisitor {
+final class SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor extends SpreadsheetSelectionVisitor {
 
-    static BasicSpreadsheetEngineChangesAddFormulaReferenceSpreadsheetSelectionVisitor with(final SpreadsheetCellReference cell,
-                                                                                            final SpreadsheetStoreRepository repository) {
-        return new BasicSpreadsheetEngineChangesAddFormulaReferenceSpreadsheetSelectionVisitor(
-            cell,
-            repository
-        );
+    /**
+     * Adds a reference from each cell, label or cell-range within the formula of the given cell to the cell.
+     */
+    static void addFormulaReferences(final SpreadsheetCell cell,
+                                     final SpreadsheetStoreRepository repository) {
+        cell.formula()
+            .consumeSpreadsheetExpressionReferences(
+                new SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor(
+                    cell.reference(),
+                    repository
+                )::accept
+            );
     }
 
     // VisibleForTesting
-    BasicSpreadsheetEngineChangesAddFormulaReferenceSpreadsheetSelectionVisitor(final SpreadsheetCellReference cell,
-                                                                                final SpreadsheetStoreRepository repository) {
+    SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor(final SpreadsheetCellReference cell,
+                                                                              final SpreadsheetStoreRepository repository) {
         super();
         this.cell = cell;
         this.repository = repository;
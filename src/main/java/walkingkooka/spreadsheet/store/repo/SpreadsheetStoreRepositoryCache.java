@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Provides the {@link SpreadsheetStoreRepository} for a {@link SpreadsheetId}, which may hold only some repositories
+ * in memory, along with a few metrics describing its activity.
+ */
+public interface SpreadsheetStoreRepositoryCache {
+
+    /**
+     * Resolves the {@link SpreadsheetStoreRepository} for the given {@link SpreadsheetId} once, loading it if necessary,
+     * and passes it to the operation. The repository is pinned and will not be evicted until the operation returns,
+     * so the operation, typically a single {@link walkingkooka.spreadsheet.engine.SpreadsheetEngine} call, should not
+     * keep the repository or any of its stores afterwards.
+     */
+    <T> T use(final SpreadsheetId id,
+              final Function<SpreadsheetStoreRepository, T> operation);
+
+    /**
+     * The number of repositories currently held in memory.
+     */
+    int residentCount();
+
+    /**
+     * The number of repositories that have been evicted.
+     */
+    long evictionCount();
+
+    /**
+     * The number of repositories that have been reloaded from an earlier snapshot.
+     */
+    long reloadCount();
+
+    /**
+     * The total time spent reloading repositories, which divided by {@link #reloadCount()} gives the average.
+     */
+    Duration reloadDuration();
+}
@@ -18,10 +18,10 @@
 package walkingkooka.spreadsheet.validation.form.store;
 
 import walkingkooka.collect.set.ImmutableSet;
+import walkingkooka.spreadsheet.store.SpreadsheetStoreNameIndex;
 import walkingkooka.spreadsheet.validation.SpreadsheetValidationReference;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
-import walkingkooka.text.CaseSensitivity;
 import walkingkooka.validation.form.Form;
 import walkingkooka.validation.form.FormName;
 import walkingkooka.validation.form.store.FormStore;
@@ -49,12 +49,20 @@ final class TreeSpreadsheetFormStore implements SpreadsheetFormStore {
 
     @Override
     public Form<SpreadsheetValidationReference> save(final Form<SpreadsheetValidationReference> reference) {
-        return this.store.save(reference);
+        final Form<SpreadsheetValidationReference> saved = this.store.save(reference);
+
+        final FormName name = saved.name();
+        this.nameIndex.add(
+            name,
+            name.value()
+        );
+        return saved;
     }
 
     @Override
     public void delete(final FormName formName) {
         store.delete(formName);
+        this.nameIndex.remove(formName);
     }
 
     @Override
@@ -114,20 +122,20 @@ final class TreeSpreadsheetFormStore implements SpreadsheetFormStore {
             count
         );
 
-
-        return this.all()
-            .stream()
-            .filter(f -> text.isEmpty() ||
-                CaseSensitivity.INSENSITIVE.contains(
-                    f.name()
-                        .value(),
-                    text
-                )
-            ).skip(offset)
-            .limit(count)
+        return this.nameIndex.find(
+                text,
+                offset,
+                count
+            ).stream()
+            .map(this.store::loadOrFail)
             .collect(ImmutableSet.collector());
     }
 
+    /**
+     * Used to find forms by name.
+     */
+    private final SpreadsheetStoreNameIndex<FormName> nameIndex = SpreadsheetStoreNameIndex.empty();
+
     @Override
     public Runnable addStoreWatcher(final StoreWatcher<Form<SpreadsheetValidationReference>> watcher) {
         return this.store.addStoreWatcher(watcher);
@@ -663,6 +663,57 @@ public final class SpreadsheetCell implements CanBeEmpty,
         );
     }
 
+    // intern...........................................................................................................
+
+    /**
+     * Returns a {@link SpreadsheetCell} with the currency, symbols, locale, selectors and style replaced by the equal
+     * instance returned by the interner, so many cells may share a single instance of each. The formula and formatted
+     * value are kept.
+     */
+    public SpreadsheetCell intern(final Function<Object, Object> interner) {
+        Objects.requireNonNull(interner, "interner");
+
+        final Optional<Currency> currency = Cast.to(interner.apply(this.currency));
+        final Optional<DateTimeSymbols> dateTimeSymbols = Cast.to(interner.apply(this.dateTimeSymbols));
+        final Optional<DecimalNumberSymbols> decimalNumberSymbols = Cast.to(interner.apply(this.decimalNumberSymbols));
+        final Optional<Locale> locale = Cast.to(interner.apply(this.locale));
+        final Optional<SpreadsheetFormatterSelector> formatter = Cast.to(interner.apply(this.formatter));
+        final Optional<SpreadsheetParserSelector> parser = Cast.to(interner.apply(this.parser));
+        final TextStyle style = Cast.to(interner.apply(this.style));
+        final Optional<ValidatorSelector> validator = Cast.to(interner.apply(this.validator));
+
+        return this.currency == currency &&
+            this.dateTimeSymbols == dateTimeSymbols &&
+            this.decimalNumberSymbols == decimalNumberSymbols &&
+            this.locale == locale &&
+            this.formatter == formatter &&
+            this.parser == parser &&
+            this.style == style &&
+            this.validator == validator ?
+            this :
+            new SpreadsheetCell(
+                this.reference,
+                this.formula,
+                checkInterned(currency, this.currency),
+                checkInterned(dateTimeSymbols, this.dateTimeSymbols),
+                checkInterned(decimalNumberSymbols, this.decimalNumberSymbols),
+                checkInterned(locale, this.locale),
+                checkInterned(formatter, this.formatter),
+                checkInterned(parser, this.parser),
+                checkInterned(style, this.style),
+                this.formattedValue,
+                checkInterned(validator, this.validator)
+            );
+    }
+
+    private static <T> T checkInterned(final T interned,
+                                       final T value) {
+        if (false == value.equals(interned)) {
+            throw new IllegalArgumentException("Interned " + interned + " not equal to " + value);
+        }
+        return interned;
+    }
+
     // CanBeEmpty ......................................................................................................
 
     /**
@@ -1474,27 +1525,27 @@ public final class SpreadsheetCell implements CanBeEmpty,
 
     private final static String FORMATTED_VALUE_PROPERTY_STRING = "formattedValue";
 
-    final static JsonPropertyName REFERENCE_PROPERTY = JsonPropertyName.with(REFERENCE_PROPERTY_STRING);
+    public final static JsonPropertyName REFERENCE_PROPERTY = JsonPropertyName.with(REFERENCE_PROPERTY_STRING);
 
-    final static JsonPropertyName FORMULA_PROPERTY = JsonPropertyName.with(FORMULA_PROPERTY_STRING);
+    public final static JsonPropertyName FORMULA_PROPERTY = JsonPropertyName.with(FORMULA_PROPERTY_STRING);
 
-    final static JsonPropertyName CURRENCY_PROPERTY = JsonPropertyName.with(CURRENCY_PROPERTY_STRING);
+    public final static JsonPropertyName CURRENCY_PROPERTY = JsonPropertyName.with(CURRENCY_PROPERTY_STRING);
 
-    final static JsonPropertyName DATE_TIME_SYMBOLS_PROPERTY = JsonPropertyName.with(DATE_TIME_SYMBOLS_PROPERTY_STRING);
+    public final static JsonPropertyName DATE_TIME_SYMBOLS_PROPERTY = JsonPropertyName.with(DATE_TIME_SYMBOLS_PROPERTY_STRING);
 
-    final static JsonPropertyName DECIMAL_NUMBER_SYMBOLS_PROPERTY = JsonPropertyName.with(DECIMAL_NUMBER_SYMBOLS_PROPERTY_STRING);
+    public final static JsonPropertyName DECIMAL_NUMBER_SYMBOLS_PROPERTY = JsonPropertyName.with(DECIMAL_NUMBER_SYMBOLS_PROPERTY_STRING);
 
-    final static JsonPropertyName FORMATTER_PROPERTY = JsonPropertyName.with(FORMATTER_PROPERTY_STRING);
+    public final static JsonPropertyName FORMATTER_PROPERTY = JsonPropertyName.with(FORMATTER_PROPERTY_STRING);
 
-    final static JsonPropertyName LOCALE_PROPERTY = JsonPropertyName.with(LOCALE_PROPERTY_STRING);
+    public final static JsonPropertyName LOCALE_PROPERTY = JsonPropertyName.with(LOCALE_PROPERTY_STRING);
 
-    final static JsonPropertyName PARSER_PROPERTY = JsonPropertyName.with(PARSER_PROPERTY_STRING);
+    public final static JsonPropertyName PARSER_PROPERTY = JsonPropertyName.with(PARSER_PROPERTY_STRING);
 
-    final static JsonPropertyName STYLE_PROPERTY = JsonPropertyName.with(STYLE_PROPERTY_STRING);
+    public final static JsonPropertyName STYLE_PROPERTY = JsonPropertyName.with(STYLE_PROPERTY_STRING);
 
-    final static JsonPropertyName VALIDATOR_PROPERTY = JsonPropertyName.with(VALIDATOR_PROPERTY_STRING);
+    public final static JsonPropertyName VALIDATOR_PROPERTY = JsonPropertyName.with(VALIDATOR_PROPERTY_STRING);
 
-    final static JsonPropertyName FORMATTED_VALUE_PROPERTY = JsonPropertyName.with(FORMATTED_VALUE_PROPERTY_STRING);
+    public final static JsonPropertyName FORMATTED_VALUE_PROPERTY = JsonPropertyName.with(FORMATTED_VALUE_PROPERTY_STRING);
 
     static {
         JsonNodeContext.register(
@@ -25,6 +25,7 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -36,26 +37,76 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
                                                           final Predicate<SpreadsheetRowReference> isRowHidden,
                                                           final Function<SpreadsheetRowReference, Double> rowToHeight,
                                                           final Function<SpreadsheetViewport, SpreadsheetViewportWindows> viewportToWindows) {
+        Objects.requireNonNull(isColumnHidden, "isColumnHidden");
+        Objects.requireNonNull(isRowHidden, "isRowHidden");
+
+        return with(
+            labelNameResolver,
+            isColumnHidden,
+            skipHidden(isColumnHidden),
+            columnToWidth,
+            isRowHidden,
+            skipHidden(isRowHidden),
+            rowToHeight,
+            viewportToWindows
+        );
+    }
+
+    static BasicSpreadsheetViewportNavigationContext with(final SpreadsheetLabelNameResolver labelNameResolver,
+                                                          final Predicate<SpreadsheetColumnReference> isColumnHidden,
+                                                          final BiFunction<SpreadsheetColumnReference, Integer, Optional<SpreadsheetColumnReference>> skipHiddenColumns,
+                                                          final Function<SpreadsheetColumnReference, Double> columnToWidth,
+                                                          final Predicate<SpreadsheetRowReference> isRowHidden,
+                                                          final BiFunction<SpreadsheetRowReference, Integer, Optional<SpreadsheetRowReference>> skipHiddenRows,
+                                                          final Function<SpreadsheetRowReference, Double> rowToHeight,
+                                                          final Function<SpreadsheetViewport, SpreadsheetViewportWindows> viewportToWindows) {
         return new BasicSpreadsheetViewportNavigationContext(
             Objects.requireNonNull(labelNameResolver, "labelNameResolver"),
             Objects.requireNonNull(isColumnHidden, "isColumnHidden"),
+            Objects.requireNonNull(skipHiddenColumns, "skipHiddenColumns"),
             Objects.requireNonNull(columnToWidth, "columnToWidth"),
             Objects.requireNonNull(isRowHidden, "isRowHidden"),
+            Objects.requireNonNull(skipHiddenRows, "skipHiddenRows"),
             Objects.requireNonNull(rowToHeight, "rowHeights"),
             Objects.requireNonNull(viewportToWindows, "viewportToWindows")
         );
     }
 
+    /**
+     * Creates a function that steps over hidden columns or rows one at a time, used when no faster alternative is
+     * available.
+     */
+    private static <T extends SpreadsheetSelection> BiFunction<T, Integer, Optional<T>> skipHidden(final Predicate<T> hidden) {
+        return (final T start, final Integer delta) -> {
+            T current = start;
+
+            while (hidden.test(current)) {
+                final T next = (T) current.addSaturated(delta);
+                if (next.equals(current)) {
+                    current = null;
+                    break;
+                }
+                current = next;
+            }
+
+            return Optional.ofNullable(current);
+        };
+    }
+
     private BasicSpreadsheetViewportNavigationContext(final SpreadsheetLabelNameResolver labelNameResolver,
                                                       final Predicate<SpreadsheetColumnReference> isColumnHidden,
+                                                      final BiFunction<SpreadsheetColumnReference, Integer, Optional<SpreadsheetColumnReference>> skipHiddenColumns,
                                                       final Function<SpreadsheetColumnReference, Double> columnToWidth,
                                                       final Predicate<SpreadsheetRowReference> isRowHidden,
+                                                      final BiFunction<SpreadsheetRowReference, Integer, Optional<SpreadsheetRowReference>> skipHiddenRows,
                                                       final Function<SpreadsheetRowReference, Double> rowToHeight,
                                                       final Function<SpreadsheetViewport, SpreadsheetViewportWindows> viewportToWindows) {
         this.labelNameResolver = labelNameResolver;
         this.isColumnHidden = isColumnHidden;
+        this.skipHiddenColumns = skipHiddenColumns;
         this.columnToWidth = columnToWidth;
         this.isRowHidden = isRowHidden;
+        this.skipHiddenRows = skipHiddenRows;
         this.rowToHeight = rowToHeight;
         this.viewportToWindows = viewportToWindows;
     }
@@ -76,6 +127,11 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
 
     private final Predicate<SpreadsheetColumnReference> isColumnHidden;
 
+    /**
+     * Returns the given column if it is visible, otherwise the first visible column in the given direction.
+     */
+    private final BiFunction<SpreadsheetColumnReference, Integer, Optional<SpreadsheetColumnReference>> skipHiddenColumns;
+
     @Override
     public boolean isRowHidden(final SpreadsheetRowReference row) {
         Objects.requireNonNull(row, "row");
@@ -85,6 +141,11 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
 
     private final Predicate<SpreadsheetRowReference> isRowHidden;
 
+    /**
+     * Returns the given row if it is visible, otherwise the first visible row in the given direction.
+     */
+    private final BiFunction<SpreadsheetRowReference, Integer, Optional<SpreadsheetRowReference>> skipHiddenRows;
+
     @Override
     public Optional<SpreadsheetColumnReference> moveLeft(final SpreadsheetColumnReference column) {
         Objects.requireNonNull(column, "column");
@@ -93,6 +154,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             column,
             SpreadsheetColumnReference::isFirst,
             this.isColumnHidden,
+            this.skipHiddenColumns,
             -1
         );
     }
@@ -105,6 +167,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             column,
             SpreadsheetColumnReference::isLast,
             this.isColumnHidden,
+            this.skipHiddenColumns,
             +1
         );
     }
@@ -117,6 +180,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             row,
             SpreadsheetRowReference::isFirst,
             this.isRowHidden,
+            this.skipHiddenRows,
             -1
         );
     }
@@ -129,6 +193,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             row,
             SpreadsheetRowReference::isLast,
             this.isRowHidden,
+            this.skipHiddenRows,
             +1
         );
     }
@@ -136,20 +201,21 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
     private static <T extends SpreadsheetSelection> Optional<T> move(final T start,
                                                                      final Predicate<T> stop,
                                                                      final Predicate<T> hidden,
+                                                                     final BiFunction<T, Integer, Optional<T>> skipHidden,
                                                                      final int delta) {
-        T result = start;
-
-        do {
-            if (stop.test(result)) {
-                result = hidden.test(start) ?
-                    null :
-                    start;
-                break;
-            }
+        T result = null;
 
-            result = (T) result.addSaturated(delta);
+        if (false == stop.test(start)) {
+            result = skipHidden.apply(
+                (T) start.addSaturated(delta),
+                delta
+            ).orElse(null);
+        }
 
-        } while (hidden.test(result));
+        // reached the first or last and all were hidden, try start
+        if (null == result && false == hidden.test(start)) {
+            result = start;
+        }
 
         return Optional.ofNullable(result);
     }
@@ -163,6 +229,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             column,
             SpreadsheetColumnReference::isFirst,
             this.isColumnHidden,
+            this.skipHiddenColumns,
             -1,
             this.columnToWidth,
             pixels
@@ -178,6 +245,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             column,
             SpreadsheetColumnReference::isLast,
             this.isColumnHidden,
+            this.skipHiddenColumns,
             +1,
             this.columnToWidth,
             pixels
@@ -195,6 +263,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             row,
             SpreadsheetRowReference::isFirst,
             this.isRowHidden,
+            this.skipHiddenRows,
             -1,
             this.rowToHeight,
             pixels
@@ -210,6 +279,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
             row,
             SpreadsheetRowReference::isLast,
             this.isRowHidden,
+            this.skipHiddenRows,
             +1,
             this.rowToHeight,
             pixels
@@ -222,6 +292,7 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
     private static <T extends SpreadsheetSelection> Optional<T> movePixels(final T start,
                                                                            final Predicate<T> stop,
                                                                            final Predicate<T> hidden,
+                                                                           final BiFunction<T, Integer, Optional<T>> skipHidden,
                                                                            final int delta,
                                                                            final Function<T, Double> widthOrHeight,
                                                                            final int pixels) {
@@ -243,14 +314,15 @@ final class BasicSpreadsheetViewportNavigationContext implements SpreadsheetView
                 break;
             }
 
-            // advance moved
-            moved = (T) moved.addSaturated(delta);
-            if (hidden.test(moved)) {
-                if (stop.test(moved)) {
-                    break;
-                }
-                continue; // skip hidden result
+            // advance moved skipping any hidden
+            final T notHidden = skipHidden.apply(
+                (T) moved.addSaturated(delta),
+                delta
+            ).orElse(null);
+            if (null == notHidden) {
+                break; // all remaining hidden
             }
+            moved = notHidden;
             lastNotHidden = moved;
 
             final double length = widthOrHeight.apply(moved);
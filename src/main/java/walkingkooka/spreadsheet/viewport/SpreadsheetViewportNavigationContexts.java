@@ -22,6 +22,8 @@ import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelNameResolver;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -46,6 +48,29 @@ public final class SpreadsheetViewportNavigationContexts implements PublicStatic
         );
     }
 
+    /**
+     * {@see BasicSpreadsheetViewportNavigationContext}
+     */
+    public static SpreadsheetViewportNavigationContext basic(final SpreadsheetLabelNameResolver labelNameResolver,
+                                                             final Predicate<SpreadsheetColumnReference> isColumnHidden,
+                                                             final BiFunction<SpreadsheetColumnReference, Integer, Optional<SpreadsheetColumnReference>> skipHiddenColumns,
+                                                             final Function<SpreadsheetColumnReference, Double> columnToWidth,
+                                                             final Predicate<SpreadsheetRowReference> isRowHidden,
+                                                             final BiFunction<SpreadsheetRowReference, Integer, Optional<SpreadsheetRowReference>> skipHiddenRows,
+                                                             final Function<SpreadsheetRowReference, Double> rowToHeight,
+                                                             final Function<SpreadsheetViewport, SpreadsheetViewportWindows> windows) {
+        return BasicSpreadsheetViewportNavigationContext.with(
+            labelNameResolver,
+            isColumnHidden,
+            skipHiddenColumns,
+            columnToWidth,
+            isRowHidden,
+            skipHiddenRows,
+            rowToHeight,
+            windows
+        );
+    }
+
     /**
      * {@see FakeSpreadsheetViewportNavigationContext}
      */
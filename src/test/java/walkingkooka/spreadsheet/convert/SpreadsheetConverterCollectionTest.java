@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.convert;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.convert.Converter;
+import walkingkooka.convert.Converters;
+import walkingkooka.convert.FakeConverter;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class SpreadsheetConverterCollectionTest implements ClassTesting<SpreadsheetConverterCollection<?>> {
+
+    private final static List<Converter<SpreadsheetConverterContext>> CONVERTERS = Lists.of(
+        SpreadsheetConverters.booleanToText(),
+        Converters.simple()
+    );
+
+    private final static SpreadsheetConverterContext CONTEXT = SpreadsheetConverterContexts.fake();
+
+    @Test
+    public void testCanConvertSkippedConverter() {
+        final SpreadsheetConverterCollection<SpreadsheetConverterContext> converter = this.createConverter();
+
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                true,
+                converter.canConvert(
+                    "abc",
+                    String.class,
+                    CONTEXT
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testCanConvertFalse() {
+        final SpreadsheetConverterCollection<SpreadsheetConverterContext> converter = this.createConverter();
+
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                false,
+                converter.canConvert(
+                    1,
+                    Boolean.class,
+                    CONTEXT
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testConvertSameAsCollection() {
+        final SpreadsheetConverterCollection<SpreadsheetConverterContext> converter = this.createConverter();
+
+        for (final String value : new String[]{"abc", "def"}) {
+            this.checkEquals(
+                Converters.collection(CONVERTERS)
+                    .convert(
+                        value,
+                        String.class,
+                        CONTEXT
+                    ),
+                converter.convert(
+                    value,
+                    String.class,
+                    CONTEXT
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testConvertFailureSameAsCollection() {
+        this.checkEquals(
+            Converters.collection(CONVERTERS)
+                .convert(
+                    1,
+                    Boolean.class,
+                    CONTEXT
+                ),
+            this.createConverter()
+                .convert(
+                    1,
+                    Boolean.class,
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testConvertFailureTriesEachConverterOnce() {
+        final List<String> converted = Lists.array();
+
+        final Either<Boolean, String> result = SpreadsheetConverterCollection.with(
+            Lists.of(
+                this.failing("first", converted),
+                this.failing("second", converted)
+            )
+        ).convert(
+            "abc",
+            Boolean.class,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            true,
+            result.isRight(),
+            () -> "" + result
+        );
+        this.checkEquals(
+            Lists.of(
+                "first abc",
+                "second abc"
+            ),
+            converted,
+            "convert should be called once for each converter"
+        );
+    }
+
+    @Test
+    public void testConvertFailureThenSuccessSameAsCollection() {
+        final List<Converter<SpreadsheetConverterContext>> converters = Lists.of(
+            this.failing(
+                "first",
+                Lists.array()
+            ),
+            SpreadsheetConverters.booleanToText(),
+            Converters.simple()
+        );
+
+        final Either<String, String> result = SpreadsheetConverterCollection.with(converters)
+            .convert(
+                "abc",
+                String.class,
+                CONTEXT
+            );
+
+        this.checkEquals(
+            true,
+            result.isLeft(),
+            () -> "" + result
+        );
+        this.checkEquals(
+            Converters.collection(converters)
+                .convert(
+                    "abc",
+                    String.class,
+                    CONTEXT
+                ),
+            result
+        );
+    }
+
+    /**
+     * A {@link Converter} that accepts every value but always fails, recording its name and each value.
+     */
+    private Converter<SpreadsheetConverterContext> failing(final String name,
+                                                           final List<String> converted) {
+        return new FakeConverter<>() {
+            @Override
+            public boolean canConvert(final Object value,
+                                      final Class<?> type,
+                                      final SpreadsheetConverterContext context) {
+                return true;
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> type,
+                                                 final SpreadsheetConverterContext context) {
+                converted.add(name + " " + value);
+                return this.failConversion(
+                    value,
+                    type
+                );
+            }
+        };
+    }
+
+    @Test
+    public void testCanConvertDependsOnlyOnTypesAllConverters() {
+        this.checkEquals(
+            true,
+            SpreadsheetConverterCollection.with(
+                Lists.of(
+                    SpreadsheetConverters.booleanToText(),
+                    SpreadsheetConverterCollection.with(
+                        Lists.of(
+                            SpreadsheetConverters.booleanToText()
+                        ),
+                        "Nested"
+                    )
+                )
+            ).canConvertDependsOnlyOnTypes
+        );
+    }
+
+    @Test
+    public void testCanConvertDependsOnlyOnTypesSomeConverters() {
+        this.checkEquals(
+            false,
+            this.createConverter()
+                .canConvertDependsOnlyOnTypes
+        );
+    }
+
+    @Test
+    public void testCanConvertNestedCollectionSkipped() {
+        final SpreadsheetConverterCollection<SpreadsheetConverterContext> converter = SpreadsheetConverterCollection.with(
+            Lists.of(
+                SpreadsheetConverterCollection.with(
+                    Lists.of(
+                        SpreadsheetConverters.booleanToText()
+                    ),
+                    "Nested"
+                ),
+                Converters.simple()
+            )
+        );
+
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                true,
+                converter.canConvert(
+                    "abc",
+                    String.class,
+                    CONTEXT
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(
+            this.createConverter(),
+            SpreadsheetConverterCollection.with(CONVERTERS)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createConverter(),
+            Converters.collection(CONVERTERS)
+                .toString()
+        );
+    }
+
+    @Test
+    public void testToStringNamed() {
+        this.toStringAndCheck(
+            SpreadsheetConverterCollection.with(
+                CONVERTERS,
+                "Named123"
+            ),
+            "Named123"
+        );
+    }
+
+    private SpreadsheetConverterCollection<SpreadsheetConverterContext> createConverter() {
+        return SpreadsheetConverterCollection.with(CONVERTERS);
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetConverterCollection<?>> type() {
+        return Cast.to(SpreadsheetConverterCollection.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.FakeExpressionEvaluationContext;
+
+import java.util.List;
+
+public final class BasicSpreadsheetEngineChangesExpressionPurityContextTest implements ClassTesting<BasicSpreadsheetEngineChangesExpressionPurityContext> {
+
+    private final static ExpressionFunctionName PURE = ExpressionFunctionName.with("pure");
+
+    private final static ExpressionFunctionName IMPURE = ExpressionFunctionName.with("impure");
+
+    @Test
+    public void testIsPureRemembered() {
+        final List<ExpressionFunctionName> resolved = Lists.array();
+
+        final BasicSpreadsheetEngineChangesExpressionPurityContext context = BasicSpreadsheetEngineChangesExpressionPurityContext.with(
+            new FakeExpressionEvaluationContext() {
+                @Override
+                public boolean isPure(final ExpressionFunctionName name) {
+                    resolved.add(name);
+                    return PURE.equals(name);
+                }
+            }
+        );
+
+        this.checkEquals(
+            true,
+            context.isPure(PURE)
+        );
+        this.checkEquals(
+            false,
+            context.isPure(IMPURE)
+        );
+        this.checkEquals(
+            true,
+            context.isPure(PURE)
+        );
+        this.checkEquals(
+            false,
+            context.isPure(IMPURE)
+        );
+
+        this.checkEquals(
+            Lists.of(
+                PURE,
+                IMPURE
+            ),
+            resolved
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BasicSpreadsheetEngineChangesExpressionPurityContext> type() {
+        return BasicSpreadsheetEngineChangesExpressionPurityContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -19,11 +19,16 @@ package walkingkooka.spreadsheet.engine;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReferenceLoader;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.store.FakeSpreadsheetCellStore;
+import walkingkooka.spreadsheet.store.FakeSpreadsheetColumnStore;
+import walkingkooka.spreadsheet.store.FakeSpreadsheetLabelStore;
+import walkingkooka.spreadsheet.store.FakeSpreadsheetRowStore;
 import walkingkooka.spreadsheet.store.SpreadsheetCellRangeStore;
 import walkingkooka.spreadsheet.store.SpreadsheetCellRangeStores;
 import walkingkooka.spreadsheet.store.SpreadsheetCellReferencesStore;
@@ -41,9 +46,14 @@ import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
 import walkingkooka.spreadsheet.store.repo.FakeSpreadsheetStoreRepository;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.validation.provider.ValidatorSelector;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class BasicSpreadsheetEngineChangesTest extends BasicSpreadsheetEngineTestCase<BasicSpreadsheetEngineChanges>
     implements ToStringTesting<BasicSpreadsheetEngineChanges> {
 
@@ -159,6 +169,307 @@ public final class BasicSpreadsheetEngineChangesTest extends BasicSpreadsheetEng
         );
     }
 
+    // validate.........................................................................................................
+
+    @Test
+    public void testValidateSameValueAndValidator() {
+        final BasicSpreadsheetEngineChanges changes = this.createChanges();
+        final List<SpreadsheetCell> validated = Lists.array();
+
+        final SpreadsheetCell cell = this.validatorCell("Value123");
+        final SpreadsheetCell result = this.validationError(cell);
+
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                result,
+                changes.validate(
+                    cell,
+                    (final SpreadsheetCell c) -> {
+                        validated.add(c);
+                        return result;
+                    }
+                )
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(cell),
+            validated,
+            "same value and validator should only be validated once"
+        );
+    }
+
+    @Test
+    public void testValidateSameValueAndValidatorLaterBatch() {
+        final SpreadsheetEngineContext context = this.createContext();
+        final List<SpreadsheetCell> validated = Lists.array();
+
+        final SpreadsheetCell cell = this.validatorCell("Value123");
+        final SpreadsheetCell result = this.validationError(cell);
+
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                result,
+                this.createChanges(context)
+                    .validate(
+                        cell,
+                        (final SpreadsheetCell c) -> {
+                            validated.add(c);
+                            return result;
+                        }
+                    )
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(cell),
+            validated,
+            "same value and validator should not be validated again by a later batch"
+        );
+    }
+
+    @Test
+    public void testValidateSameValueAndValidatorForceRecompute() {
+        final SpreadsheetEngineContext context = this.createContext();
+        final List<SpreadsheetCell> validated = Lists.array();
+
+        final SpreadsheetCell cell = this.validatorCell("Value123");
+
+        for (int i = 0; i < 2; i++) {
+            BasicSpreadsheetEngineChanges.with(
+                BasicSpreadsheetEngine.INSTANCE,
+                SpreadsheetEngineEvaluation.FORCE_RECOMPUTE,
+                SpreadsheetDeltaProperties.ALL,
+                BasicSpreadsheetEngineChangesMode.IMMEDIATE,
+                context
+            ).validate(
+                cell,
+                (final SpreadsheetCell c) -> {
+                    validated.add(c);
+                    return this.validationError(c);
+                }
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(cell, cell),
+            validated,
+            "FORCE_RECOMPUTE should always validate"
+        );
+    }
+
+    @Test
+    public void testValidateDifferentValue() {
+        final BasicSpreadsheetEngineChanges changes = this.createChanges();
+        final List<SpreadsheetCell> validated = Lists.array();
+
+        final SpreadsheetCell cell = this.validatorCell("Value123");
+        final SpreadsheetCell different = this.validatorCell("Different456");
+
+        for (final SpreadsheetCell c : Lists.of(cell, different)) {
+            changes.validate(
+                c,
+                (final SpreadsheetCell v) -> {
+                    validated.add(v);
+                    return this.validationError(v);
+                }
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(cell, different),
+            validated
+        );
+    }
+
+    @Test
+    public void testValidateWithExpressionEvaluationNotRemembered() {
+        final BasicSpreadsheetEngineChanges changes = this.createChanges();
+        final List<SpreadsheetCell> validated = Lists.array();
+
+        final SpreadsheetCell cell = this.validatorCell("Value123");
+
+        for (int i = 0; i < 2; i++) {
+            changes.validate(
+                cell,
+                (final SpreadsheetCell c) -> {
+                    validated.add(c);
+                    changes.onValidationExpressionEvaluation();
+                    return this.validationError(c);
+                }
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(cell, cell),
+            validated,
+            "validator that created an expression evaluation context should always validate"
+        );
+    }
+
+    private SpreadsheetCell validatorCell(final Object value) {
+        return SpreadsheetSelection.A1.setFormula(
+            SpreadsheetFormula.EMPTY.setValue(
+                Optional.of(value)
+            )
+        ).setValidator(
+            Optional.of(
+                ValidatorSelector.parse("test-validator-123")
+            )
+        );
+    }
+
+    private SpreadsheetCell validationError(final SpreadsheetCell cell) {
+        return cell.setFormula(
+            cell.formula()
+                .setError(
+                    Optional.of(
+                        SpreadsheetErrorKind.VALIDATION.setMessage("Invalid " + cell.formula().value().get())
+                    )
+                )
+        );
+    }
+
+    // validationContext................................................................................................
+
+    @Test
+    public void testValidationContextWithDeferFormattingContext() {
+        final SpreadsheetEngineContext context = this.createContext();
+        final BasicSpreadsheetEngineChanges changes = this.createChanges(context);
+
+        final SpreadsheetEngineContext validationContext = changes.validationContext(context);
+
+        assertSame(
+            validationContext,
+            changes.validationContext(
+                BasicSpreadsheetEngineChangesDeferFormattingSpreadsheetEngineContext.with(context)
+            )
+        );
+    }
+
+    // watchers.......................................................................................................
+
+    @Test
+    public void testWithSkipEvaluateAddsNoStoreWatchers() {
+        // fake stores fail any addStoreWatcher
+        final BasicSpreadsheetEngineChanges changes = this.createChanges(
+            new FakeSpreadsheetEngineContext() {
+
+                @Override
+                public SpreadsheetEngineContext setSpreadsheetMetadataMode(final SpreadsheetMetadataMode mode) {
+                    return this;
+                }
+
+                @Override
+                public SpreadsheetStoreRepository storeRepository() {
+                    return new FakeSpreadsheetStoreRepository() {
+                        @Override
+                        public SpreadsheetCellStore cells() {
+                            return new FakeSpreadsheetCellStore();
+                        }
+
+                        @Override
+                        public SpreadsheetColumnStore columns() {
+                            return new FakeSpreadsheetColumnStore();
+                        }
+
+                        @Override
+                        public SpreadsheetLabelStore labels() {
+                            return new FakeSpreadsheetLabelStore();
+                        }
+
+                        @Override
+                        public SpreadsheetRowStore rows() {
+                            return new FakeSpreadsheetRowStore();
+                        }
+                    };
+                }
+            }
+        );
+
+        changes.close();
+    }
+
+    private BasicSpreadsheetEngineChanges createChanges() {
+        return this.createChanges(
+            this.createContext()
+        );
+    }
+
+    private BasicSpreadsheetEngineChanges createChanges(final SpreadsheetEngineContext context) {
+        return BasicSpreadsheetEngineChanges.with(
+            BasicSpreadsheetEngine.INSTANCE,
+            SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+            SpreadsheetDeltaProperties.ALL,
+            BasicSpreadsheetEngineChangesMode.IMMEDIATE, // IMMEDIATE is simpler than BATCH
+            context
+        );
+    }
+
+    private SpreadsheetEngineContext createContext() {
+        // validated cells are recorded in the cell store, which must outlive a single BasicSpreadsheetEngineChanges
+        final SpreadsheetCellStore cellStore = SpreadsheetCellStores.treeMap();
+
+        return new FakeSpreadsheetEngineContext() {
+
+            @Override
+            public SpreadsheetEngineContext setSpreadsheetMetadataMode(final SpreadsheetMetadataMode mode) {
+                return this;
+            }
+
+            @Override
+            public SpreadsheetExpressionEvaluationContext spreadsheetExpressionEvaluationContext(final Optional<SpreadsheetCell> cell,
+                                                                                                 final SpreadsheetExpressionReferenceLoader loader) {
+                return new FakeSpreadsheetExpressionEvaluationContext() {
+                    @Override
+                    public String toString() {
+                        return this.getClass().getSimpleName();
+                    }
+                };
+            }
+
+            @Override
+            public SpreadsheetStoreRepository storeRepository() {
+                return new FakeSpreadsheetStoreRepository() {
+                    @Override
+                    public SpreadsheetCellStore cells() {
+                        return cellStore;
+                    }
+
+                    @Override
+                    public SpreadsheetCellReferencesStore cellReferences() {
+                        return SpreadsheetCellReferencesStores.treeMap();
+                    }
+
+                    @Override
+                    public SpreadsheetColumnStore columns() {
+                        return SpreadsheetColumnStores.treeMap();
+                    }
+
+                    @Override
+                    public SpreadsheetLabelStore labels() {
+                        return SpreadsheetLabelStores.treeMap();
+                    }
+
+                    @Override
+                    public SpreadsheetLabelReferencesStore labelReferences() {
+                        return SpreadsheetLabelReferencesStores.treeMap();
+                    }
+
+                    @Override
+                    public SpreadsheetCellRangeStore rangeToCells() {
+                        return SpreadsheetCellRangeStores.treeMap();
+                    }
+
+                    @Override
+                    public SpreadsheetRowStore rows() {
+                        return SpreadsheetRowStores.treeMap();
+                    }
+                };
+            }
+        };
+    }
+
     // class............................................................................................................
 
     @Override
@@ -217,6 +217,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
@@ -225,6 +226,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -1665,6 +1667,116 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    @Test
+    public void testLoadCellsSkipEvaluateLeavesReferencesUntouched() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetStoreRepository repository = context.storeRepository();
+
+        // saved directly to the store so no references were recorded
+        final SpreadsheetCellReference b2 = SpreadsheetSelection.parseCell("B2");
+        repository.cells()
+            .save(this.cell("A1", "=B2"));
+
+        engine.loadCells(
+            SpreadsheetSelection.A1,
+            SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+            SpreadsheetDeltaProperties.ALL,
+            context
+        );
+
+        this.checkEquals(
+            Sets.empty(),
+            repository.cellReferences()
+                .findValuesById(
+                    b2,
+                    0,
+                    Integer.MAX_VALUE
+                )
+        );
+    }
+
+    @Test
+    public void testLoadCellsSkipEvaluateConcurrentlyReadLocked() throws InterruptedException {
+        final SpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetStoreRepository repository = context.storeRepository();
+
+        final SpreadsheetCellStore cellStore = repository.cells();
+        for (int i = 1; i <= 20; i++) {
+            cellStore.save(this.cell("C" + i, "=" + i));
+            cellStore.save(this.cell("A" + i, "=" + i));
+            cellStore.save(this.cell("B" + i, "=" + i));
+        }
+
+        final SpreadsheetLabelStore labelStore = repository.labels();
+        labelStore.save(
+            LABEL.setLabelMappingReference(
+                SpreadsheetSelection.parseCell("B2")
+            )
+        );
+        labelStore.save(
+            SpreadsheetSelection.labelName("Label456")
+                .setLabelMappingReference(LABEL)
+        );
+
+        final SpreadsheetEngine engine = ReadWriteLockSpreadsheetEngine.with(
+            this.createSpreadsheetEngine(),
+            new ReentrantReadWriteLock()
+        );
+
+        final SpreadsheetCellRangeReference range = SpreadsheetSelection.parseCellRange("A1:C20");
+        final SpreadsheetDelta expected = engine.loadCells(
+            range,
+            SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+            SpreadsheetDeltaProperties.ALL,
+            context
+        );
+
+        final List<Object> results = Collections.synchronizedList(
+            Lists.array()
+        );
+
+        final List<Thread> threads = Lists.array();
+        for (int i = 0; i < 2; i++) {
+            threads.add(
+                new Thread(
+                    () -> {
+                        try {
+                            for (int j = 0; j < 50; j++) {
+                                results.add(
+                                    engine.loadCells(
+                                        range,
+                                        SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+                                        SpreadsheetDeltaProperties.ALL,
+                                        context
+                                    )
+                                );
+                            }
+                        } catch (final RuntimeException cause) {
+                            results.add(cause);
+                        }
+                    }
+                )
+            );
+        }
+
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            Collections.nCopies(
+                threads.size() * 50,
+                expected
+            ),
+            results
+        );
+    }
+
     @Test
     public void testLoadMultipleCellRangesCellWithoutFormatter() {
         this.cellStoreSaveAndLoadCellAndCheck(
@@ -2650,6 +2762,30 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    @Test
+    public void testLoadCellWithFormulaTokenWithoutExpressionWhenComputeIfNecessary() {
+        // 99 is not the value of the formula, proving the cell is not evaluated again
+        final SpreadsheetCell cell = this.formatCell(
+            this.cell(
+                "a1",
+                "=1+2"
+            ),
+            99
+        );
+
+        // stores may drop the expression
+        this.loadCellAndCheck(
+            cell.setFormula(
+                cell.formula()
+                    .replaceExpression(SpreadsheetFormula.NO_EXPRESSION)
+            ).setFormattedValue(
+                cell.formattedValue()
+            ),
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            cell
+        );
+    }
+
     private void loadCellAndCheck(final SpreadsheetCell cell,
                                   final SpreadsheetEngineEvaluation evaluation,
                                   final SpreadsheetCell expected) {
@@ -3419,6 +3555,152 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    @Test
+    public void testSaveCellFormulaRefreshesReferenceDeferFormatting() {
+        final BasicSpreadsheetEngine engine = BasicSpreadsheetEngine.DEFER_FORMATTING;
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCell a1Cell = this.cell(
+            "a1",
+            "=b2"
+        );
+
+        final SpreadsheetCell b2Cell = this.cell(
+            "b2",
+            "=99"
+        );
+
+        engine.saveCell(
+            a1Cell,
+            context
+        );
+
+        final SpreadsheetDelta delta = engine.saveCell(
+            b2Cell,
+            context
+        );
+
+        final SpreadsheetCell a1Refreshed = delta.cell(a1Cell.reference())
+            .get();
+        this.checkEquals(
+            this.formatCell(
+                a1Cell,
+                99
+            ).formula()
+                .value(),
+            a1Refreshed.formula()
+                .value(),
+            "refreshed a1 value"
+        );
+        this.checkEquals(
+            SpreadsheetCell.NO_FORMATTED_VALUE_CELL,
+            a1Refreshed.formattedValue(),
+            "refreshed a1 formattedValue should be deferred"
+        );
+
+        this.checkEquals(
+            this.formatCell(
+                b2Cell,
+                99
+            ),
+            delta.cell(b2Cell.reference())
+                .get(),
+            "saved b2 should be formatted"
+        );
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+            .cells();
+        final SpreadsheetCell a1Saved = cellStore.loadOrFail(a1Cell.reference());
+
+        this.checkEquals(
+            SpreadsheetCell.NO_FORMATTED_VALUE_CELL,
+            a1Saved.formattedValue(),
+            "saved a1 formattedValue should be deferred"
+        );
+
+        // replace the saved value, loading must format this value and not evaluate a1 again
+        cellStore.save(
+            a1Saved.setFormula(
+                a1Saved.formula()
+                    .setValue(
+                        Optional.of(
+                            EXPRESSION_NUMBER_KIND.create(123)
+                        )
+                    )
+            )
+        );
+
+        final SpreadsheetCell a1Formatted = this.formatCell(
+            a1Cell,
+            123
+        );
+
+        this.checkEquals(
+            Optional.of(a1Formatted),
+            engine.loadCells(
+                a1Cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+            ).cell(a1Cell.reference()),
+            "loaded a1 should be formatted and not evaluated"
+        );
+
+        this.checkEquals(
+            a1Formatted.formattedValue(),
+            cellStore.loadOrFail(a1Cell.reference())
+                .formattedValue(),
+            "formatted a1 should be saved"
+        );
+    }
+
+    @Test
+    public void testLoadCellsComputeIfNecessaryWithoutFormattedValueEvaluates() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCell a1Cell = this.cell(
+            "a1",
+            "=1+2"
+        );
+
+        engine.saveCell(
+            a1Cell,
+            context
+        );
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+            .cells();
+        final SpreadsheetCell a1Saved = cellStore.loadOrFail(a1Cell.reference());
+
+        // a value without a formatted value is only trusted by an engine that defers formatting
+        cellStore.save(
+            a1Saved.setFormula(
+                a1Saved.formula()
+                    .setValue(
+                        Optional.of(
+                            EXPRESSION_NUMBER_KIND.create(123)
+                        )
+                    )
+            ).setFormattedValue(SpreadsheetCell.NO_FORMATTED_VALUE_CELL)
+        );
+
+        this.checkEquals(
+            Optional.of(
+                this.formatCell(
+                    a1Cell,
+                    1 + 2
+                )
+            ),
+            engine.loadCells(
+                a1Cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+            ).cell(a1Cell.reference())
+        );
+    }
+
     @Test
     public void testSaveCellFormulaRefreshesReference2() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -5666,15 +5948,8 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
     }
 
     @Test
-    public void testSaveCellValidatorFails() {
-        final ValidationErrorList<SpreadsheetValidationReference> validationError = SpreadsheetForms.errorList()
-            .concat(
-                SpreadsheetForms.error(SpreadsheetSelection.A1)
-                    .setMessage("ValidationConverterErrorMessage")
-            );
-
+    public void testLoadCellComputeIfNecessarySkipsValidationOfUnchangedValue() {
         final ConverterSelector formulaConverterSelector = ConverterSelector.parse("null-to-number");
-        final ConverterSelector formattingConverterSelector = ConverterSelector.parse("text");
         final ConverterSelector validationConverterSelector = ConverterSelector.parse("fake");
         final ValidatorSelector validatorSelector = ValidatorSelector.parse("test-validator-123");
 
@@ -5682,16 +5957,11 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
             SpreadsheetMetadataPropertyName.CONVERTERS,
             ConverterAliasSet.EMPTY
                 .concat(
-                    ConverterAlias.parse("null-to-number")
-                ).concat(
-                    ConverterAlias.parse("text")
+                    ConverterAlias.parse(formulaConverterSelector.text())
                 )
         ).set(
             SpreadsheetMetadataPropertyName.FORMULA_CONVERTER,
             formulaConverterSelector
-        ).set(
-            SpreadsheetMetadataPropertyName.FORMATTING_CONVERTER,
-            formattingConverterSelector
         ).set(
             SpreadsheetMetadataPropertyName.VALIDATION_CONVERTER,
             validationConverterSelector
@@ -5703,6 +5973,8 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
             ValidatorAliasSet.parse(validatorSelector.valueText())
         );
 
+        final List<Object> validated = Lists.array();
+
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
         final SpreadsheetEngineContext context = SpreadsheetEngineContexts.spreadsheetContext(
             SpreadsheetMetadataMode.FORMULA,
@@ -5716,15 +5988,20 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
                                                                                    final List<?> values,
                                                                                    final ProviderContext context) {
                             if (formulaConverterSelector.name().equals(name)) {
-                                return CONVERTER_PROVIDER.converter(name, values, context);
-                            }
-                            if (formattingConverterSelector.name().equals(name)) {
-                                return CONVERTER_PROVIDER.converter(name, values, context);
+                                return Cast.to(
+                                    SpreadsheetConverters.nullToNumber()
+                                );
                             }
                             if (validationConverterSelector.name().equals(name)) {
-                                return Converters.fake();
+                                return Cast.to(
+                                    Converters.fake()
+                                );
                             }
-                            throw new IllegalArgumentException("Unknown converter " + name);
+                            return CONVERTER_PROVIDER.converter(
+                                name,
+                                values,
+                                context
+                            );
                         }
                     },
                     EXPRESSION_FUNCTION_PROVIDER,
@@ -5744,7 +6021,8 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
                                         @Override
                                         public List<ValidationError<SpreadsheetValidationReference>> validate(final Object value,
                                                                                                               final SpreadsheetValidatorContext context) {
-                                            return validationError;
+                                            validated.add(value);
+                                            return this.noValidationErrors();
                                         }
                                     }
                                 );
@@ -5758,49 +6036,207 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
 
         final Object value = "Value123";
-        final SpreadsheetFormula a1Formula = SpreadsheetFormula.EMPTY.setValue(
-            Optional.of(value)
-        );
-        final SpreadsheetCell a1Cell = SpreadsheetSelection.A1.setFormula(a1Formula)
-            .setValidator(
-                Optional.of(validatorSelector)
-            ).setStyle(STYLE);
-
-        final SpreadsheetCell a1FormattedCell = a1Cell.setFormula(
-            a1Cell.formula()
-                .setError(
-                    SpreadsheetError.validationErrors(validationError)
-                )
-        ).setFormattedValue(
-            Optional.of(
-                TextNode.text("#ERROR " + FORMATTED_PATTERN_SUFFIX)
-                    .setTextStyle(STYLE)
+        final SpreadsheetCell a1Cell = SpreadsheetSelection.A1.setFormula(
+            SpreadsheetFormula.EMPTY.setValue(
+                Optional.of(value)
             )
-        );
+        ).setValidator(
+            Optional.of(validatorSelector)
+        ).setStyle(STYLE);
 
-        this.saveCellAndCheck(
-            engine,
+        engine.saveCell(
             a1Cell,
-            context,
-            SpreadsheetDelta.EMPTY
-                .setCells(
-                    Sets.of(a1FormattedCell)
-                ).setColumnWidths(
-                    columnWidths("A")
-                ).setRowHeights(
-                    rowHeights("1")
-                ).setColumnCount(
-                    OptionalInt.of(1)
-                ).setRowCount(
-                    OptionalInt.of(1)
-                )
+            context
         );
-    }
 
-    @Test
-    public void testSaveCellValidatorWithValidationConverter() {
-        final Object converterInput = this;
-        final ValidationErrorList<SpreadsheetValidationReference> converterOutput = SpreadsheetForms.errorList()
+        this.checkEquals(
+            Lists.of(value),
+            validated,
+            "validated after save"
+        );
+
+        this.checkEquals(
+            Sets.of(
+                this.formatCell(a1Cell)
+            ),
+            engine.loadCells(
+                a1Cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+            ).cells(),
+            "loadCells COMPUTE_IF_NECESSARY"
+        );
+
+        this.checkEquals(
+            Lists.of(value),
+            validated,
+            "COMPUTE_IF_NECESSARY should not validate an unchanged value again"
+        );
+
+        engine.loadCells(
+            a1Cell.reference(),
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            SpreadsheetDeltaProperties.ALL,
+            context
+        );
+
+        this.checkEquals(
+            Lists.of(value),
+            validated,
+            "second COMPUTE_IF_NECESSARY should not validate an unchanged value again"
+        );
+
+        engine.loadCells(
+            a1Cell.reference(),
+            SpreadsheetEngineEvaluation.FORCE_RECOMPUTE,
+            SpreadsheetDeltaProperties.ALL,
+            context
+        );
+
+        this.checkEquals(
+            Lists.of(value, value),
+            validated,
+            "FORCE_RECOMPUTE should validate again"
+        );
+    }
+
+    @Test
+    public void testSaveCellValidatorFails() {
+        final ValidationErrorList<SpreadsheetValidationReference> validationError = SpreadsheetForms.errorList()
+            .concat(
+                SpreadsheetForms.error(SpreadsheetSelection.A1)
+                    .setMessage("ValidationConverterErrorMessage")
+            );
+
+        final ConverterSelector formulaConverterSelector = ConverterSelector.parse("null-to-number");
+        final ConverterSelector formattingConverterSelector = ConverterSelector.parse("text");
+        final ConverterSelector validationConverterSelector = ConverterSelector.parse("fake");
+        final ValidatorSelector validatorSelector = ValidatorSelector.parse("test-validator-123");
+
+        final SpreadsheetMetadata metadata = METADATA.set(
+            SpreadsheetMetadataPropertyName.CONVERTERS,
+            ConverterAliasSet.EMPTY
+                .concat(
+                    ConverterAlias.parse("null-to-number")
+                ).concat(
+                    ConverterAlias.parse("text")
+                )
+        ).set(
+            SpreadsheetMetadataPropertyName.FORMULA_CONVERTER,
+            formulaConverterSelector
+        ).set(
+            SpreadsheetMetadataPropertyName.FORMATTING_CONVERTER,
+            formattingConverterSelector
+        ).set(
+            SpreadsheetMetadataPropertyName.VALIDATION_CONVERTER,
+            validationConverterSelector
+        ).set(
+            SpreadsheetMetadataPropertyName.VALIDATORS,
+            ValidatorAliasSet.parse(validatorSelector.valueText())
+        ).set(
+            SpreadsheetMetadataPropertyName.VALIDATION_VALIDATORS,
+            ValidatorAliasSet.parse(validatorSelector.valueText())
+        );
+
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = SpreadsheetEngineContexts.spreadsheetContext(
+            SpreadsheetMetadataMode.FORMULA,
+            new TestSpreadsheetContext(
+                metadata,
+                spreadsheetStoreRepository(),
+                SpreadsheetProviders.basic(
+                    new FakeConverterProvider() {
+                        @Override
+                        public <C extends ConverterContext> Converter<C> converter(final ConverterName name,
+                                                                                   final List<?> values,
+                                                                                   final ProviderContext context) {
+                            if (formulaConverterSelector.name().equals(name)) {
+                                return CONVERTER_PROVIDER.converter(name, values, context);
+                            }
+                            if (formattingConverterSelector.name().equals(name)) {
+                                return CONVERTER_PROVIDER.converter(name, values, context);
+                            }
+                            if (validationConverterSelector.name().equals(name)) {
+                                return Converters.fake();
+                            }
+                            throw new IllegalArgumentException("Unknown converter " + name);
+                        }
+                    },
+                    EXPRESSION_FUNCTION_PROVIDER,
+                    SPREADSHEET_COMPARATOR_PROVIDER,
+                    SPREADSHEET_EXPORTER_PROVIDER,
+                    SPREADSHEET_FORMATTER_PROVIDER,
+                    FormHandlerProviders.fake(),
+                    SPREADSHEET_IMPORTER_PROVIDER,
+                    SPREADSHEET_PARSER_PROVIDER,
+                    new FakeValidatorProvider() {
+                        @Override
+                        public <R extends ValidationReference, C extends ValidatorContext<R>> Validator<R, C> validator(final ValidatorSelector selector,
+                                                                                                                        final ProviderContext context) {
+                            if (validatorSelector.equals(selector)) {
+                                return Cast.to(
+                                    new FakeValidator<SpreadsheetValidationReference, SpreadsheetValidatorContext>() {
+                                        @Override
+                                        public List<ValidationError<SpreadsheetValidationReference>> validate(final Object value,
+                                                                                                              final SpreadsheetValidatorContext context) {
+                                            return validationError;
+                                        }
+                                    }
+                                );
+                            }
+                            throw new IllegalArgumentException("Unknown validator " + validatorSelector);
+                        }
+                    }
+                )
+            ),
+            TERMINAL_CONTEXT
+        );
+
+        final Object value = "Value123";
+        final SpreadsheetFormula a1Formula = SpreadsheetFormula.EMPTY.setValue(
+            Optional.of(value)
+        );
+        final SpreadsheetCell a1Cell = SpreadsheetSelection.A1.setFormula(a1Formula)
+            .setValidator(
+                Optional.of(validatorSelector)
+            ).setStyle(STYLE);
+
+        final SpreadsheetCell a1FormattedCell = a1Cell.setFormula(
+            a1Cell.formula()
+                .setError(
+                    SpreadsheetError.validationErrors(validationError)
+                )
+        ).setFormattedValue(
+            Optional.of(
+                TextNode.text("#ERROR " + FORMATTED_PATTERN_SUFFIX)
+                    .setTextStyle(STYLE)
+            )
+        );
+
+        this.saveCellAndCheck(
+            engine,
+            a1Cell,
+            context,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(a1FormattedCell)
+                ).setColumnWidths(
+                    columnWidths("A")
+                ).setRowHeights(
+                    rowHeights("1")
+                ).setColumnCount(
+                    OptionalInt.of(1)
+                ).setRowCount(
+                    OptionalInt.of(1)
+                )
+        );
+    }
+
+    @Test
+    public void testSaveCellValidatorWithValidationConverter() {
+        final Object converterInput = this;
+        final ValidationErrorList<SpreadsheetValidationReference> converterOutput = SpreadsheetForms.errorList()
             .concat(
                 SpreadsheetForms.error(SpreadsheetSelection.A1)
                     .setMessage("ValidationConverterErrorMessage")
@@ -15486,6 +15922,198 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    @Test
+    public void testLoadMultipleCellRangesDeletedCellsAroundPresentCells() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+            .cells();
+
+        final SpreadsheetCell b1 = this.cell(
+            "b1",
+            "=1"
+        );
+        cellStore.save(b1);
+
+        final SpreadsheetCell b3 = this.cell(
+            "b3",
+            "=3"
+        );
+        cellStore.save(b3);
+
+        final SpreadsheetViewportWindows window = SpreadsheetViewportWindows.parse("A1:C3");
+
+        this.loadMultipleCellRangesAndCheck(
+            engine,
+            window.cellRanges(),
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            SpreadsheetDeltaProperties.ALL,
+            context,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        this.formatCell(
+                            b1,
+                            1
+                        ),
+                        this.formatCell(
+                            b3,
+                            3
+                        )
+                    )
+                ).setDeletedCells(
+                    SpreadsheetCellReferenceSet.parse("A1,C1,A2,B2,C2,A3,C3")
+                ).setColumnWidths(
+                    columnWidths("A,B,C")
+                ).setRowHeights(
+                    rowHeights("1,2,3")
+                ).setColumnCount(
+                    OptionalInt.of(2)
+                ).setRowCount(
+                    OptionalInt.of(3)
+                ).setWindow(window)
+        );
+    }
+
+    @Test
+    public void testLoadMultipleCellRangesDeletedCellsIncludesMissingReferencedCell() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCellReference b1 = SpreadsheetSelection.parseCell("B1");
+        context.storeRepository()
+            .cells()
+            .save(
+                b1.setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=2+A1")
+                )
+            );
+
+        final SpreadsheetViewportWindows window = SpreadsheetViewportWindows.parse("A1:B2");
+
+        // A1 is missing but referenced by B1
+        this.loadMultipleCellRangesAndCheck(
+            engine,
+            window.cellRanges(),
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            Sets.of(
+                SpreadsheetDeltaProperties.CELLS,
+                SpreadsheetDeltaProperties.DELETED_CELLS
+            ),
+            context,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        this.loadCellOrFail(
+                            engine,
+                            b1,
+                            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                            context
+                        )
+                    )
+                ).setDeletedCells(
+                    SpreadsheetCellReferenceSet.parse("A1,A2,B2")
+                ).setWindow(window)
+        );
+    }
+
+    @Test
+    public void testLoadMultipleCellRangesChangedSince() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.A1;
+        engine.saveCell(
+            this.cell(
+                a1,
+                "=1"
+            ),
+            context
+        );
+
+        final SpreadsheetCellReference b2 = SpreadsheetSelection.parseCell("B2");
+        engine.saveCell(
+            this.cell(
+                b2,
+                "=2"
+            ),
+            context
+        );
+
+        final long version = engine.cellsVersion(context);
+
+        final SpreadsheetCellReference c3 = SpreadsheetSelection.parseCell("C3");
+        engine.saveCell(
+            this.cell(
+                c3,
+                "=3"
+            ),
+            context
+        );
+        engine.deleteCells(
+            b2,
+            context
+        );
+
+        final SpreadsheetDelta delta = engine.loadMultipleCellRangesChangedSince(
+            Sets.of(
+                SpreadsheetSelection.parseCellRange("A1:C3")
+            ),
+            version,
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            Sets.of(
+                SpreadsheetDeltaProperties.CELLS,
+                SpreadsheetDeltaProperties.DELETED_CELLS
+            ),
+            context
+        );
+
+        this.checkEquals(
+            Sets.of(c3),
+            delta.cells()
+                .stream()
+                .map(SpreadsheetCell::reference)
+                .collect(Collectors.toSet()),
+            "cells"
+        );
+        this.checkEquals(
+            Sets.of(b2),
+            delta.deletedCells(),
+            "deletedCells"
+        );
+    }
+
+    @Test
+    public void testLoadMultipleCellRangesChangedSinceNothingChanged() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        engine.saveCell(
+            this.cell(
+                SpreadsheetSelection.A1,
+                "=1"
+            ),
+            context
+        );
+
+        this.checkEquals(
+            SpreadsheetDelta.EMPTY,
+            engine.loadMultipleCellRangesChangedSince(
+                Sets.of(
+                    SpreadsheetSelection.parseCellRange("A1:C3")
+                ),
+                engine.cellsVersion(context),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(
+                    SpreadsheetDeltaProperties.CELLS,
+                    SpreadsheetDeltaProperties.DELETED_CELLS
+                ),
+                context
+            )
+        );
+    }
+
     @Test
     public void testLoadMultipleCellRangesNothingWithColumns() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -16723,6 +17351,83 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
 
     // fill save with missing SpreadsheetCellReferenceSet.parse......................................................................................
 
+    @Test
+    public void testFillCellsWithEmptyDeletesDifferentRange() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+            .cells();
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.A1;
+        cellStore.save(
+            this.cell(
+                a1,
+                "=1+0"
+            )
+        );
+
+        final SpreadsheetCellReference c3 = SpreadsheetSelection.parseCell("C3");
+        cellStore.save(
+            this.cell(
+                c3,
+                "=2+0"
+            )
+        );
+
+        final SpreadsheetCellReference d4 = SpreadsheetSelection.parseCell("D4");
+        cellStore.save(
+            this.cell(
+                d4,
+                "=3+0"
+            )
+        );
+
+        final SpreadsheetCellReference k11 = SpreadsheetSelection.parseCell("K11");
+        cellStore.save(
+            this.cell(
+                k11,
+                "=4+0"
+            )
+        );
+
+        // the empty from A1 is filled into C3:D4 deleting its cells, A1 and K11 are untouched
+        this.fillCellsAndCheck(
+            engine,
+            SpreadsheetDelta.NO_CELLS,
+            a1.toCellRange(),
+            c3.cellRange(d4),
+            context,
+            SpreadsheetDelta.EMPTY
+                .setDeletedCells(
+                    Sets.of(c3, d4)
+                ).setColumnWidths(
+                    columnWidths("C,D")
+                ).setRowHeights(
+                    rowHeights("3,4")
+                ).setColumnCount(
+                    OptionalInt.of(11)
+                ).setRowCount(
+                    OptionalInt.of(11)
+                )
+        );
+
+        this.countAndCheck(
+            cellStore,
+            2
+        );
+        this.checkEquals(
+            Optional.empty(),
+            cellStore.load(c3),
+            "C3 deleted"
+        );
+        this.checkNotEquals(
+            Optional.empty(),
+            cellStore.load(a1),
+            "A1 untouched"
+        );
+    }
+
     @Test
     public void testFillCellsWithSaveWithMissingCells() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -17960,6 +18665,99 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         this.countAndCheck(cellStore, 2 + 2);
     }
 
+    @Test
+    public void testFillCellsWithExpressionRelativeCellReferenceFixedSeveralTiles() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+            .cells();
+
+        final SpreadsheetCell cellB = this.cell(
+            "B2",
+            "=2"
+        );
+        final SpreadsheetCell cellC = this.cell(
+            "C3",
+            "=3+B2"
+        );
+
+        cellStore.save(cellB);
+        cellStore.save(cellC);
+
+        // 2x2 repeated twice across and twice down
+        this.fillCellsAndCheck(
+            engine,
+            Lists.of(
+                cellB,
+                cellC
+            ),
+            cellB.reference()
+                .cellRange(
+                    cellC.reference()
+                ),
+            SpreadsheetSelection.parseCellRange("E5:H8"),
+            context,
+            SpreadsheetDelta.EMPTY
+                .setCells(
+                    Sets.of(
+                        this.formatCell(
+                            "E5",
+                            "=2",
+                            2
+                        ),
+                        this.formatCell(
+                            "F6",
+                            "=3+E5",
+                            3 + 2
+                        ),
+                        this.formatCell(
+                            "G5",
+                            "=2",
+                            2
+                        ),
+                        this.formatCell(
+                            "H6",
+                            "=3+G5",
+                            3 + 2
+                        ),
+                        this.formatCell(
+                            "E7",
+                            "=2",
+                            2
+                        ),
+                        this.formatCell(
+                            "F8",
+                            "=3+E7",
+                            3 + 2
+                        ),
+                        this.formatCell(
+                            "G7",
+                            "=2",
+                            2
+                        ),
+                        this.formatCell(
+                            "H8",
+                            "=3+G7",
+                            3 + 2
+                        )
+                    )
+                ).setReferences(
+                    references("E5=F6;G5=H6;E7=F8;G7=H8")
+                ).setColumnWidths(
+                    columnWidths("E,F,G,H")
+                ).setRowHeights(
+                    rowHeights("5,6,7,8")
+                ).setColumnCount(
+                    OptionalInt.of(8)
+                ).setRowCount(
+                    OptionalInt.of(8)
+                )
+        );
+
+        this.countAndCheck(cellStore, 2 + 8);
+    }
+
     @Test
     public void testFillCellsWithExternalCellReferencesRefreshed() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.viewport.SpreadsheetViewport;
+import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ReadWriteLockSpreadsheetEngineTest implements ClassTesting<ReadWriteLockSpreadsheetEngine>,
+    ToStringTesting<ReadWriteLockSpreadsheetEngine> {
+
+    private final static SpreadsheetViewport VIEWPORT = SpreadsheetSelection.A1.viewportRectangle(100, 40)
+        .viewport();
+
+    @Test
+    public void testWithNullEngineFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ReadWriteLockSpreadsheetEngine.with(
+                null,
+                new ReentrantReadWriteLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLockFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ReadWriteLockSpreadsheetEngine.with(
+                SpreadsheetEngines.fake(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWindowReadLocked() {
+        final List<String> events = Lists.array();
+
+        final ReadWriteLockSpreadsheetEngine engine = ReadWriteLockSpreadsheetEngine.with(
+            new FakeSpreadsheetEngine() {
+                @Override
+                public SpreadsheetViewportWindows window(final SpreadsheetViewport viewport,
+                                                         final SpreadsheetEngineContext context) {
+                    events.add("window");
+                    return SpreadsheetViewportWindows.EMPTY;
+                }
+            },
+            this.lock(events)
+        );
+
+        assertSame(
+            SpreadsheetViewportWindows.EMPTY,
+            engine.window(
+                VIEWPORT,
+                SpreadsheetEngineContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "read lock",
+                "window",
+                "read unlock"
+            ),
+            events
+        );
+    }
+
+    @Test
+    public void testLoadCellsSkipEvaluateReadLocked() {
+        this.loadCellsAndCheck(
+            SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+            "read"
+        );
+    }
+
+    @Test
+    public void testLoadCellsComputeIfNecessaryWriteLocked() {
+        this.loadCellsAndCheck(
+            SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+            "write"
+        );
+    }
+
+    private void loadCellsAndCheck(final SpreadsheetEngineEvaluation evaluation,
+                                   final String lock) {
+        final List<String> events = Lists.array();
+
+        final ReadWriteLockSpreadsheetEngine engine = ReadWriteLockSpreadsheetEngine.with(
+            new FakeSpreadsheetEngine() {
+                @Override
+                public SpreadsheetDelta loadCells(final SpreadsheetSelection selection,
+                                                  final SpreadsheetEngineEvaluation e,
+                                                  final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                  final SpreadsheetEngineContext context) {
+                    events.add("loadCells");
+                    return SpreadsheetDelta.EMPTY;
+                }
+            },
+            this.lock(events)
+        );
+
+        assertSame(
+            SpreadsheetDelta.EMPTY,
+            engine.loadCells(
+                SpreadsheetSelection.A1,
+                evaluation,
+                SpreadsheetDeltaProperties.ALL,
+                SpreadsheetEngineContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                lock + " lock",
+                "loadCells",
+                lock + " unlock"
+            ),
+            events
+        );
+    }
+
+    @Test
+    public void testSaveCellWriteLockedUnlocksAfterFailure() {
+        final List<String> events = Lists.array();
+
+        final ReadWriteLockSpreadsheetEngine engine = ReadWriteLockSpreadsheetEngine.with(
+            new FakeSpreadsheetEngine() {
+                @Override
+                public SpreadsheetDelta saveCell(final SpreadsheetCell cell,
+                                                 final SpreadsheetEngineContext context) {
+                    events.add("saveCell");
+                    throw new UnsupportedOperationException();
+                }
+            },
+            this.lock(events)
+        );
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> engine.saveCell(
+                SpreadsheetSelection.A1.setFormula(
+                    SpreadsheetFormula.EMPTY
+                ),
+                SpreadsheetEngineContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "write lock",
+                "saveCell",
+                "write unlock"
+            ),
+            events
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetEngine engine = SpreadsheetEngines.fake();
+
+        this.toStringAndCheck(
+            ReadWriteLockSpreadsheetEngine.with(
+                engine,
+                new ReentrantReadWriteLock()
+            ),
+            engine.toString()
+        );
+    }
+
+    private ReadWriteLock lock(final List<String> events) {
+        return new ReadWriteLock() {
+            @Override
+            public Lock readLock() {
+                return lock("read", events);
+            }
+
+            @Override
+            public Lock writeLock() {
+                return lock("write", events);
+            }
+        };
+    }
+
+    private static Lock lock(final String name,
+                             final List<String> events) {
+        return new Lock() {
+            @Override
+            public void lock() {
+                events.add(name + " lock");
+            }
+
+            @Override
+            public void lockInterruptibly() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean tryLock() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean tryLock(final long time,
+                                   final TimeUnit unit) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void unlock() {
+                events.add(name + " unlock");
+            }
+
+            @Override
+            public Condition newCondition() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ReadWriteLockSpreadsheetEngine> type() {
+        return ReadWriteLockSpreadsheetEngine.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
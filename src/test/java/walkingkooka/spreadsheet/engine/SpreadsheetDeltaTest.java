@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.engine;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
@@ -28,15 +29,18 @@ import walkingkooka.currency.CurrencyCodeLanguageTagContext;
 import walkingkooka.datetime.DateTimeSymbols;
 import walkingkooka.locale.LocaleLanguageTag;
 import walkingkooka.math.DecimalNumberSymbols;
+import walkingkooka.net.header.MediaType;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.ThrowableTesting;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetPattern;
 import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.net.SpreadsheetMediaTypes;
 import walkingkooka.spreadsheet.parser.provider.SpreadsheetParserSelector;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceOrRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReferenceSet;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
@@ -49,6 +53,7 @@ import walkingkooka.spreadsheet.viewport.SpreadsheetViewport;
 import walkingkooka.spreadsheet.viewport.SpreadsheetViewportAnchor;
 import walkingkooka.spreadsheet.viewport.SpreadsheetViewportWindows;
 import walkingkooka.text.printer.TreePrintableTesting;
+import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionNumberKind;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonObject;
@@ -58,9 +63,11 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContextTesting;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallException;
 import walkingkooka.tree.json.patch.PatchableTesting;
 import walkingkooka.tree.text.FontStyle;
 import walkingkooka.tree.text.TextAlign;
+import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextStyle;
 import walkingkooka.tree.text.TextStylePropertyName;
 import walkingkooka.validation.ValueType;
@@ -5619,6 +5626,328 @@ public final class SpreadsheetDeltaTest implements ClassTesting2<SpreadsheetDelt
         );
     }
 
+    // compact json.....................................................................................................
+
+    @Test
+    public void testMarshallCompactWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetDelta.EMPTY.marshallCompact(null)
+        );
+    }
+
+    @Test
+    public void testUnmarshallCompactWithNullNodeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetDelta.unmarshallCompact(
+                null,
+                this.createPatchContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallCompactWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetDelta.unmarshallCompact(
+                JsonNode.object(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallCompactWithoutCells() {
+        final SpreadsheetDelta delta = SpreadsheetDelta.EMPTY.setDeletedCells(
+            SpreadsheetCellReferenceSet.parse("A1,B2")
+        );
+
+        this.checkEquals(
+            marshall(delta),
+            delta.marshallCompact(JSON_NODE_MARSHALL_CONTEXT)
+        );
+    }
+
+    @Test
+    public void testMarshallCompactInternsRepeatedStyles() {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.COLOR,
+            Color.BLACK
+        );
+        final TextStyle style2 = TextStyle.EMPTY.set(
+            TextStylePropertyName.COLOR,
+            Color.WHITE
+        );
+
+        final SpreadsheetDelta delta = SpreadsheetDelta.EMPTY.setCells(
+            Sets.of(
+                SpreadsheetSelection.A1.setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=1")
+                ).setStyle(style),
+                SpreadsheetSelection.parseCell("A2")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("=2")
+                    ).setStyle(style2),
+                SpreadsheetSelection.parseCell("A3")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("=3")
+                    ).setStyle(style)
+            )
+        );
+
+        final JsonPropertyName styleProperty = SpreadsheetCell.STYLE_PROPERTY;
+
+        this.checkEquals(
+            JsonNode.object()
+                .set(
+                    SpreadsheetDelta.CELLS_PROPERTY,
+                    JsonNode.object()
+                        .set(
+                            JsonPropertyName.with("A1"),
+                            JsonNode.object()
+                                .set(
+                                    SpreadsheetDelta.FORMULA_PROPERTY,
+                                    marshall(SpreadsheetFormula.EMPTY.setText("=1"))
+                                ).set(
+                                    styleProperty,
+                                    JsonNode.number(0)
+                                )
+                        ).set(
+                            JsonPropertyName.with("A2"),
+                            JsonNode.object()
+                                .set(
+                                    SpreadsheetDelta.FORMULA_PROPERTY,
+                                    marshall(SpreadsheetFormula.EMPTY.setText("=2"))
+                                ).set(
+                                    styleProperty,
+                                    JsonNode.number(1)
+                                )
+                        ).set(
+                            JsonPropertyName.with("A3"),
+                            JsonNode.object()
+                                .set(
+                                    SpreadsheetDelta.FORMULA_PROPERTY,
+                                    marshall(SpreadsheetFormula.EMPTY.setText("=3"))
+                                ).set(
+                                    styleProperty,
+                                    JsonNode.number(0)
+                                )
+                        )
+                ).set(
+                    JsonPropertyName.with("dictionary"),
+                    JsonNode.object()
+                        .set(
+                            styleProperty,
+                            JsonNode.array()
+                                .setChildren(
+                                    Lists.of(
+                                        marshall(style),
+                                        marshall(style2)
+                                    )
+                                )
+                        )
+                ),
+            delta.marshallCompact(JSON_NODE_MARSHALL_CONTEXT)
+        );
+    }
+
+    @Test
+    public void testMarshallCompactUnmarshallCompactRoundtrip() {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.FONT_STYLE,
+            FontStyle.ITALIC
+        );
+        final Optional<SpreadsheetFormatterSelector> formatter = Optional.of(
+            SpreadsheetFormatterSelector.parse("number-format-pattern #,##0.00")
+        );
+
+        final SpreadsheetDelta delta = SpreadsheetDelta.EMPTY.setCells(
+            Sets.of(
+                SpreadsheetSelection.A1.setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=1")
+                ).setStyle(style)
+                    .setFormatter(formatter),
+                SpreadsheetSelection.parseCell("B2")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("=2")
+                    ).setStyle(style)
+                    .setFormatter(formatter),
+                SpreadsheetSelection.parseCell("C3")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("'Hello")
+                    )
+            )
+        ).setDeletedCells(
+            SpreadsheetCellReferenceSet.parse("D4")
+        );
+
+        this.checkEquals(
+            delta,
+            SpreadsheetDelta.unmarshallCompact(
+                delta.marshallCompact(JSON_NODE_MARSHALL_CONTEXT),
+                this.createPatchContext()
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallCompactUnmarshallCompactDropsFormulaExpression() {
+        final SpreadsheetFormula formula = SpreadsheetFormula.EMPTY.setText("'Hello")
+            .setExpression(
+                Optional.of(
+                    Expression.value("Hello")
+                )
+            ).setValue(
+                Optional.of("Hello")
+            );
+
+        final SpreadsheetCell cell = SpreadsheetSelection.A1.setFormula(formula)
+            .setFormattedValue(
+                Optional.of(
+                    TextNode.text("Hello")
+                )
+            );
+
+        this.checkEquals(
+            SpreadsheetDelta.EMPTY.setCells(
+                Sets.of(
+                    cell.setFormula(
+                        formula.replaceExpression(SpreadsheetFormula.NO_EXPRESSION)
+                    ).setFormattedValue(
+                        cell.formattedValue()
+                    )
+                )
+            ),
+            SpreadsheetDelta.unmarshallCompact(
+                SpreadsheetDelta.EMPTY.setCells(
+                    Sets.of(cell)
+                ).marshallCompact(JSON_NODE_MARSHALL_CONTEXT),
+                this.createPatchContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallCompactWithUnknownDictionaryIndexFails() {
+        assertThrows(
+            JsonNodeUnmarshallException.class,
+            () -> SpreadsheetDelta.unmarshallCompact(
+                JsonNode.object()
+                    .set(
+                        SpreadsheetDelta.CELLS_PROPERTY,
+                        JsonNode.object()
+                            .set(
+                                JsonPropertyName.with("A1"),
+                                JsonNode.object()
+                                    .set(
+                                        SpreadsheetCell.STYLE_PROPERTY,
+                                        JsonNode.number(0)
+                                    )
+                            )
+                    ),
+                this.createPatchContext()
+            )
+        );
+    }
+
+    // marshall MediaType...............................................................................................
+
+    @Test
+    public void testMarshallWithNullContentTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetDelta.EMPTY.marshall(
+                null,
+                JSON_NODE_MARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallWithUnsupportedContentTypeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetDelta.EMPTY.marshall(
+                MediaType.TEXT_PLAIN,
+                JSON_NODE_MARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallWithJsonContentType() {
+        final SpreadsheetDelta delta = this.contentTypeDelta();
+
+        this.checkEquals(
+            marshall(delta),
+            delta.marshall(
+                SpreadsheetMediaTypes.JSON_DELTA,
+                JSON_NODE_MARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallWithCompactJsonContentType() {
+        final SpreadsheetDelta delta = this.contentTypeDelta();
+
+        this.checkEquals(
+            delta.marshallCompact(JSON_NODE_MARSHALL_CONTEXT),
+            delta.marshall(
+                SpreadsheetMediaTypes.COMPACT_JSON_DELTA,
+                JSON_NODE_MARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallWithCompactJsonContentType() {
+        final SpreadsheetDelta delta = this.contentTypeDelta();
+
+        this.checkEquals(
+            delta,
+            SpreadsheetDelta.unmarshall(
+                delta.marshall(
+                    SpreadsheetMediaTypes.COMPACT_JSON_DELTA,
+                    JSON_NODE_MARSHALL_CONTEXT
+                ),
+                SpreadsheetMediaTypes.COMPACT_JSON_DELTA,
+                this.createPatchContext()
+            )
+        );
+    }
+
+    @Test
+    public void testUnmarshallWithUnsupportedContentTypeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetDelta.unmarshall(
+                JsonNode.object(),
+                MediaType.TEXT_PLAIN,
+                this.createPatchContext()
+            )
+        );
+    }
+
+    private SpreadsheetDelta contentTypeDelta() {
+        return SpreadsheetDelta.EMPTY.setCells(
+            Sets.of(
+                SpreadsheetSelection.A1.setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=1")
+                ).setStyle(
+                    TextStyle.EMPTY.set(
+                        TextStylePropertyName.FONT_STYLE,
+                        FontStyle.ITALIC
+                    )
+                )
+            )
+        ).setDeletedCells(
+            SpreadsheetCellReferenceSet.parse("B2")
+        );
+    }
+
     // ClassTesting.....................................................................................................
 
     @Override
@@ -65,9 +65,12 @@ import walkingkooka.text.cursor.TextCursorSavePoint;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.text.TextNode;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -239,6 +242,207 @@ public final class SpreadsheetMetadataStampingSpreadsheetEngineTest implements S
         this.loadMetadataAndCheckUpdated(context);
     }
 
+    @Test
+    public void testLoadCellSkipEvaluateNotStamped() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = SpreadsheetMetadataStampingSpreadsheetEngine.with(
+            new FakeSpreadsheetEngine() {
+                @Override
+                public SpreadsheetDelta loadCells(final SpreadsheetSelection selection,
+                                                  final SpreadsheetEngineEvaluation evaluation,
+                                                  final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                                  final SpreadsheetEngineContext context) {
+                    context.storeRepository()
+                        .cells()
+                        .save(CELL);
+                    return SpreadsheetDelta.EMPTY;
+                }
+            },
+            this.stamper()
+        );
+        final SpreadsheetEngineContext context = this.createContext();
+
+        engine.loadCells(
+            CELL.reference(),
+            SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+            SpreadsheetDeltaProperties.ALL,
+            context
+        );
+
+        this.loadMetadataAndCheckNotUpdated(context);
+    }
+
+    @Test
+    public void testWithNullIntervalFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetMetadataStampingSpreadsheetEngine.with(
+                SpreadsheetEngines.fake(),
+                Function.identity(),
+                null,
+                LocalDateTime::now
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetMetadataStampingSpreadsheetEngine.with(
+                SpreadsheetEngines.fake(),
+                Function.identity(),
+                Duration.ZERO,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithNegativeIntervalFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetMetadataStampingSpreadsheetEngine.with(
+                SpreadsheetEngines.fake(),
+                Function.identity(),
+                Duration.ofSeconds(-1),
+                LocalDateTime::now
+            )
+        );
+    }
+
+    @Test
+    public void testSaveCellWithinIntervalNotStamped() {
+        final LocalDateTime now = LocalDateTime.of(2000, 1, 1, 12, 0);
+        final List<LocalDateTime> times = Lists.array();
+        times.add(now);
+        times.add(now.plusSeconds(59));
+
+        this.saveCellTwiceAndCheck(
+            times,
+            false
+        );
+    }
+
+    @Test
+    public void testSaveCellAfterIntervalStamped() {
+        final LocalDateTime now = LocalDateTime.of(2000, 1, 1, 12, 0);
+        final List<LocalDateTime> times = Lists.array();
+        times.add(now);
+        times.add(now.plusSeconds(60));
+
+        this.saveCellTwiceAndCheck(
+            times,
+            true
+        );
+    }
+
+    @Test
+    public void testSaveCellWithinIntervalStampedByNextCallAfterInterval() {
+        final LocalDateTime now = LocalDateTime.of(2000, 1, 1, 12, 0);
+        final List<LocalDateTime> times = Lists.array();
+        times.add(now);
+        times.add(now.plusSeconds(59));
+        times.add(now.plusSeconds(60));
+
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.saveCellTwiceAndCheck(
+            times,
+            context,
+            false
+        );
+
+        // saves nothing but stamps the changes pending from the second save
+        engine.deleteColumns(
+            SpreadsheetSelection.parseColumn("Z"),
+            1,
+            context
+        );
+
+        this.loadMetadataAndCheckUpdated(context);
+    }
+
+    @Test
+    public void testSaveCellWithinIntervalNotStampedUntilCallAfterInterval() {
+        final LocalDateTime now = LocalDateTime.of(2000, 1, 1, 12, 0);
+        final List<LocalDateTime> times = Lists.array();
+        times.add(now);
+        times.add(now.plusSeconds(30));
+        times.add(now.plusSeconds(59));
+        times.add(now.plusSeconds(60));
+
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.saveCellTwiceAndCheck(
+            times,
+            context,
+            false
+        );
+
+        // the interval has not passed, the changes pending from the second save remain unstamped
+        engine.deleteColumns(
+            SpreadsheetSelection.parseColumn("Z"),
+            1,
+            context
+        );
+
+        this.loadMetadataAndCheckNotUpdated(context);
+
+        // there is no timer, pending changes are stamped by the first call after the interval
+        engine.deleteColumns(
+            SpreadsheetSelection.parseColumn("Z"),
+            1,
+            context
+        );
+
+        this.loadMetadataAndCheckUpdated(context);
+    }
+
+    private void saveCellTwiceAndCheck(final List<LocalDateTime> times,
+                                       final boolean stamped) {
+        this.saveCellTwiceAndCheck(
+            times,
+            this.createContext(),
+            stamped
+        );
+    }
+
+    private SpreadsheetMetadataStampingSpreadsheetEngine saveCellTwiceAndCheck(final List<LocalDateTime> times,
+                                                                               final SpreadsheetEngineContext context,
+                                                                               final boolean stamped) {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = SpreadsheetMetadataStampingSpreadsheetEngine.with(
+            SpreadsheetEngines.basic(),
+            this.stamper(),
+            Duration.ofMinutes(1),
+            () -> times.remove(0)
+        );
+
+        engine.saveCell(
+            CELL,
+            context
+        );
+        this.loadMetadataAndCheckUpdated(context);
+
+        context.storeRepository()
+            .metadatas()
+            .save(BEFORE);
+
+        engine.saveCell(
+            CELL.setReference(
+                SpreadsheetSelection.parseCell("B2")
+            ),
+            context
+        );
+
+        if (stamped) {
+            this.loadMetadataAndCheckUpdated(context);
+        } else {
+            this.loadMetadataAndCheckNotUpdated(context);
+        }
+
+        return engine;
+    }
+
     @Override
     public void testSortCellsWithNullCellRangeFails() {
         throw new UnsupportedOperationException();
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.ListTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionMaps;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionEvaluationContextCellRangeValueListTest implements ListTesting,
+    ClassTesting<SpreadsheetExpressionEvaluationContextCellRangeValueList> {
+
+    @Test
+    public void testSize() {
+        this.sizeAndCheck(
+            this.createList(),
+            6
+        );
+    }
+
+    @Test
+    public void testSizeColumn() {
+        this.sizeAndCheck(
+            SpreadsheetExpressionEvaluationContextCellRangeValueList.with(
+                SpreadsheetSelection.parseCellRange("A1:A1048576"),
+                SpreadsheetSelectionMaps.cell()
+            ),
+            1048576
+        );
+    }
+
+    @Test
+    public void testSizeAllCellsClamped() {
+        this.sizeAndCheck(
+            SpreadsheetExpressionEvaluationContextCellRangeValueList.with(
+                SpreadsheetSelection.ALL_CELLS,
+                SpreadsheetSelectionMaps.cell()
+            ),
+            Integer.MAX_VALUE
+        );
+    }
+
+    @Test
+    public void testGetAllCellsLastIndex() {
+        final Map<SpreadsheetCellReference, Object> cellToValue = SpreadsheetSelectionMaps.cell();
+        cellToValue.put(
+            SpreadsheetSelection.parseCell("XFC131072"),
+            99
+        );
+
+        this.getAndCheck(
+            SpreadsheetExpressionEvaluationContextCellRangeValueList.with(
+                SpreadsheetSelection.ALL_CELLS,
+                cellToValue
+            ),
+            Integer.MAX_VALUE - 1,
+            99
+        );
+    }
+
+    @Test
+    public void testGet() {
+        final SpreadsheetExpressionEvaluationContextCellRangeValueList list = this.createList();
+
+        this.getAndCheck(
+            list,
+            0,
+            11
+        );
+        this.getAndCheck(
+            list,
+            1,
+            null
+        );
+        this.getAndCheck(
+            list,
+            4,
+            22
+        );
+        this.getAndCheck(
+            list,
+            5,
+            null
+        );
+    }
+
+    @Test
+    public void testGetNegativeIndexFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createList()
+                .get(-1)
+        );
+    }
+
+    @Test
+    public void testGetIndexTooBigFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createList()
+                .get(6)
+        );
+    }
+
+    @Test
+    public void testEqualsDenseList() {
+        this.checkEquals(
+            Lists.of(
+                11, null, null,
+                null, 22, null
+            ),
+            this.createList()
+        );
+    }
+
+    @Test
+    public void testSetFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .set(0, 33)
+        );
+    }
+
+    @Test
+    public void testAddFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createList()
+                .add(33)
+        );
+    }
+
+    private SpreadsheetExpressionEvaluationContextCellRangeValueList createList() {
+        final Map<SpreadsheetCellReference, Object> cellToValue = SpreadsheetSelectionMaps.cell();
+        cellToValue.put(
+            SpreadsheetSelection.parseCell("B2"),
+            11
+        );
+        cellToValue.put(
+            SpreadsheetSelection.parseCell("C3"),
+            22
+        );
+        cellToValue.put(
+            SpreadsheetSelection.parseCell("Z99"),
+            99
+        );
+
+        return SpreadsheetExpressionEvaluationContextCellRangeValueList.with(
+            SpreadsheetSelection.parseCellRange("B2:D3"),
+            cellToValue
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionEvaluationContextCellRangeValueList> type() {
+        return SpreadsheetExpressionEvaluationContextCellRangeValueList.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
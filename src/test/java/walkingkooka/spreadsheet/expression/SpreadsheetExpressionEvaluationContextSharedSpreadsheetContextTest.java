@@ -75,6 +75,7 @@ import java.util.Locale;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContextTest extends SpreadsheetExpressionEvaluationContextSharedTestCase<SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext> {
@@ -234,6 +235,56 @@ public final class SpreadsheetExpressionEvaluationContextSharedSpreadsheetContex
         );
     }
 
+    @Test
+    public void testSetCellSameCell() {
+        final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext context = this.createContext();
+
+        assertSame(
+            context,
+            context.setCell(CELL)
+        );
+    }
+
+    @Test
+    public void testSetCellSharesSpreadsheetConverterContext() {
+        final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext context = this.createContext();
+
+        final SpreadsheetExpressionEvaluationContext different = context.setCell(
+            Optional.of(
+                SpreadsheetSelection.parseCell("B2")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("Different")
+                    )
+            )
+        );
+
+        assertSame(
+            context.spreadsheetConverterContext(),
+            different.spreadsheetConverterContext()
+        );
+    }
+
+    @Test
+    public void testSetCellDifferentLocaleSpreadsheetConverterContext() {
+        final SpreadsheetExpressionEvaluationContextSharedSpreadsheetContext context = this.createContext();
+
+        final SpreadsheetExpressionEvaluationContext different = context.setCell(
+            Optional.of(
+                SpreadsheetSelection.parseCell("B2")
+                    .setFormula(
+                        SpreadsheetFormula.EMPTY.setText("Different")
+                    ).setLocale(
+                        Optional.of(Locale.FRANCE)
+                    )
+            )
+        );
+
+        assertNotSame(
+            context.spreadsheetConverterContext(),
+            different.spreadsheetConverterContext()
+        );
+    }
+
     // loadCell.........................................................................................................
 
     @Test
@@ -2473,6 +2473,74 @@ public final class SpreadsheetPatternSpreadsheetFormatterNumberTest extends Spre
         );
     }
 
+    // double fast path................................................................................................
+
+    @Test
+    public void testFormatDoubleSameAsBigDecimal() {
+        for (final RoundingMode roundingMode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN, RoundingMode.DOWN, RoundingMode.CEILING}) {
+            for (final String pattern : new String[]{"0", "#", "0.00", "#,##0.00", "#,##0", "$#,##0.00", "0.0#", "#.###", "0%", "0.00%", "0,", "#,#.#", "#.##E-#"}) {
+                for (final double value : new double[]{
+                    0,
+                    -0.0,
+                    1,
+                    -1,
+                    0.5,
+                    -0.5,
+                    1.005,
+                    1.25,
+                    -1.25,
+                    1.1,
+                    0.29,
+                    2.675,
+                    12.345,
+                    123.456,
+                    1234.5,
+                    -1234.5678,
+                    99999.995,
+                    1000000,
+                    123456789.125,
+                    1.0E15,
+                    1.0E20,
+                    0.001,
+                    Double.MAX_VALUE,
+                    Double.MIN_VALUE
+                }) {
+                    this.formatDoubleAndCheckSameAsBigDecimal(
+                        pattern,
+                        value,
+                        roundingMode
+                    );
+                }
+            }
+        }
+    }
+
+    private void formatDoubleAndCheckSameAsBigDecimal(final String pattern,
+                                                      final double value,
+                                                      final RoundingMode roundingMode) {
+        final SpreadsheetPatternSpreadsheetFormatterNumber formatter = this.createFormatter(pattern);
+        final SpreadsheetFormatterContext context = this.createContext(roundingMode);
+
+        this.checkEquals(
+            formatter.formatSpreadsheetText(
+                Optional.of(
+                    ExpressionNumberKind.BIG_DECIMAL.create(
+                        ExpressionNumberKind.DOUBLE.create(value)
+                            .bigDecimal()
+                    )
+                ),
+                context
+            ),
+            formatter.formatSpreadsheetText(
+                Optional.of(
+                    ExpressionNumberKind.DOUBLE.create(value)
+                ),
+                context
+            ),
+            () -> pattern + " " + value + " " + roundingMode
+        );
+    }
+
     @Override
     String pattern() {
         return "\"quoted text\"";
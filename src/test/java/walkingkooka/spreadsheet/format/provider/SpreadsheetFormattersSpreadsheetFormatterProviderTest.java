@@ -56,6 +56,8 @@ import java.time.LocalTime;
 import java.util.Locale;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class SpreadsheetFormattersSpreadsheetFormatterProviderTest implements SpreadsheetFormatterProviderTesting<SpreadsheetFormattersSpreadsheetFormatterProvider>,
     ToStringTesting<SpreadsheetFormattersSpreadsheetFormatterProvider>,
     SpreadsheetMetadataTesting {
@@ -169,6 +171,23 @@ public final class SpreadsheetFormattersSpreadsheetFormatterProviderTest impleme
 
     // SpreadsheetFormatterName.........................................................................................
 
+    @Test
+    public void testSpreadsheetFormatterSelectorWithPatternCached() {
+        final SpreadsheetFormattersSpreadsheetFormatterProvider provider = this.createSpreadsheetFormatterProvider();
+        final SpreadsheetFormatterSelector selector = SpreadsheetFormatterSelector.parse("number #,##0.00");
+
+        assertSame(
+            provider.spreadsheetFormatter(
+                selector,
+                PROVIDER_CONTEXT
+            ),
+            provider.spreadsheetFormatter(
+                SpreadsheetFormatterSelector.parse(selector.toString()),
+                PROVIDER_CONTEXT
+            )
+        );
+    }
+
     // accounting.......................................................................................................
 
     @Test
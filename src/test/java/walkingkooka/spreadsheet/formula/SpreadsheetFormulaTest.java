@@ -481,6 +481,113 @@ public final class SpreadsheetFormulaTest implements ClassTesting2<SpreadsheetFo
         this.errorAndCheck(different);
     }
 
+    // replaceExpression................................................................................................
+
+    @Test
+    public void testReplaceExpressionNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .replaceExpression(null)
+        );
+    }
+
+    @Test
+    public void testReplaceExpressionSame() {
+        final SpreadsheetFormula formula = this.createObject();
+        assertSame(
+            formula,
+            formula.replaceExpression(
+                formula.expression()
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceExpressionClearKeepsValue() {
+        final SpreadsheetFormula formula = this.createObject()
+            .setToken(this.token())
+            .setExpression(this.expression())
+            .setValue(this.value());
+
+        final SpreadsheetFormula cleared = formula.replaceExpression(SpreadsheetFormula.NO_EXPRESSION);
+        assertNotSame(
+            formula,
+            cleared
+        );
+
+        this.textAndCheck(
+            cleared,
+            TEXT
+        );
+        this.tokenAndCheck(
+            cleared,
+            this.token()
+        );
+        this.expressionAndCheck(cleared);
+        this.valueAndCheck(
+            cleared,
+            this.value()
+        );
+        this.errorAndCheck(cleared);
+
+        this.checkEquals(
+            formula,
+            cleared.replaceExpression(this.expression())
+        );
+    }
+
+    // replaceToken.....................................................................................................
+
+    @Test
+    public void testReplaceTokenNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .replaceToken(null)
+        );
+    }
+
+    @Test
+    public void testReplaceTokenSame() {
+        final SpreadsheetFormula formula = this.createObject();
+        assertSame(
+            formula,
+            formula.replaceToken(
+                formula.token()
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceTokenClearKeepsExpressionAndValue() {
+        final SpreadsheetFormula formula = this.createObject()
+            .setToken(this.token())
+            .setExpression(this.expression())
+            .setValue(this.value());
+
+        final SpreadsheetFormula cleared = formula.replaceToken(SpreadsheetFormula.NO_TOKEN);
+        assertNotSame(
+            formula,
+            cleared
+        );
+
+        this.textAndCheck(
+            cleared,
+            TEXT
+        );
+        this.tokenAndCheck(cleared);
+        this.expressionAndCheck(
+            cleared,
+            this.expression()
+        );
+        this.valueAndCheck(
+            cleared,
+            this.value()
+        );
+        this.errorAndCheck(cleared);
+    }
+
     private Optional<Expression> expression() {
         return this.expression(EXPRESSION);
     }
@@ -62,6 +62,14 @@ public final class SpreadsheetMediaTypesTest implements PublicStaticHelperTestin
         );
     }
 
+    @Test
+    public void testJsonDelta() {
+        this.mediaTypeAndCheck(
+            SpreadsheetMediaTypes.JSON_DELTA,
+            "application/json+walkingkooka.spreadsheet.engine.SpreadsheetDelta"
+        );
+    }
+
     @Test
     public void testJsonForm() {
         this.mediaTypeAndCheck(
@@ -142,6 +150,16 @@ public final class SpreadsheetMediaTypesTest implements PublicStaticHelperTestin
         );
     }
 
+    // compact json.....................................................................................................
+
+    @Test
+    public void testCompactJsonDelta() {
+        this.mediaTypeAndCheck(
+            SpreadsheetMediaTypes.COMPACT_JSON_DELTA,
+            "application/compact-json+walkingkooka.spreadsheet.engine.SpreadsheetDelta"
+        );
+    }
+
     // memory...........................................................................................................
 
     @Test
@@ -33,6 +33,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
 
 import java.util.Locale;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class SpreadsheetParserSpreadsheetParserProviderTest implements SpreadsheetParserProviderTesting<SpreadsheetParserSpreadsheetParserProvider>,
@@ -193,6 +194,23 @@ public final class SpreadsheetParserSpreadsheetParserProviderTest implements Spr
 
     // SpreadsheetParserSelector........................................................................................
 
+    @Test
+    public void testSpreadsheetParserSelectorWithPatternCached() {
+        final SpreadsheetParserSpreadsheetParserProvider provider = this.createSpreadsheetParserProvider();
+        final SpreadsheetParserSelector selector = SpreadsheetParserSelector.parse("number #,##0.00");
+
+        assertSame(
+            provider.spreadsheetParser(
+                selector,
+                PROVIDER_CONTEXT
+            ),
+            provider.spreadsheetParser(
+                SpreadsheetParserSelector.parse(selector.toString()),
+                PROVIDER_CONTEXT
+            )
+        );
+    }
+
     @Test
     public void testSpreadsheetParserNameWithDate() {
         this.spreadsheetParserAndCheck(
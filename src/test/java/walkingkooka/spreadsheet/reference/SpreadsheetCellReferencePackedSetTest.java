@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetCellReferencePackedSetTest implements ClassTesting<SpreadsheetCellReferencePackedSet> {
+
+    private final static SpreadsheetCellReference A1 = SpreadsheetSelection.A1;
+
+    private final static SpreadsheetCellReference B1 = SpreadsheetSelection.parseCell("B1");
+
+    private final static SpreadsheetCellReference A2 = SpreadsheetSelection.parseCell("A2");
+
+    private final static SpreadsheetCellReference MAX = SpreadsheetReferenceKind.RELATIVE.lastColumn()
+        .setRow(SpreadsheetReferenceKind.RELATIVE.lastRow());
+
+    @Test
+    public void testAddNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetCellReferencePackedSet.empty()
+                .add(null)
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+
+        this.checkEquals(
+            0,
+            set.size()
+        );
+        this.checkEquals(
+            Sets.empty(),
+            set
+        );
+    }
+
+    @Test
+    public void testAdd() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+
+        this.checkEquals(
+            true,
+            set.add(A1)
+        );
+        this.checkEquals(
+            Sets.of(A1),
+            set
+        );
+    }
+
+    @Test
+    public void testAddDuplicate() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+
+        this.checkEquals(
+            false,
+            set.add(A1)
+        );
+        this.checkEquals(
+            1,
+            set.size()
+        );
+    }
+
+    @Test
+    public void testAddIgnoresReferenceKind() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+
+        this.checkEquals(
+            false,
+            set.add(SpreadsheetSelection.parseCell("$A$1"))
+        );
+        this.checkEquals(
+            true,
+            set.contains(SpreadsheetSelection.parseCell("A$1"))
+        );
+    }
+
+    @Test
+    public void testAddManyIteratesSorted() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        final Set<SpreadsheetCellReference> expected = SortedSets.tree(SpreadsheetSelection.IGNORES_REFERENCE_KIND_COMPARATOR);
+
+        for (int i = 100; i > 0; i--) {
+            final SpreadsheetCellReference cell = SpreadsheetReferenceKind.RELATIVE.column(i % 7 + 1)
+                .setRow(SpreadsheetReferenceKind.RELATIVE.row(i));
+            set.add(cell);
+            expected.add(cell);
+        }
+        set.add(MAX);
+        expected.add(MAX);
+
+        final List<SpreadsheetCellReference> expectedList = Lists.array();
+        expectedList.addAll(expected);
+
+        this.iterateAndCheck(
+            set,
+            expectedList
+        );
+    }
+
+    @Test
+    public void testAddBeforeLastContainsAndRemove() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A2);
+        set.add(B1);
+        set.add(A1);
+
+        this.checkEquals(
+            true,
+            set.contains(B1),
+            "contains pending B1"
+        );
+        this.checkEquals(
+            3,
+            set.size()
+        );
+        this.checkEquals(
+            false,
+            set.add(B1),
+            "add duplicate pending B1"
+        );
+
+        this.checkEquals(
+            true,
+            set.remove(B1)
+        );
+        this.iterateAndCheck(
+            set,
+            Lists.of(A1, A2)
+        );
+    }
+
+    @Test
+    public void testIteratorRemoveBeforeLast() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A2);
+        set.add(B1);
+        set.add(A1);
+
+        final Iterator<SpreadsheetCellReference> iterator = set.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+
+        this.checkEquals(
+            A2,
+            iterator.next()
+        );
+        this.iterateAndCheck(
+            set,
+            Lists.of(A1, A2)
+        );
+    }
+
+    @Test
+    public void testContainsNonCell() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+
+        this.checkEquals(
+            false,
+            set.contains(SpreadsheetSelection.parseColumn("A"))
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+        set.add(B1);
+        set.add(A2);
+
+        this.checkEquals(
+            true,
+            set.remove(SpreadsheetSelection.parseCell("$B$1"))
+        );
+        this.iterateAndCheck(
+            set,
+            Lists.of(A1, A2)
+        );
+    }
+
+    @Test
+    public void testRemoveMissing() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+
+        this.checkEquals(
+            false,
+            set.remove(B1)
+        );
+        this.checkEquals(
+            false,
+            set.remove("A1")
+        );
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+        set.add(B1);
+        set.add(A2);
+
+        final Iterator<SpreadsheetCellReference> iterator = set.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+
+        this.checkEquals(
+            A2,
+            iterator.next()
+        );
+        this.iterateAndCheck(
+            set,
+            Lists.of(A1, A2)
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A1);
+        set.clear();
+
+        this.checkEquals(
+            0,
+            set.size()
+        );
+
+        set.add(B1);
+        this.checkEquals(
+            Sets.of(B1),
+            set
+        );
+    }
+
+    @Test
+    public void testPackUnpack() {
+        for (final SpreadsheetCellReference cell : Lists.of(A1, B1, A2, MAX)) {
+            this.checkEquals(
+                cell,
+                SpreadsheetCellReferencePackedSet.unpack(
+                    SpreadsheetCellReferencePackedSet.pack(cell)
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetCellReferencePackedSet set = SpreadsheetCellReferencePackedSet.empty();
+        set.add(A2);
+        set.add(A1);
+
+        this.toStringAndCheck(
+            set,
+            "[A1, A2]"
+        );
+    }
+
+    private void iterateAndCheck(final Set<SpreadsheetCellReference> set,
+                                 final List<SpreadsheetCellReference> expected) {
+        final List<SpreadsheetCellReference> actual = Lists.array();
+        for (final SpreadsheetCellReference cell : set) {
+            actual.add(cell);
+        }
+
+        this.checkEquals(
+            expected,
+            actual
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetCellReferencePackedSet> type() {
+        return SpreadsheetCellReferencePackedSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
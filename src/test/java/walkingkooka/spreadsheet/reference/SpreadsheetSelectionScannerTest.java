@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.formula.parser.CellSpreadsheetFormulaParserToken;
+
+public final class SpreadsheetSelectionScannerTest implements ClassTesting<SpreadsheetSelectionScanner> {
+
+    // cell.............................................................................................................
+
+    @Test
+    public void testCellNull() {
+        this.cellAndCheck(null);
+    }
+
+    @Test
+    public void testCellEmpty() {
+        this.cellAndCheck("");
+    }
+
+    @Test
+    public void testCellMissingRow() {
+        this.cellAndCheck("A");
+    }
+
+    @Test
+    public void testCellMissingColumn() {
+        this.cellAndCheck("1");
+    }
+
+    @Test
+    public void testCellRowZero() {
+        this.cellAndCheck("A0");
+    }
+
+    @Test
+    public void testCellColumnTooBig() {
+        this.cellAndCheck("XFE1");
+    }
+
+    @Test
+    public void testCellRowTooBig() {
+        this.cellAndCheck("A1048577");
+    }
+
+    @Test
+    public void testCellTrailingCharacter() {
+        this.cellAndCheck("A1!");
+    }
+
+    @Test
+    public void testCellLeadingSpace() {
+        this.cellAndCheck(" A1");
+    }
+
+    @Test
+    public void testCellAbsoluteMissingColumn() {
+        this.cellAndCheck("$1");
+    }
+
+    @Test
+    public void testCellRange() {
+        this.cellAndCheck("A1:B2");
+    }
+
+    @Test
+    public void testCellSameAsParsers() {
+        for (final String column : new String[]{"A", "b", "Z", "AA", "az", "XFD"}) {
+            for (final String row : new String[]{"1", "9", "10", "123", "1048576"}) {
+                this.cellAndCheckParsers(column + row);
+                this.cellAndCheckParsers("$" + column + row);
+                this.cellAndCheckParsers(column + "$" + row);
+                this.cellAndCheckParsers("$" + column + "$" + row);
+            }
+        }
+    }
+
+    private void cellAndCheckParsers(final String text) {
+        this.cellAndCheck(
+            text,
+            SpreadsheetSelection.parseTextOrFail(
+                text,
+                SpreadsheetSelection.CELL_PARSER
+            ).cast(CellSpreadsheetFormulaParserToken.class)
+                .cell()
+        );
+    }
+
+    private void cellAndCheck(final String text) {
+        this.cellAndCheck(
+            text,
+            null
+        );
+    }
+
+    private void cellAndCheck(final String text,
+                              final SpreadsheetCellReference expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetSelectionScanner.cell(text),
+            () -> "cell " + text
+        );
+    }
+
+    // cellRange........................................................................................................
+
+    @Test
+    public void testCellRangeAll() {
+        this.cellRangeAndCheck("*");
+    }
+
+    @Test
+    public void testCellRangeMissingUpper() {
+        this.cellRangeAndCheck("A1:");
+    }
+
+    @Test
+    public void testCellRangeMissingLower() {
+        this.cellRangeAndCheck(":B2");
+    }
+
+    @Test
+    public void testCellRangeTwoSeparators() {
+        this.cellRangeAndCheck("A1:B2:C3");
+    }
+
+    @Test
+    public void testCellRangeSpaceBeforeSeparator() {
+        this.cellRangeAndCheck("A1 :B2");
+    }
+
+    @Test
+    public void testCellRangeSingleCell() {
+        this.cellRangeAndCheck(
+            "B2",
+            SpreadsheetSelection.parseCell("B2")
+                .toCellRange()
+        );
+    }
+
+    @Test
+    public void testCellRange() {
+        this.cellRangeAndCheck(
+            "A1:B2",
+            SpreadsheetSelection.parseCell("A1")
+                .cellRange(
+                    SpreadsheetSelection.parseCell("B2")
+                )
+        );
+    }
+
+    @Test
+    public void testCellRangeAbsolute() {
+        this.cellRangeAndCheck(
+            "$A$1:$B$2",
+            SpreadsheetSelection.parseCell("$A$1")
+                .cellRange(
+                    SpreadsheetSelection.parseCell("$B$2")
+                )
+        );
+    }
+
+    @Test
+    public void testCellRangeLowerUpperSwapped() {
+        this.cellRangeAndCheck(
+            "B2:A1",
+            SpreadsheetSelection.parseCell("A1")
+                .cellRange(
+                    SpreadsheetSelection.parseCell("B2")
+                )
+        );
+    }
+
+    private void cellRangeAndCheck(final String text) {
+        this.cellRangeAndCheck(
+            text,
+            null
+        );
+    }
+
+    private void cellRangeAndCheck(final String text,
+                                   final SpreadsheetCellRangeReference expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetSelectionScanner.cellRange(text),
+            () -> "cellRange " + text
+        );
+    }
+
+    // column...........................................................................................................
+
+    @Test
+    public void testColumnNull() {
+        this.columnAndCheck(null);
+    }
+
+    @Test
+    public void testColumnEmpty() {
+        this.columnAndCheck("");
+    }
+
+    @Test
+    public void testColumnDollarOnly() {
+        this.columnAndCheck("$");
+    }
+
+    @Test
+    public void testColumnTooBig() {
+        this.columnAndCheck("XFE");
+    }
+
+    @Test
+    public void testColumnInvalidCharacter() {
+        this.columnAndCheck("A1");
+    }
+
+    @Test
+    public void testColumnEveryValue() {
+        for (int i = SpreadsheetColumnReference.MIN_VALUE; i <= SpreadsheetColumnReference.MAX_VALUE; i++) {
+            for (final SpreadsheetReferenceKind kind : SpreadsheetReferenceKind.values()) {
+                final SpreadsheetColumnReference column = kind.column(i);
+
+                this.columnAndCheck(
+                    column.toString(),
+                    column
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testColumnLowerCase() {
+        this.columnAndCheck(
+            "ab",
+            SpreadsheetSelection.parseColumn("AB")
+        );
+    }
+
+    private void columnAndCheck(final String text) {
+        this.columnAndCheck(
+            text,
+            null
+        );
+    }
+
+    private void columnAndCheck(final String text,
+                                final SpreadsheetColumnReference expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetSelectionScanner.column(text),
+            () -> "column " + text
+        );
+    }
+
+    // columnRange......................................................................................................
+
+    @Test
+    public void testColumnRangeAll() {
+        this.columnRangeAndCheck(
+            "*",
+            null
+        );
+    }
+
+    @Test
+    public void testColumnRange() {
+        this.columnRangeAndCheck(
+            "A:$C",
+            SpreadsheetSelection.parseColumn("A")
+                .columnRange(
+                    SpreadsheetSelection.parseColumn("$C")
+                )
+        );
+    }
+
+    @Test
+    public void testColumnRangeLowerUpperSwapped() {
+        this.columnRangeAndCheck(
+            "C:A",
+            SpreadsheetSelection.parseColumn("A")
+                .columnRange(
+                    SpreadsheetSelection.parseColumn("C")
+                )
+        );
+    }
+
+    private void columnRangeAndCheck(final String text,
+                                     final SpreadsheetColumnRangeReference expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetSelectionScanner.columnRange(text),
+            () -> "columnRange " + text
+        );
+    }
+
+    // row..............................................................................................................
+
+    @Test
+    public void testRowNull() {
+        this.rowAndCheck(null);
+    }
+
+    @Test
+    public void testRowEmpty() {
+        this.rowAndCheck("");
+    }
+
+    @Test
+    public void testRowZero() {
+        this.rowAndCheck("0");
+    }
+
+    @Test
+    public void testRowTooBig() {
+        this.rowAndCheck("1048577");
+    }
+
+    @Test
+    public void testRowInvalidCharacter() {
+        this.rowAndCheck("1A");
+    }
+
+    @Test
+    public void testRow() {
+        for (final String text : new String[]{"1", "$1", "99", "$123", "1048576"}) {
+            final SpreadsheetRowReference row = SpreadsheetSelectionScanner.row(text);
+            this.checkEquals(
+                text,
+                null != row ? row.toString() : null,
+                () -> "row " + text
+            );
+        }
+    }
+
+    private void rowAndCheck(final String text) {
+        this.checkEquals(
+            null,
+            SpreadsheetSelectionScanner.row(text),
+            () -> "row " + text
+        );
+    }
+
+    // rowRange.........................................................................................................
+
+    @Test
+    public void testRowRange() {
+        this.rowRangeAndCheck(
+            "$1:3",
+            SpreadsheetSelection.parseRow("$1")
+                .rowRange(
+                    SpreadsheetSelection.parseRow("3")
+                )
+        );
+    }
+
+    @Test
+    public void testRowRangeMissingUpper() {
+        this.rowRangeAndCheck(
+            "1:",
+            null
+        );
+    }
+
+    private void rowRangeAndCheck(final String text,
+                                  final SpreadsheetRowRangeReference expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetSelectionScanner.rowRange(text),
+            () -> "rowRange " + text
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetSelectionScanner> type() {
+        return SpreadsheetSelectionScanner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
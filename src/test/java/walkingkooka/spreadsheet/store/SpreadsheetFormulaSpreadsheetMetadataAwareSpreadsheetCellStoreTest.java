@@ -33,6 +33,7 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.text.TextNode;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -350,11 +351,14 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStoreTest e
             LOCALE_CONTEXT,
             PROVIDER_CONTEXT
         ).save(cell);
-        this.checkEquals(saved,
+        // the wrapped store only receives the token, the expression is dropped
+        this.checkEquals(
+            withoutExpression(saved),
             this.saved,
             () -> "saved " + cell + " metadata=" + METADATA
         );
-        this.checkEquals(loaded,
+        this.checkEquals(
+            withoutExpression(loaded),
             returned,
             () -> "returned saved " + cell + " metadata=" + METADATA
         );
@@ -362,6 +366,100 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStoreTest e
 
     private SpreadsheetCell saved;
 
+    private static SpreadsheetCell withoutExpression(final SpreadsheetCell cell) {
+        return cell.setFormula(
+            cell.formula()
+                .replaceExpression(SpreadsheetFormula.NO_EXPRESSION)
+        ).setFormattedValue(
+            cell.formattedValue()
+        );
+    }
+
+    @Test
+    public void testSaveKeepsFormattedValue() {
+        final String text = "1";
+
+        final SpreadsheetFormula formula = SpreadsheetFormula.EMPTY
+            .setText(text)
+            .setToken(
+                Optional.of(SpreadsheetFormulaParserToken.number(
+                    Lists.of(SpreadsheetFormulaParserToken.digits(text, text)),
+                    text
+                ))
+            ).setExpression(
+                Optional.of(
+                    number(1)
+                )
+            ).setValue(
+                Optional.of(1)
+            );
+
+        final SpreadsheetCell cell = SpreadsheetSelection.parseCell("B2")
+            .setFormula(
+                formula
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.text("1!")
+                )
+            );
+
+        this.saveAndCheck(
+            cell,
+            cell,
+            cell
+        );
+    }
+
+    @Test
+    public void testSaveLoadKeepsValueWithoutExpression() {
+        final String text = "3";
+
+        final SpreadsheetCellStore cellStore = SpreadsheetCellStores.treeMap();
+        final SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore store = SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore.with(
+            cellStore,
+            METADATA,
+            SPREADSHEET_PARSER_PROVIDER,
+            LOCALE_CONTEXT,
+            PROVIDER_CONTEXT
+        );
+
+        final SpreadsheetCell saved = store.save(
+            SpreadsheetSelection.parseCell("B2")
+                .setFormula(
+                    SpreadsheetFormula.EMPTY.setText(text)
+                )
+        );
+        final SpreadsheetCell withValue = saved.setFormula(
+            saved.formula()
+                .setValue(
+                    Optional.of(3)
+                )
+        );
+        store.save(withValue);
+
+        this.checkEquals(
+            SpreadsheetFormula.NO_EXPRESSION,
+            cellStore.loadOrFail(withValue.reference())
+                .formula()
+                .expression(),
+            "wrapped store expression"
+        );
+
+        // the expression is only re-derived by the engine when the cell is evaluated
+        final SpreadsheetFormula loaded = store.loadOrFail(withValue.reference())
+            .formula();
+        this.checkEquals(
+            SpreadsheetFormula.NO_EXPRESSION,
+            loaded.expression(),
+            "expression"
+        );
+        this.checkEquals(
+            Optional.of(3),
+            loaded.value(),
+            "value"
+        );
+    }
+
     @Test
     public void testSaveFormulaWithTokenTextUpdateRequiredDayName() {
         final String text = "Tuesday 9/2/2021";
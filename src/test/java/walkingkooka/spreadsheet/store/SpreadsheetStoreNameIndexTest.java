@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class SpreadsheetStoreNameIndexTest implements ClassTesting<SpreadsheetStoreNameIndex<?>> {
+
+    @Test
+    public void testFindEmptyText() {
+        this.findAndCheck(
+            this.createIndex(),
+            "",
+            0,
+            10,
+            "Apple123", "Banana456", "Cherry789", "Pineapple"
+        );
+    }
+
+    @Test
+    public void testFindShortText() {
+        this.findAndCheck(
+            this.createIndex(),
+            "an",
+            0,
+            10,
+            "Banana456"
+        );
+    }
+
+    @Test
+    public void testFindLongText() {
+        this.findAndCheck(
+            this.createIndex(),
+            "apple",
+            0,
+            10,
+            "Apple123", "Pineapple"
+        );
+    }
+
+    @Test
+    public void testFindLongTextIgnoresCase() {
+        this.findAndCheck(
+            this.createIndex(),
+            "APPLE1",
+            0,
+            10,
+            "Apple123"
+        );
+    }
+
+    @Test
+    public void testFindLongTextAllTrigramsPresentButNotContained() {
+        final SpreadsheetStoreNameIndex<String> index = SpreadsheetStoreNameIndex.empty();
+        index.add("abcXbcd", "abcXbcd");
+
+        this.findAndCheck(
+            index,
+            "abcd",
+            0,
+            10
+        );
+    }
+
+    @Test
+    public void testFindMissing() {
+        this.findAndCheck(
+            this.createIndex(),
+            "xyz",
+            0,
+            10
+        );
+    }
+
+    @Test
+    public void testFindOffsetAndCount() {
+        this.findAndCheck(
+            this.createIndex(),
+            "e",
+            1,
+            2,
+            "Cherry789", "Pineapple"
+        );
+    }
+
+    @Test
+    public void testFindAfterRemove() {
+        final SpreadsheetStoreNameIndex<String> index = this.createIndex();
+        index.remove("Apple123");
+
+        this.findAndCheck(
+            index,
+            "apple",
+            0,
+            10,
+            "Pineapple"
+        );
+    }
+
+    @Test
+    public void testFindAfterReplace() {
+        final SpreadsheetStoreNameIndex<String> index = this.createIndex();
+        index.add("Apple123", "Orange");
+
+        this.findAndCheck(
+            index,
+            "apple",
+            0,
+            10,
+            "Pineapple"
+        );
+        this.findAndCheck(
+            index,
+            "orange",
+            0,
+            10,
+            "Apple123"
+        );
+    }
+
+    private SpreadsheetStoreNameIndex<String> createIndex() {
+        final SpreadsheetStoreNameIndex<String> index = SpreadsheetStoreNameIndex.empty();
+
+        for (final String name : Lists.of("Pineapple", "Banana456", "Apple123", "Cherry789")) {
+            index.add(
+                name,
+                name
+            );
+        }
+
+        return index;
+    }
+
+    private void findAndCheck(final SpreadsheetStoreNameIndex<String> index,
+                              final String text,
+                              final int offset,
+                              final int count,
+                              final String... expected) {
+        final List<String> found = index.find(
+            text,
+            offset,
+            count
+        );
+        this.checkEquals(
+            Lists.of(expected),
+            found,
+            () -> "find " + text + " " + offset + " " + count
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetStoreNameIndex<?>> type() {
+        return Cast.to(SpreadsheetStoreNameIndex.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
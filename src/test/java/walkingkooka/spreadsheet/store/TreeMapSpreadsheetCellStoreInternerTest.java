@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.text.FontStyle;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TreeMapSpreadsheetCellStoreInternerTest implements ClassTesting<TreeMapSpreadsheetCellStoreInterner>,
+    ToStringTesting<TreeMapSpreadsheetCellStoreInterner> {
+
+    @Test
+    public void testApplyNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TreeMapSpreadsheetCellStoreInterner.empty()
+                .apply(null)
+        );
+    }
+
+    @Test
+    public void testApplyFirst() {
+        final TextStyle style = italics();
+
+        assertSame(
+            style,
+            TreeMapSpreadsheetCellStoreInterner.empty()
+                .apply(style)
+        );
+    }
+
+    @Test
+    public void testApplyEqualReturnsFirst() {
+        final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+
+        final TextStyle style = italics();
+        interner.apply(style);
+
+        assertSame(
+            style,
+            interner.apply(italics())
+        );
+    }
+
+    @Test
+    public void testApplyOptional() {
+        final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+
+        final Optional<Locale> locale = Optional.of(Locale.ENGLISH);
+        interner.apply(locale);
+
+        assertSame(
+            locale,
+            interner.apply(
+                Optional.of(Locale.ENGLISH)
+            )
+        );
+    }
+
+    // release..........................................................................................................
+
+    @Test
+    public void testReleaseNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TreeMapSpreadsheetCellStoreInterner.empty()
+                .release(null)
+        );
+    }
+
+    @Test
+    public void testReleaseStillUsedKept() {
+        final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+
+        final SpreadsheetCell a1 = cell(SpreadsheetSelection.A1)
+            .intern(interner);
+        cell(SpreadsheetSelection.parseCell("B2"))
+            .intern(interner);
+
+        interner.release(a1);
+
+        assertSame(
+            a1.style(),
+            interner.apply(italics())
+        );
+    }
+
+    @Test
+    public void testReleaseLastRemoved() {
+        final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+
+        final SpreadsheetCell a1 = cell(SpreadsheetSelection.A1)
+            .intern(interner);
+        final SpreadsheetCell b2 = cell(SpreadsheetSelection.parseCell("B2"))
+            .intern(interner);
+
+        interner.release(a1);
+        interner.release(b2);
+
+        this.toStringAndCheck(
+            interner,
+            "[]"
+        );
+    }
+
+    private static SpreadsheetCell cell(final SpreadsheetCellReference reference) {
+        return reference.setFormula(SpreadsheetFormula.EMPTY)
+            .setStyle(italics());
+    }
+
+    private static TextStyle italics() {
+        return TextStyle.EMPTY.set(
+            TextStylePropertyName.FONT_STYLE,
+            FontStyle.ITALIC
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TreeMapSpreadsheetCellStoreInterner interner = TreeMapSpreadsheetCellStoreInterner.empty();
+        interner.apply(
+            Optional.of(Locale.ENGLISH)
+        );
+
+        this.toStringAndCheck(
+            interner,
+            "[Optional[en]]"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetCellStoreInterner> type() {
+        return TreeMapSpreadsheetCellStoreInterner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -294,6 +294,108 @@ public final class TreeMapSpreadsheetCellStoreSortedListTest implements ClassTes
         );
     }
 
+    @Test
+    public void testAddOrReplaceThenAddOrReplaceAll() {
+        final TreeMapSpreadsheetCellStoreSortedList list = TreeMapSpreadsheetCellStoreSortedList.with(
+            SpreadsheetCellRangeReferencePath.LRTD
+        );
+
+        list.addOrReplace(B2);
+        list.addOrReplaceAll(
+            Lists.of(
+                C3,
+                A1
+            )
+        );
+
+        this.check(
+            list,
+            A1,
+            B2,
+            C3
+        );
+    }
+
+    @Test
+    public void testAddOrReplaceAllReplaces() {
+        final TreeMapSpreadsheetCellStoreSortedList list = TreeMapSpreadsheetCellStoreSortedList.with(
+            SpreadsheetCellRangeReferencePath.LRTD
+        );
+
+        list.addOrReplaceAll(
+            Lists.of(
+                C3,
+                A1,
+                B2
+            )
+        );
+        this.check(
+            list,
+            A1,
+            B2,
+            C3
+        );
+
+        final SpreadsheetCell replacedB2 = B2.reference()
+            .setFormula(SpreadsheetFormula.EMPTY.setText("'replaced b2"));
+        final SpreadsheetCell replacedB2Again = B2.reference()
+            .setFormula(SpreadsheetFormula.EMPTY.setText("'replaced b2 again"));
+        final SpreadsheetCell d4 = SpreadsheetSelection.parseCell("D4")
+            .setFormula(SpreadsheetFormula.EMPTY.setText("'D4"));
+
+        list.addOrReplaceAll(
+            Lists.of(
+                d4,
+                replacedB2,
+                replacedB2Again
+            )
+        );
+
+        this.check(
+            list,
+            A1,
+            replacedB2Again,
+            C3,
+            d4
+        );
+    }
+
+    @Test
+    public void testAddOrReplaceAllEmpty() {
+        final TreeMapSpreadsheetCellStoreSortedList list = TreeMapSpreadsheetCellStoreSortedList.with(
+            SpreadsheetCellRangeReferencePath.LRTD
+        );
+
+        list.addOrReplace(A1);
+        list.addOrReplaceAll(
+            Lists.empty()
+        );
+
+        this.check(
+            list,
+            A1
+        );
+    }
+
+    @Test
+    public void testAddOrReplaceThenRemove() {
+        final TreeMapSpreadsheetCellStoreSortedList list = TreeMapSpreadsheetCellStoreSortedList.with(
+            SpreadsheetCellRangeReferencePath.LRTD
+        );
+
+        list.addOrReplace(C3);
+        list.addOrReplace(A1);
+        list.addOrReplace(B2);
+
+        list.remove(A1.reference());
+
+        this.check(
+            list,
+            B2,
+            C3
+        );
+    }
+
     // get..............................................................................................................
 
     @Test
@@ -818,7 +920,7 @@ public final class TreeMapSpreadsheetCellStoreSortedListTest implements ClassTes
                        final SpreadsheetCell... cells) {
         this.checkEquals(
             Lists.of(cells),
-            list.cells,
+            list.cells(),
             list::toString
         );
     }
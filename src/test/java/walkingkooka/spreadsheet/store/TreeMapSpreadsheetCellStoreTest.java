@@ -20,10 +20,12 @@ package walkingkooka.spreadsheet.store;
 import org.junit.jupiter.api.Test;
 import walkingkooka.CanBeEmptyTesting;
 import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReferencePath;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
@@ -39,11 +41,15 @@ import walkingkooka.tree.text.Length;
 import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextStyle;
 import walkingkooka.tree.text.TextStylePropertyName;
+import walkingkooka.validation.provider.ValidatorSelector;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase<TreeMapSpreadsheetCellStore>
@@ -124,6 +130,186 @@ final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase
         );
     }
 
+    @Test
+    public void testLoadCellRangeAfterSavingManyCellsOutOfOrder() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        final Set<SpreadsheetCell> expected = SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR);
+
+        for (int row = 10; row >= 1; row--) {
+            for (int column = 10; column >= 1; column--) {
+                final SpreadsheetCell cell = store.save(
+                    SpreadsheetReferenceKind.RELATIVE.column(column)
+                        .setRow(
+                            SpreadsheetReferenceKind.RELATIVE.row(row)
+                        ).setFormula(
+                            SpreadsheetFormula.EMPTY.setText("'" + column + "," + row)
+                        )
+                );
+                if (column >= 3 && column <= 5 && row >= 3 && row <= 5) {
+                    expected.add(cell);
+                }
+            }
+        }
+
+        this.loadCellRangeAndCheck(
+            store,
+            SpreadsheetSelection.parseCellRange("C3:E5"),
+            SpreadsheetCellRangeReferencePath.BURL,
+            0, // offset
+            9, // count
+            expected
+        );
+    }
+
+    @Test
+    public void testSaveCellsThenLoadCellRange() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        store.saveCells(
+            this.cellsOutOfOrder(10)
+        );
+
+        this.loadCellRangeAndCheck(
+            store,
+            SpreadsheetSelection.parseCellRange("C3:E5"),
+            SpreadsheetCellRangeReferencePath.BURL,
+            0, // offset
+            9, // count
+            this.cellsWithin(
+                store,
+                3,
+                5
+            )
+        );
+    }
+
+    @Test
+    public void testSaveCellsFiresWatchersAfterAllCellsAdded() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        final List<SpreadsheetCell> cells = this.cellsOutOfOrder(3);
+        final List<Integer> loaded = Lists.array();
+
+        store.addStoreWatcher(
+            new StoreWatcher<>() {
+                @Override
+                public void onValueChange(final Optional<SpreadsheetCell> previous,
+                                          final Optional<SpreadsheetCell> next) {
+                    loaded.add(
+                        store.loadCellRange(
+                            SpreadsheetSelection.parseCellRange("A1:C3")
+                        ).size()
+                    );
+                }
+            }
+        );
+
+        store.saveCells(cells);
+
+        this.checkEquals(
+            Collections.nCopies(
+                cells.size(),
+                cells.size()
+            ),
+            loaded
+        );
+    }
+
+    @Test
+    public void testLoadCellRangeConcurrentlyAfterSaveCells() throws InterruptedException {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        store.saveCells(
+            this.cellsOutOfOrder(50)
+        );
+
+        final SpreadsheetCellRangeReference range = SpreadsheetSelection.parseCellRange("C3:E5");
+        final Set<SpreadsheetCell> expected = this.cellsWithin(
+            store,
+            3,
+            5
+        );
+
+        final List<Object> results = Collections.synchronizedList(
+            Lists.array()
+        );
+
+        final List<Thread> threads = Lists.array();
+        for (int i = 0; i < 4; i++) {
+            threads.add(
+                new Thread(
+                    () -> {
+                        try {
+                            for (int j = 0; j < 100; j++) {
+                                results.add(
+                                    store.loadCellRange(range)
+                                );
+                            }
+                        } catch (final RuntimeException cause) {
+                            results.add(cause);
+                        }
+                    }
+                )
+            );
+        }
+
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            Collections.nCopies(
+                threads.size() * 100,
+                expected
+            ),
+            results
+        );
+    }
+
+    /**
+     * Returns cells filling a square of the given size, from the bottom right to the top left.
+     */
+    private List<SpreadsheetCell> cellsOutOfOrder(final int size) {
+        final List<SpreadsheetCell> cells = Lists.array();
+
+        for (int row = size; row >= 1; row--) {
+            for (int column = size; column >= 1; column--) {
+                cells.add(
+                    SpreadsheetReferenceKind.RELATIVE.column(column)
+                        .setRow(
+                            SpreadsheetReferenceKind.RELATIVE.row(row)
+                        ).setFormula(
+                            SpreadsheetFormula.EMPTY.setText("'" + column + "," + row)
+                        )
+                );
+            }
+        }
+
+        return cells;
+    }
+
+    private Set<SpreadsheetCell> cellsWithin(final TreeMapSpreadsheetCellStore store,
+                                             final int first,
+                                             final int last) {
+        final Set<SpreadsheetCell> cells = SortedSets.tree(SpreadsheetCell.REFERENCE_COMPARATOR);
+
+        for (final SpreadsheetCell cell : store.all()) {
+            final SpreadsheetCellReference reference = cell.reference();
+            final int column = reference.column().value();
+            final int row = reference.row().value();
+
+            if (column >= first && column <= last && row >= first && row <= last) {
+                cells.add(cell);
+            }
+        }
+
+        return cells;
+    }
+
     @Test
     public void testLoadCellRangeMixedReferenceKind() {
         final TreeMapSpreadsheetCellStore store = this.createStore();
@@ -839,6 +1025,119 @@ final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase
         );
     }
 
+    // loadValidated/saveValidated......................................................................................
+
+    @Test
+    public void testLoadValidatedNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore()
+                .loadValidated(null)
+        );
+    }
+
+    @Test
+    public void testSaveValidatedNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore()
+                .saveValidated(null)
+        );
+    }
+
+    @Test
+    public void testLoadValidatedMissing() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createStore()
+                .loadValidated(SpreadsheetSelection.A1)
+        );
+    }
+
+    @Test
+    public void testSaveValidatedAndLoadValidated() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        final SpreadsheetCell cell = this.validatedCell("Value123");
+
+        store.saveValidated(cell);
+
+        this.checkEquals(
+            Optional.of(cell),
+            store.loadValidated(cell.reference())
+        );
+    }
+
+    @Test
+    public void testSaveValidatedThenSaveSameValue() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        final SpreadsheetCell cell = this.validatedCell("Value123");
+
+        store.saveValidated(cell);
+        store.save(cell);
+
+        this.checkEquals(
+            Optional.of(cell),
+            store.loadValidated(cell.reference())
+        );
+    }
+
+    @Test
+    public void testSaveValidatedThenSaveDifferentValue() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        final SpreadsheetCell cell = this.validatedCell("Value123");
+
+        store.saveValidated(cell);
+        store.save(
+            this.validatedCell("Different456")
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            store.loadValidated(cell.reference())
+        );
+    }
+
+    @Test
+    public void testSaveValidatedThenDelete() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        final SpreadsheetCell cell = this.validatedCell("Value123");
+
+        store.save(cell);
+        store.saveValidated(cell);
+        store.delete(cell.reference());
+
+        this.checkEquals(
+            Optional.empty(),
+            store.loadValidated(cell.reference())
+        );
+    }
+
+    @Test
+    public void testSaveValidatedThenClearFormatted() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        final SpreadsheetCell cell = this.validatedCell("Value123");
+
+        store.saveValidated(cell);
+        store.clearFormatted();
+
+        this.checkEquals(
+            Optional.empty(),
+            store.loadValidated(cell.reference())
+        );
+    }
+
+    private SpreadsheetCell validatedCell(final Object value) {
+        return SpreadsheetSelection.A1.setFormula(
+            SpreadsheetFormula.EMPTY.setValue(
+                Optional.of(value)
+            )
+        ).setValidator(
+            Optional.of(
+                ValidatorSelector.parse("test-validator-123")
+            )
+        );
+    }
+
     // maxColumnWidth...................................................................................................
 
     @Test
@@ -966,6 +1265,140 @@ final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase
             () -> "maxRowHeight of " + row + " store=" + store);
     }
 
+    // intern...........................................................................................................
+
+    @Test
+    public void testSaveSharesEqualStyle() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        store.save(
+            SpreadsheetSelection.A1.setFormula(SpreadsheetFormula.EMPTY)
+                .setStyle(
+                    TextStyle.EMPTY.set(
+                        TextStylePropertyName.WIDTH,
+                        Length.pixel(50.0)
+                    )
+                )
+        );
+
+        final SpreadsheetCell b2 = SpreadsheetSelection.parseCell("B2")
+            .setFormula(SpreadsheetFormula.EMPTY)
+            .setStyle(
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.WIDTH,
+                    Length.pixel(50.0)
+                )
+            );
+        this.checkEquals(
+            b2,
+            store.save(b2)
+        );
+
+        assertSame(
+            store.loadOrFail(SpreadsheetSelection.A1)
+                .style(),
+            store.loadOrFail(b2.reference())
+                .style()
+        );
+    }
+
+    // version.........................................................................................................
+
+    @Test
+    public void testVersionWhenEmpty() {
+        this.checkEquals(
+            0L,
+            this.createStore()
+                .version()
+        );
+    }
+
+    @Test
+    public void testVersionSaveEqualCellUnchanged() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        final SpreadsheetCell cell = SpreadsheetSelection.A1.setFormula(
+            SpreadsheetFormula.EMPTY.setText("=1")
+        );
+        store.save(cell);
+        store.save(cell);
+
+        this.checkEquals(
+            1L,
+            store.version()
+        );
+    }
+
+    @Test
+    public void testVersionDeleteMissingUnchanged() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+        store.delete(SpreadsheetSelection.A1);
+
+        this.checkEquals(
+            0L,
+            store.version()
+        );
+    }
+
+    @Test
+    public void testFindCellsChangedSince() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        store.save(
+            SpreadsheetSelection.A1.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1")
+            )
+        );
+
+        final SpreadsheetCellReference b2 = SpreadsheetSelection.parseCell("B2");
+        store.save(
+            b2.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=2")
+            )
+        );
+
+        final long version = store.version();
+
+        final SpreadsheetCellReference c3 = SpreadsheetSelection.parseCell("C3");
+        store.save(
+            c3.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=3")
+            )
+        );
+        store.save(
+            SpreadsheetSelection.parseCell("Z99")
+                .setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=99")
+                )
+        );
+        store.delete(b2);
+
+        this.findCellsChangedSinceAndCheck(
+            store,
+            SpreadsheetSelection.parseCellRange("A1:C3"),
+            version,
+            b2,
+            c3
+        );
+    }
+
+    @Test
+    public void testFindCellsChangedSinceCurrentVersion() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        store.save(
+            SpreadsheetSelection.A1.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1")
+            )
+        );
+
+        this.findCellsChangedSinceAndCheck(
+            store,
+            SpreadsheetSelection.ALL_CELLS,
+            store.version()
+        );
+    }
+
     // findCellsWithValueType...........................................................................................
 
     @Test
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetValueType;
+import walkingkooka.validation.ValueType;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class TreeMapSpreadsheetCellStoreValueTypeIndexTest implements ClassTesting<TreeMapSpreadsheetCellStoreValueTypeIndex>,
+    ToStringTesting<TreeMapSpreadsheetCellStoreValueTypeIndex> {
+
+    private final static SpreadsheetCellReference A1 = SpreadsheetSelection.A1;
+
+    private final static SpreadsheetCellReference A2 = SpreadsheetSelection.parseCell("A2");
+
+    private final static SpreadsheetCellReference B2 = SpreadsheetSelection.parseCell("B2");
+
+    private final static SpreadsheetCellReference C3 = SpreadsheetSelection.parseCell("C3");
+
+    @Test
+    public void testFindEmpty() {
+        this.findAndCheck(
+            TreeMapSpreadsheetCellStoreValueTypeIndex.empty(),
+            "A1:Z99",
+            SpreadsheetValueType.NUMBER,
+            10
+        );
+    }
+
+    @Test
+    public void testFindValueType() {
+        this.findAndCheck(
+            this.createIndex(),
+            "A1:Z99",
+            SpreadsheetValueType.NUMBER,
+            10,
+            A1,
+            B2
+        );
+    }
+
+    @Test
+    public void testFindAny() {
+        this.findAndCheck(
+            this.createIndex(),
+            "A1:Z99",
+            SpreadsheetValueType.ANY,
+            10,
+            A1,
+            A2,
+            B2
+        );
+    }
+
+    @Test
+    public void testFindOutsideRangeIgnored() {
+        this.findAndCheck(
+            this.createIndex(),
+            "B1:B2",
+            SpreadsheetValueType.NUMBER,
+            10,
+            B2
+        );
+    }
+
+    @Test
+    public void testFindMax() {
+        this.findAndCheck(
+            this.createIndex(),
+            "A1:Z99",
+            SpreadsheetValueType.ANY,
+            2,
+            A1,
+            A2
+        );
+    }
+
+    @Test
+    public void testFindAfterReplace() {
+        final TreeMapSpreadsheetCellStoreValueTypeIndex index = this.createIndex();
+        index.addOrReplace(
+            this.cell(
+                SpreadsheetSelection.parseCell("$A$1"),
+                "Replaced"
+            )
+        );
+
+        this.findAndCheck(
+            index,
+            "A1:Z99",
+            SpreadsheetValueType.NUMBER,
+            10,
+            B2
+        );
+        this.findAndCheck(
+            index,
+            "A1:Z99",
+            SpreadsheetValueType.TEXT,
+            10,
+            A1,
+            A2
+        );
+    }
+
+    @Test
+    public void testFindAfterRemove() {
+        final TreeMapSpreadsheetCellStoreValueTypeIndex index = this.createIndex();
+        index.remove(B2);
+
+        this.findAndCheck(
+            index,
+            "A1:Z99",
+            SpreadsheetValueType.NUMBER,
+            10,
+            A1
+        );
+    }
+
+    @Test
+    public void testFindIgnoresCellsWithoutValue() {
+        final TreeMapSpreadsheetCellStoreValueTypeIndex index = this.createIndex();
+        index.addOrReplace(
+            C3.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+            )
+        );
+
+        this.findAndCheck(
+            index,
+            "A1:Z99",
+            SpreadsheetValueType.ANY,
+            10,
+            A1,
+            A2,
+            B2
+        );
+    }
+
+    private TreeMapSpreadsheetCellStoreValueTypeIndex createIndex() {
+        final TreeMapSpreadsheetCellStoreValueTypeIndex index = TreeMapSpreadsheetCellStoreValueTypeIndex.empty();
+        index.addOrReplace(
+            this.cell(
+                B2,
+                2
+            )
+        );
+        index.addOrReplace(
+            this.cell(
+                A2,
+                "Text"
+            )
+        );
+        index.addOrReplace(
+            this.cell(
+                A1,
+                1
+            )
+        );
+        return index;
+    }
+
+    private SpreadsheetCell cell(final SpreadsheetCellReference reference,
+                                 final Object value) {
+        return reference.setFormula(
+            SpreadsheetFormula.EMPTY.setText("=" + value)
+                .setValue(
+                    Optional.of(value)
+                )
+        );
+    }
+
+    private void findAndCheck(final TreeMapSpreadsheetCellStoreValueTypeIndex index,
+                              final String range,
+                              final ValueType valueType,
+                              final int max,
+                              final SpreadsheetCellReference... expected) {
+        final List<SpreadsheetCellReference> found = index.find(
+            SpreadsheetSelection.parseCellRange(range),
+            valueType,
+            max
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            found,
+            () -> index + " find " + range + " " + valueType + " " + max
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TreeMapSpreadsheetCellStoreValueTypeIndex index = TreeMapSpreadsheetCellStoreValueTypeIndex.empty();
+        index.addOrReplace(
+            this.cell(
+                A1,
+                1
+            )
+        );
+
+        this.toStringAndCheck(
+            index,
+            "{" + SpreadsheetValueType.NUMBER + "=[A1]}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetCellStoreValueTypeIndex> type() {
+        return TreeMapSpreadsheetCellStoreValueTypeIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TreeMapSpreadsheetCellStoreVersionsTest implements ClassTesting<TreeMapSpreadsheetCellStoreVersions>,
+    ToStringTesting<TreeMapSpreadsheetCellStoreVersions> {
+
+    private final static SpreadsheetCellReference A1 = SpreadsheetSelection.A1;
+
+    private final static SpreadsheetCellReference B2 = SpreadsheetSelection.parseCell("B2");
+
+    private final static SpreadsheetCellReference C3 = SpreadsheetSelection.parseCell("C3");
+
+    @Test
+    public void testVersionEmpty() {
+        this.checkEquals(
+            0L,
+            TreeMapSpreadsheetCellStoreVersions.empty()
+                .version()
+        );
+    }
+
+    @Test
+    public void testVersion() {
+        this.checkEquals(
+            3L,
+            this.createVersions()
+                .version()
+        );
+    }
+
+    @Test
+    public void testFindEmpty() {
+        this.findAndCheck(
+            TreeMapSpreadsheetCellStoreVersions.empty(),
+            "A1:Z99",
+            0
+        );
+    }
+
+    @Test
+    public void testFindAll() {
+        this.findAndCheck(
+            this.createVersions(),
+            "A1:Z99",
+            0,
+            A1,
+            B2,
+            C3
+        );
+    }
+
+    @Test
+    public void testFindSinceVersion() {
+        this.findAndCheck(
+            this.createVersions(),
+            "A1:Z99",
+            1,
+            B2,
+            C3
+        );
+    }
+
+    @Test
+    public void testFindCurrentVersion() {
+        this.findAndCheck(
+            this.createVersions(),
+            "A1:Z99",
+            3
+        );
+    }
+
+    @Test
+    public void testFindOutsideRangeIgnored() {
+        this.findAndCheck(
+            this.createVersions(),
+            "B1:B2",
+            0,
+            B2
+        );
+    }
+
+    @Test
+    public void testFindAfterChangedAgain() {
+        final TreeMapSpreadsheetCellStoreVersions versions = this.createVersions();
+        versions.changed(
+            SpreadsheetSelection.parseCell("$A$1")
+        );
+
+        this.findAndCheck(
+            versions,
+            "A1:Z99",
+            3,
+            A1
+        );
+    }
+
+    @Test
+    public void testWithNegativeTombstoneAgeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TreeMapSpreadsheetCellStoreVersions.with(-1)
+        );
+    }
+
+    @Test
+    public void testFindDeleted() {
+        final TreeMapSpreadsheetCellStoreVersions versions = this.createVersions();
+        versions.deleted(C3);
+
+        this.findAndCheck(
+            versions,
+            "A1:Z99",
+            3,
+            C3
+        );
+    }
+
+    @Test
+    public void testFindSavedAfterDeleted() {
+        final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.with(1);
+        versions.deleted(A1);
+        versions.changed(A1);
+        versions.changed(B2);
+
+        this.findAndCheck(
+            versions,
+            "A1:Z99",
+            0,
+            A1,
+            B2
+        );
+    }
+
+    @Test
+    public void testDeletedForgottenAfterTombstoneAge() {
+        final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.with(2);
+        versions.deleted(A1);
+        versions.changed(B2);
+        versions.changed(C3);
+
+        this.toStringAndCheck(
+            versions,
+            "version=3 {B2=2, C3=3}"
+        );
+
+        this.findAndCheck(
+            versions,
+            "A1:Z99",
+            1,
+            B2,
+            C3
+        );
+    }
+
+    @Test
+    public void testFindBeforeForgottenDeleteFails() {
+        final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.with(2);
+        versions.deleted(A1);
+        versions.changed(B2);
+        versions.changed(C3);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> versions.find(
+                SpreadsheetSelection.parseCellRange("A1:Z99"),
+                0
+            )
+        );
+    }
+
+    private TreeMapSpreadsheetCellStoreVersions createVersions() {
+        final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.empty();
+        versions.changed(A1);
+        versions.changed(C3);
+        versions.changed(B2);
+        return versions;
+    }
+
+    private void findAndCheck(final TreeMapSpreadsheetCellStoreVersions versions,
+                              final String range,
+                              final long version,
+                              final SpreadsheetCellReference... expected) {
+        this.checkEquals(
+            Sets.of(expected),
+            versions.find(
+                SpreadsheetSelection.parseCellRange(range),
+                version
+            ),
+            () -> versions + " find " + range + " " + version
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TreeMapSpreadsheetCellStoreVersions versions = TreeMapSpreadsheetCellStoreVersions.empty();
+        versions.changed(A1);
+
+        this.toStringAndCheck(
+            versions,
+            "version=1 {A1=1}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetCellStoreVersions> type() {
+        return TreeMapSpreadsheetCellStoreVersions.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class TreeMapSpreadsheetColumnOrRowStoreHiddenIndexTest implements ClassTesting<TreeMapSpreadsheetColumnOrRowStoreHiddenIndex>,
+    ToStringTesting<TreeMapSpreadsheetColumnOrRowStoreHiddenIndex> {
+
+    private final static int FIRST = 1;
+
+    private final static int LAST = 99;
+
+    @Test
+    public void testIsHiddenEmpty() {
+        this.isHiddenAndCheck(
+            TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty(),
+            FIRST,
+            false
+        );
+    }
+
+    @Test
+    public void testSetHiddenMergesRuns() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(1, true);
+        index.set(3, true);
+        index.set(2, true);
+        index.set(2, true);
+
+        this.toStringAndCheck(
+            index,
+            "{1=3}"
+        );
+        this.isHiddenAndCheck(
+            index,
+            0,
+            false
+        );
+        this.isHiddenAndCheck(
+            index,
+            2,
+            true
+        );
+        this.isHiddenAndCheck(
+            index,
+            4,
+            false
+        );
+    }
+
+    @Test
+    public void testSetNotHiddenSplitsRun() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(1, true);
+        index.set(2, true);
+        index.set(3, true);
+        index.set(2, false);
+
+        this.toStringAndCheck(
+            index,
+            "{1=1, 3=3}"
+        );
+    }
+
+    @Test
+    public void testSetNotHiddenRunEnds() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(1, true);
+        index.set(2, true);
+        index.set(3, true);
+        index.set(1, false);
+        index.set(3, false);
+        index.set(5, false);
+
+        this.toStringAndCheck(
+            index,
+            "{2=2}"
+        );
+    }
+
+    @Test
+    public void testSkipHiddenNotHidden() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(2, true);
+
+        this.skipHiddenAndCheck(
+            index,
+            1,
+            1,
+            1
+        );
+    }
+
+    @Test
+    public void testSkipHiddenForwards() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = this.createRun();
+
+        this.skipHiddenAndCheck(
+            index,
+            11,
+            1,
+            21
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwards() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = this.createRun();
+
+        this.skipHiddenAndCheck(
+            index,
+            19,
+            -1,
+            9
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsPastFirst() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(FIRST, true);
+        index.set(FIRST + 1, true);
+
+        this.skipHiddenAndCheck(
+            index,
+            FIRST + 1,
+            -1,
+            -1
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsFirstHidden() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(FIRST, true);
+
+        this.skipHiddenAndCheck(
+            index,
+            FIRST,
+            -1,
+            -1
+        );
+    }
+
+    @Test
+    public void testSkipHiddenForwardsPastLast() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        index.set(LAST - 1, true);
+        index.set(LAST, true);
+
+        this.skipHiddenAndCheck(
+            index,
+            LAST - 1,
+            1,
+            -1
+        );
+    }
+
+    /**
+     * Hides 10 to 20 inclusive.
+     */
+    private TreeMapSpreadsheetColumnOrRowStoreHiddenIndex createRun() {
+        final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index = TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.empty();
+        for (int i = 20; i >= 10; i--) {
+            index.set(i, true);
+        }
+        return index;
+    }
+
+    private void isHiddenAndCheck(final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index,
+                                  final int value,
+                                  final boolean expected) {
+        this.checkEquals(
+            expected,
+            index.isHidden(value),
+            () -> index + " isHidden " + value
+        );
+    }
+
+    private void skipHiddenAndCheck(final TreeMapSpreadsheetColumnOrRowStoreHiddenIndex index,
+                                    final int value,
+                                    final int delta,
+                                    final int expected) {
+        this.checkEquals(
+            expected,
+            index.skipHidden(
+                value,
+                delta,
+                FIRST,
+                LAST
+            ),
+            () -> index + " skipHidden " + value + " " + delta
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetColumnOrRowStoreHiddenIndex> type() {
+        return TreeMapSpreadsheetColumnOrRowStoreHiddenIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
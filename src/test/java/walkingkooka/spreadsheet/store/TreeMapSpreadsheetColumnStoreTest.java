@@ -21,9 +21,11 @@ package walkingkooka.spreadsheet.store;
 import org.junit.jupiter.api.Test;
 import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetColumn;
 
+import java.util.Optional;
 import java.util.TreeMap;
 
 final class TreeMapSpreadsheetColumnStoreTest extends SpreadsheetColumnStoreTestCase<TreeMapSpreadsheetColumnStore> 
@@ -83,6 +85,104 @@ final class TreeMapSpreadsheetColumnStoreTest extends SpreadsheetColumnStoreTest
         );
     }
 
+    @Test
+    public void testSkipHidden() {
+        final TreeMapSpreadsheetColumnStore store = this.createStore();
+
+        store.save(
+            SpreadsheetColumn.with(
+                SpreadsheetSelection.parseColumn("B")
+            ).setHidden(true)
+        );
+        store.save(
+            SpreadsheetColumn.with(
+                SpreadsheetSelection.parseColumn("C")
+            ).setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.of(
+                SpreadsheetSelection.parseColumn("D")
+            ),
+            store.skipHidden(
+                SpreadsheetSelection.parseColumn("B"),
+                1
+            )
+        );
+        this.checkEquals(
+            Optional.of(
+                SpreadsheetSelection.parseColumn("A")
+            ),
+            store.skipHidden(
+                SpreadsheetSelection.parseColumn("C"),
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsFirstHidden() {
+        final TreeMapSpreadsheetColumnStore store = this.createStore();
+
+        final SpreadsheetColumnReference column = SpreadsheetSelection.parseColumn("A");
+        store.save(
+            SpreadsheetColumn.with(column)
+                .setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            store.skipHidden(
+                column,
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsPastFirstHidden() {
+        final TreeMapSpreadsheetColumnStore store = this.createStore();
+
+        store.save(
+            SpreadsheetColumn.with(
+                SpreadsheetSelection.parseColumn("A")
+            ).setHidden(true)
+        );
+        store.save(
+            SpreadsheetColumn.with(
+                SpreadsheetSelection.parseColumn("B")
+            ).setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            store.skipHidden(
+                SpreadsheetSelection.parseColumn("B"),
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenAfterDelete() {
+        final TreeMapSpreadsheetColumnStore store = this.createStore();
+
+        final SpreadsheetColumnReference column = SpreadsheetSelection.parseColumn("B");
+        store.save(
+            SpreadsheetColumn.with(column)
+                .setHidden(true)
+        );
+        store.delete(column);
+
+        this.checkEquals(
+            Optional.of(column),
+            store.skipHidden(
+                column,
+                1
+            )
+        );
+    }
+
     @Override
     public TreeMapSpreadsheetColumnStore createStore() {
         return TreeMapSpreadsheetColumnStore.create();
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+public final class TreeMapSpreadsheetLabelStoreReferenceIndexTest implements ClassTesting<TreeMapSpreadsheetLabelStoreReferenceIndex> {
+
+    private final static SpreadsheetLabelName LABEL1 = SpreadsheetSelection.labelName("Label1");
+
+    private final static SpreadsheetLabelName LABEL2 = SpreadsheetSelection.labelName("Label2");
+
+    @Test
+    public void testMaxHeightEmpty() {
+        this.maxHeightAndCheck(
+            TreeMapSpreadsheetLabelStoreReferenceIndex.empty(),
+            0
+        );
+    }
+
+    @Test
+    public void testMaxHeightAfterRemoveTallest() {
+        final TreeMapSpreadsheetLabelStoreReferenceIndex index = TreeMapSpreadsheetLabelStoreReferenceIndex.empty();
+
+        index.add(
+            LABEL1,
+            SpreadsheetSelection.parseCellRange("A1:A100")
+        );
+        index.add(
+            LABEL2,
+            SpreadsheetSelection.parseCellRange("B1:B3")
+        );
+
+        this.maxHeightAndCheck(
+            index,
+            100
+        );
+
+        index.remove(LABEL1);
+
+        this.maxHeightAndCheck(
+            index,
+            3
+        );
+    }
+
+    @Test
+    public void testMaxHeightAfterReplaceTallest() {
+        final TreeMapSpreadsheetLabelStoreReferenceIndex index = TreeMapSpreadsheetLabelStoreReferenceIndex.empty();
+
+        index.add(
+            LABEL1,
+            SpreadsheetSelection.parseCellRange("A1:A100")
+        );
+        index.add(
+            LABEL1,
+            SpreadsheetSelection.parseCellRange("A1:A2")
+        );
+
+        this.maxHeightAndCheck(
+            index,
+            2
+        );
+    }
+
+    @Test
+    public void testMaxHeightSameHeightRemoved() {
+        final TreeMapSpreadsheetLabelStoreReferenceIndex index = TreeMapSpreadsheetLabelStoreReferenceIndex.empty();
+
+        index.add(
+            LABEL1,
+            SpreadsheetSelection.parseCellRange("A1:A10")
+        );
+        index.add(
+            LABEL2,
+            SpreadsheetSelection.parseCellRange("B1:B10")
+        );
+
+        index.remove(LABEL1);
+
+        this.maxHeightAndCheck(
+            index,
+            10
+        );
+    }
+
+    @Test
+    public void testFindAfterRemoveTallest() {
+        final TreeMapSpreadsheetLabelStoreReferenceIndex index = TreeMapSpreadsheetLabelStoreReferenceIndex.empty();
+
+        index.add(
+            LABEL1,
+            SpreadsheetSelection.parseCellRange("A1:A100")
+        );
+        index.add(
+            LABEL2,
+            SpreadsheetSelection.parseCellRange("A98:A99")
+        );
+
+        index.remove(LABEL1);
+
+        this.checkEquals(
+            "[" + LABEL2 + "]",
+            index.find(
+                SpreadsheetSelection.parseCell("A99")
+                    .toCellRange()
+            ).toString()
+        );
+    }
+
+    private void maxHeightAndCheck(final TreeMapSpreadsheetLabelStoreReferenceIndex index,
+                                   final int expected) {
+        this.checkEquals(
+            expected,
+            index.maxHeight(),
+            index::toString
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetLabelStoreReferenceIndex> type() {
+        return TreeMapSpreadsheetLabelStoreReferenceIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
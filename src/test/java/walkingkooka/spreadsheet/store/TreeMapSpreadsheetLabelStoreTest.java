@@ -386,6 +386,213 @@ public final class TreeMapSpreadsheetLabelStoreTest extends SpreadsheetLabelStor
         );
     }
 
+    @Test
+    public void testFindLabelsWithReferenceAfterDelete() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        store.save(
+            LABEL1.setLabelMappingReference(A2)
+        );
+        final SpreadsheetLabelMapping mapping = store.save(
+            LABEL2.setLabelMappingReference(A1A3)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2, // count
+            LABEL1.setLabelMappingReference(A2),
+            mapping
+        );
+
+        store.delete(LABEL1);
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2, // count
+            mapping
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceAfterSaveDifferentReference() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        store.save(
+            LABEL1.setLabelMappingReference(A2)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            1, // count
+            LABEL1.setLabelMappingReference(A2)
+        );
+
+        final SpreadsheetLabelMapping mapping = store.save(
+            LABEL1.setLabelMappingReference(B2)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            1 // count
+        );
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            B2,
+            0, // offset
+            1, // count
+            mapping
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceAfterLabelToLabelTargetChanged() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        store.save(
+            LABEL2.setLabelMappingReference(A2)
+        );
+        final SpreadsheetLabelMapping mapping = store.save(
+            LABEL3.setLabelMappingReference(LABEL2)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2, // count
+            LABEL2.setLabelMappingReference(A2),
+            mapping
+        );
+
+        final SpreadsheetLabelMapping mapping2 = store.save(
+            LABEL2.setLabelMappingReference(A3)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2 // count
+        );
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A3,
+            0, // offset
+            2, // count
+            mapping2,
+            mapping
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceTallRangeAbove() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        final SpreadsheetLabelMapping mapping = store.save(
+            LABEL1.setLabelMappingReference(
+                SpreadsheetSelection.parseCellRange("A1:A100")
+            )
+        );
+        store.save(
+            LABEL2.setLabelMappingReference(
+                SpreadsheetSelection.parseCellRange("B1:B100")
+            )
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            SpreadsheetSelection.parseCell("A99"),
+            0, // offset
+            2, // count
+            mapping
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceAfterLabelChainTargetChanged() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        store.save(
+            LABEL1.setLabelMappingReference(A2)
+        );
+        final SpreadsheetLabelMapping mapping2 = store.save(
+            LABEL2.setLabelMappingReference(LABEL1)
+        );
+        final SpreadsheetLabelMapping mapping3 = store.save(
+            LABEL3.setLabelMappingReference(LABEL2)
+        );
+
+        final SpreadsheetLabelMapping mapping1 = store.save(
+            LABEL1.setLabelMappingReference(A3)
+        );
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            3 // count
+        );
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A3,
+            0, // offset
+            3, // count
+            mapping1,
+            mapping2,
+            mapping3
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceAfterLabelToLabelTargetDeleted() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        store.save(
+            LABEL2.setLabelMappingReference(A2)
+        );
+        store.save(
+            LABEL3.setLabelMappingReference(LABEL2)
+        );
+
+        store.delete(LABEL2);
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2 // count
+        );
+    }
+
+    @Test
+    public void testFindLabelsWithReferenceAfterLabelToLabelDeleted() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        final SpreadsheetLabelMapping mapping = store.save(
+            LABEL2.setLabelMappingReference(A2)
+        );
+        store.save(
+            LABEL3.setLabelMappingReference(LABEL2)
+        );
+
+        store.delete(LABEL3);
+
+        this.findLabelsWithReferenceAndCheck(
+            store,
+            A2,
+            0, // offset
+            2, // count
+            mapping
+        );
+    }
 
     @Test
     public void testFindLabelsWithReferenceWhereSomeWithCellAndOffsetAndCount() {
@@ -444,6 +651,26 @@ public final class TreeMapSpreadsheetLabelStoreTest extends SpreadsheetLabelStor
 
     // findLabelsByName......................................................................................................
 
+    @Test
+    public void testFindLabelsByNameAfterDelete() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        final SpreadsheetLabelMapping mapping = LABEL1.setLabelMappingReference(A1);
+        store.save(mapping);
+        store.save(
+            LABEL2.setLabelMappingReference(A1)
+        );
+        store.delete(LABEL2);
+
+        this.findLabelsByNameAndCheck(
+            store,
+            "LABEL",
+            0, // offset
+            2, // count
+            mapping
+        );
+    }
+
     @Test
     public void testFindLabelsByNameNone() {
         final TreeMapSpreadsheetLabelStore store = this.createStore();
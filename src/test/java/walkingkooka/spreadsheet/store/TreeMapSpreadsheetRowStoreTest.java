@@ -22,9 +22,11 @@ package walkingkooka.spreadsheet.store;
 import org.junit.jupiter.api.Test;
 import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetRow;
 
+import java.util.Optional;
 import java.util.TreeMap;
 
 final class TreeMapSpreadsheetRowStoreTest extends SpreadsheetRowStoreTestCase<TreeMapSpreadsheetRowStore> 
@@ -89,6 +91,104 @@ implements HashCodeEqualsDefinedTesting2<TreeMapSpreadsheetRowStore> {
         );
     }
 
+    @Test
+    public void testSkipHidden() {
+        final TreeMapSpreadsheetRowStore store = this.createStore();
+
+        store.save(
+            SpreadsheetRow.with(
+                SpreadsheetSelection.parseRow("2")
+            ).setHidden(true)
+        );
+        store.save(
+            SpreadsheetRow.with(
+                SpreadsheetSelection.parseRow("3")
+            ).setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.of(
+                SpreadsheetSelection.parseRow("4")
+            ),
+            store.skipHidden(
+                SpreadsheetSelection.parseRow("2"),
+                1
+            )
+        );
+        this.checkEquals(
+            Optional.of(
+                SpreadsheetSelection.parseRow("1")
+            ),
+            store.skipHidden(
+                SpreadsheetSelection.parseRow("3"),
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsFirstHidden() {
+        final TreeMapSpreadsheetRowStore store = this.createStore();
+
+        final SpreadsheetRowReference row = SpreadsheetSelection.parseRow("1");
+        store.save(
+            SpreadsheetRow.with(row)
+                .setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            store.skipHidden(
+                row,
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenBackwardsPastFirstHidden() {
+        final TreeMapSpreadsheetRowStore store = this.createStore();
+
+        store.save(
+            SpreadsheetRow.with(
+                SpreadsheetSelection.parseRow("1")
+            ).setHidden(true)
+        );
+        store.save(
+            SpreadsheetRow.with(
+                SpreadsheetSelection.parseRow("2")
+            ).setHidden(true)
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            store.skipHidden(
+                SpreadsheetSelection.parseRow("2"),
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testSkipHiddenAfterDelete() {
+        final TreeMapSpreadsheetRowStore store = this.createStore();
+
+        final SpreadsheetRowReference row = SpreadsheetSelection.parseRow("2");
+        store.save(
+            SpreadsheetRow.with(row)
+                .setHidden(true)
+        );
+        store.delete(row);
+
+        this.checkEquals(
+            Optional.of(row),
+            store.skipHidden(
+                row,
+                1
+            )
+        );
+    }
+
     @Override
     public TreeMapSpreadsheetRowStore createStore() {
         return TreeMapSpreadsheetRowStore.create();
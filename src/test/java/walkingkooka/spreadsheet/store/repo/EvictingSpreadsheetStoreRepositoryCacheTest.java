@@ -0,0 +1,749 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.datetime.HasNow;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.json.JsonNode;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EvictingSpreadsheetStoreRepositoryCacheTest implements ClassTesting<EvictingSpreadsheetStoreRepositoryCache>,
+    ToStringTesting<EvictingSpreadsheetStoreRepositoryCache>,
+    SpreadsheetMetadataTesting {
+
+    private final static SpreadsheetId ID1 = SpreadsheetId.with(1);
+
+    private final static SpreadsheetId ID2 = SpreadsheetId.with(2);
+
+    private final static SpreadsheetId ID3 = SpreadsheetId.with(3);
+
+    private final static SpreadsheetCell CELL = SpreadsheetSelection.A1.setFormula(
+        SpreadsheetMetadataTesting.parseFormula("=B2+1")
+    );
+
+    private final static SpreadsheetLabelMapping LABEL = SpreadsheetSelection.labelName("Label123")
+        .setLabelMappingReference(SpreadsheetSelection.A1);
+
+    private final static Function<SpreadsheetId, SpreadsheetStoreRepository> FACTORY = (id) -> treeMap();
+
+    private final static BiConsumer<SpreadsheetId, List<JsonNode>> EVICTED = (id, snapshot) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    private final static Function<SpreadsheetId, Optional<List<JsonNode>>> SNAPSHOTS = (id) -> Optional.empty();
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFactoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                null,
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                HAS_NOW,
+                new ReentrantLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxResidentFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                0,
+                EVICTED,
+                SNAPSHOTS,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                HAS_NOW,
+                new ReentrantLock()
+            )
+        );
+        this.checkEquals(
+            "Invalid maxResident 0 < 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullEvictedFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                1,
+                null,
+                SNAPSHOTS,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                HAS_NOW,
+                new ReentrantLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullSnapshotsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                1,
+                EVICTED,
+                null,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                HAS_NOW,
+                new ReentrantLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                null,
+                HAS_NOW,
+                new ReentrantLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                null,
+                new ReentrantLock()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLockFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingSpreadsheetStoreRepositoryCache.with(
+                FACTORY,
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+                HAS_NOW,
+                null
+            )
+        );
+    }
+
+    // use..............................................................................................................
+
+    @Test
+    public void testUseWithNullIdFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache(
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                HAS_NOW
+            ).use(
+                null,
+                (r) -> r
+            )
+        );
+    }
+
+    @Test
+    public void testUseWithNullOperationFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache(
+                1,
+                EVICTED,
+                SNAPSHOTS,
+                HAS_NOW
+            ).use(
+                ID1,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testUseSameRepository() {
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            2,
+            EVICTED,
+            SNAPSHOTS,
+            HAS_NOW
+        );
+
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .save(CELL)
+        );
+
+        this.checkEquals(
+            Optional.of(CELL),
+            cache.use(
+                ID1,
+                (r) -> r.cells()
+                    .load(CELL.reference())
+            )
+        );
+        this.residentCountAndCheck(
+            cache,
+            1
+        );
+        this.checkEquals(
+            0L,
+            cache.evictionCount(),
+            "evictionCount"
+        );
+    }
+
+    @Test
+    public void testUseLocksAroundOperation() {
+        final List<String> events = Lists.array();
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = EvictingSpreadsheetStoreRepositoryCache.with(
+            FACTORY,
+            1,
+            EVICTED,
+            SNAPSHOTS,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+            HAS_NOW,
+            lock(events)
+        );
+
+        cache.use(
+            ID1,
+            (r) -> events.add("operation")
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "lock",
+                "unlock",
+                "operation",
+                "lock",
+                "unlock"
+            ),
+            events
+        );
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final Map<SpreadsheetId, List<JsonNode>> evicted = Maps.ordered();
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            2,
+            evicted::put,
+            SNAPSHOTS,
+            HAS_NOW
+        );
+
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .save(CELL)
+        );
+        cache.use(
+            ID2,
+            (r) -> r.labels()
+                .save(LABEL)
+        );
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .count()
+        );
+        cache.use(
+            ID3,
+            (r) -> r.cells()
+                .count()
+        );
+
+        this.checkEquals(
+            Sets.of(ID2),
+            evicted.keySet(),
+            "evicted"
+        );
+        this.checkEquals(
+            1,
+            evicted.get(ID2)
+                .size(),
+            () -> "snapshot " + evicted.get(ID2)
+        );
+        this.residentCountAndCheck(
+            cache,
+            2
+        );
+        this.checkEquals(
+            1L,
+            cache.evictionCount(),
+            "evictionCount"
+        );
+    }
+
+    @Test
+    public void testPinnedNotEvicted() {
+        final Map<SpreadsheetId, List<JsonNode>> evicted = Maps.ordered();
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            1,
+            evicted::put,
+            (id) -> Optional.ofNullable(
+                evicted.remove(id)
+            ),
+            HAS_NOW
+        );
+
+        cache.use(
+            ID1,
+            (r1) -> {
+                cache.use(
+                    ID2,
+                    (r2) -> {
+                        this.residentCountAndCheck(
+                            cache,
+                            2
+                        );
+                        return null;
+                    }
+                );
+
+                // ID1 is pinned, so ID2 was evicted even though it was used more recently
+                this.checkEquals(
+                    Sets.of(ID2),
+                    evicted.keySet(),
+                    "evicted"
+                );
+
+                // saves after another spreadsheet was used are not lost
+                return r1.cells()
+                    .save(CELL);
+            }
+        );
+
+        this.residentCountAndCheck(
+            cache,
+            1
+        );
+        this.checkEquals(
+            Optional.of(CELL),
+            cache.use(
+                ID1,
+                (r) -> r.cells()
+                    .load(CELL.reference())
+            )
+        );
+    }
+
+    @Test
+    public void testEvictionSnapshotExcludesMetadata() {
+        final SpreadsheetMetadataStore metadatas = SpreadsheetMetadataStores.treeMap();
+        metadatas.save(
+            METADATA_EN_AU.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+                ID1
+            )
+        );
+
+        final Map<SpreadsheetId, List<JsonNode>> evicted = Maps.ordered();
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = EvictingSpreadsheetStoreRepositoryCache.with(
+            (id) -> SpreadsheetStoreRepositories.treeMap(metadatas),
+            1,
+            evicted::put,
+            SNAPSHOTS,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+            HAS_NOW,
+            new ReentrantLock()
+        );
+
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .save(CELL)
+        );
+        cache.use(
+            ID2,
+            (r) -> r.cells()
+                .count()
+        );
+
+        this.checkEquals(
+            1,
+            evicted.get(ID1)
+                .size(),
+            () -> "snapshot " + evicted.get(ID1)
+        );
+    }
+
+    @Test
+    public void testEvictionFailureKeepsRepository() {
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            1,
+            (id, snapshot) -> {
+                if (ID1.equals(id)) {
+                    throw new UnsupportedOperationException();
+                }
+            },
+            SNAPSHOTS,
+            HAS_NOW
+        );
+
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .save(CELL)
+        );
+
+        // the failed eviction of ID1 is not thrown by an unrelated use
+        this.checkEquals(
+            0,
+            cache.use(
+                ID2,
+                (r) -> r.cells()
+                    .count()
+            )
+        );
+
+        this.residentCountAndCheck(
+            cache,
+            2
+        );
+        this.checkEquals(
+            0L,
+            cache.evictionCount(),
+            "evictionCount"
+        );
+
+        this.checkEquals(
+            Optional.of(CELL),
+            cache.use(
+                ID1,
+                (r) -> r.cells()
+                    .load(CELL.reference())
+            )
+        );
+    }
+
+    @Test
+    public void testEvictionOutsideLock() {
+        final List<String> events = Lists.array();
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = EvictingSpreadsheetStoreRepositoryCache.with(
+            FACTORY,
+            1,
+            (id, snapshot) -> events.add("evicted " + id),
+            SNAPSHOTS,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+            HAS_NOW,
+            lock(events)
+        );
+
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .save(CELL)
+        );
+        events.clear();
+
+        cache.use(
+            ID2,
+            (r) -> events.add("operation")
+        );
+
+        this.checkEquals(
+            Lists.of(
+                "lock",
+                "unlock",
+                "operation",
+                "lock",
+                "unlock",
+                "evicted " + ID1,
+                "lock",
+                "unlock"
+            ),
+            events
+        );
+    }
+
+    @Test
+    public void testReload() {
+        final Map<SpreadsheetId, List<JsonNode>> evicted = Maps.ordered();
+
+        final LocalDateTime start = LocalDateTime.of(
+            2000,
+            1,
+            1,
+            12,
+            0
+        );
+        final int[] seconds = new int[1];
+
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            1,
+            evicted::put,
+            (id) -> Optional.ofNullable(
+                evicted.remove(id)
+            ),
+            () -> start.plusSeconds(seconds[0]++)
+        );
+
+        cache.use(
+            ID1,
+            (r) -> {
+                r.cells()
+                    .save(CELL);
+                return r.labels()
+                    .save(LABEL);
+            }
+        );
+        cache.use(
+            ID2,
+            (r) -> r.cells()
+                .count()
+        );
+
+        this.checkEquals(
+            Sets.of(ID1),
+            evicted.keySet(),
+            "evicted"
+        );
+
+        cache.use(
+            ID1,
+            (r) -> {
+                this.checkEquals(
+                    Lists.of(CELL),
+                    r.cells()
+                        .values(0, 10),
+                    "cells"
+                );
+                this.checkEquals(
+                    Lists.of(LABEL),
+                    r.labels()
+                        .values(0, 10),
+                    "labels"
+                );
+                this.checkEquals(
+                    Sets.of(CELL.reference()),
+                    r.cellReferences()
+                        .findCellsWithCellOrCellRange(
+                            SpreadsheetSelection.parseCell("B2"),
+                            0,
+                            10
+                        ),
+                    "cellReferences"
+                );
+                return null;
+            }
+        );
+
+        this.checkEquals(
+            Sets.of(ID2),
+            evicted.keySet(),
+            "evicted after reload"
+        );
+        this.checkEquals(
+            1L,
+            cache.reloadCount(),
+            "reloadCount"
+        );
+        this.checkEquals(
+            Duration.ofSeconds(1),
+            cache.reloadDuration(),
+            "reloadDuration"
+        );
+    }
+
+    @Test
+    public void testReloadWithoutSnapshot() {
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            1,
+            EVICTED,
+            SNAPSHOTS,
+            HAS_NOW
+        );
+
+        this.checkEquals(
+            0,
+            cache.use(
+                ID1,
+                (r) -> r.cells()
+                    .count()
+            )
+        );
+        this.checkEquals(
+            0L,
+            cache.reloadCount(),
+            "reloadCount"
+        );
+        this.checkEquals(
+            Duration.ZERO,
+            cache.reloadDuration(),
+            "reloadDuration"
+        );
+    }
+
+    private void residentCountAndCheck(final EvictingSpreadsheetStoreRepositoryCache cache,
+                                       final int expected) {
+        this.checkEquals(
+            expected,
+            cache.residentCount(),
+            "residentCount"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final EvictingSpreadsheetStoreRepositoryCache cache = this.createCache(
+            2,
+            EVICTED,
+            SNAPSHOTS,
+            HAS_NOW
+        );
+        cache.use(
+            ID1,
+            (r) -> r.cells()
+                .count()
+        );
+
+        this.toStringAndCheck(
+            cache,
+            "resident=[" + ID1 + "] pinned=[] evictions=0 reloads=0"
+        );
+    }
+
+    private EvictingSpreadsheetStoreRepositoryCache createCache(final int maxResident,
+                                                                final BiConsumer<SpreadsheetId, List<JsonNode>> evicted,
+                                                                final Function<SpreadsheetId, Optional<List<JsonNode>>> snapshots,
+                                                                final HasNow now) {
+        return EvictingSpreadsheetStoreRepositoryCache.with(
+            FACTORY,
+            maxResident,
+            evicted,
+            snapshots,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT,
+            now,
+            new ReentrantLock()
+        );
+    }
+
+    private static SpreadsheetStoreRepository treeMap() {
+        return SpreadsheetStoreRepositories.treeMap(
+            SpreadsheetMetadataStores.treeMap()
+        );
+    }
+
+    private static Lock lock(final List<String> events) {
+        return new Lock() {
+            @Override
+            public void lock() {
+                events.add("lock");
+            }
+
+            @Override
+            public void lockInterruptibly() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean tryLock() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean tryLock(final long time,
+                                   final TimeUnit unit) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void unlock() {
+                events.add("unlock");
+            }
+
+            @Override
+            public Condition newCondition() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EvictingSpreadsheetStoreRepositoryCache> type() {
+        return EvictingSpreadsheetStoreRepositoryCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
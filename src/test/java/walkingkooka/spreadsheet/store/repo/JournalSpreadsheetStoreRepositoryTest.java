@@ -0,0 +1,388 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetColumn;
+import walkingkooka.spreadsheet.value.SpreadsheetRow;
+import walkingkooka.tree.json.JsonNode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JournalSpreadsheetStoreRepositoryTest implements SpreadsheetStoreRepositoryTesting<JournalSpreadsheetStoreRepository>,
+    SpreadsheetMetadataTesting {
+
+    private final static SpreadsheetCell CELL = SpreadsheetSelection.A1.setFormula(
+        SpreadsheetFormula.EMPTY.setText("=1+2")
+    );
+
+    private final static SpreadsheetLabelMapping LABEL = SpreadsheetSelection.labelName("Label123")
+        .setLabelMappingReference(SpreadsheetSelection.A1);
+
+    @Test
+    public void testWithNullRepositoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JournalSpreadsheetStoreRepository.with(
+                null,
+                (e) -> {
+                },
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullJournalFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JournalSpreadsheetStoreRepository.with(
+                treeMap(),
+                null,
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JournalSpreadsheetStoreRepository.with(
+                treeMap(),
+                (e) -> {
+                },
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testSaveCell() {
+        final List<JsonNode> journal = Lists.array();
+        final JournalSpreadsheetStoreRepository repository = JournalSpreadsheetStoreRepository.with(
+            treeMap(),
+            journal::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        repository.cells()
+            .save(CELL);
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.object()
+                    .set(
+                        JournalSpreadsheetStoreRepository.STORE_PROPERTY,
+                        "cells"
+                    ).set(
+                        JournalSpreadsheetStoreRepository.SAVE_PROPERTY,
+                        JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT.marshall(CELL)
+                    )
+            ),
+            journal
+        );
+    }
+
+    @Test
+    public void testDeleteLabel() {
+        final List<JsonNode> journal = Lists.array();
+        final JournalSpreadsheetStoreRepository repository = JournalSpreadsheetStoreRepository.with(
+            treeMap(),
+            journal::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        repository.labels()
+            .save(LABEL);
+        journal.clear();
+
+        repository.labels()
+            .delete(LABEL.label());
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.object()
+                    .set(
+                        JournalSpreadsheetStoreRepository.STORE_PROPERTY,
+                        "labels"
+                    ).set(
+                        JournalSpreadsheetStoreRepository.DELETE_PROPERTY,
+                        "Label123"
+                    )
+            ),
+            journal
+        );
+    }
+
+    @Test
+    public void testReplay() {
+        final List<JsonNode> journal = Lists.array();
+        final JournalSpreadsheetStoreRepository repository = JournalSpreadsheetStoreRepository.with(
+            treeMap(),
+            journal::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        final SpreadsheetColumn column = SpreadsheetSelection.parseColumn("B")
+            .column()
+            .setHidden(true);
+        final SpreadsheetRow row = SpreadsheetSelection.parseRow("3")
+            .row()
+            .setHidden(true);
+
+        repository.cells()
+            .save(CELL);
+        repository.columns()
+            .save(column);
+        repository.labels()
+            .save(LABEL);
+        repository.rows()
+            .save(row);
+        repository.rows()
+            .delete(row.reference());
+
+        final SpreadsheetStoreRepository replayed = treeMap();
+        JournalSpreadsheetStoreRepository.replay(
+            journal,
+            replayed,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.of(CELL),
+            replayed.cells()
+                .values(0, 10),
+            "cells"
+        );
+        this.checkEquals(
+            Lists.of(column),
+            replayed.columns()
+                .values(0, 10),
+            "columns"
+        );
+        this.checkEquals(
+            Lists.of(LABEL),
+            replayed.labels()
+                .values(0, 10),
+            "labels"
+        );
+        this.checkEquals(
+            0,
+            replayed.rows()
+                .count(),
+            "rows"
+        );
+    }
+
+    @Test
+    public void testReplayRebuildsFormulaReferences() {
+        final SpreadsheetCell b1 = SpreadsheetSelection.parseCell("B1")
+            .setFormula(
+                SpreadsheetMetadataTesting.parseFormula("=A1+1")
+            );
+
+        final SpreadsheetStoreRepository repository = treeMap();
+        repository.cells()
+            .save(b1);
+
+        final List<JsonNode> snapshot = Lists.array();
+        JournalSpreadsheetStoreRepository.snapshot(
+            repository,
+            snapshot::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        final SpreadsheetStoreRepository replayed = treeMap();
+        JournalSpreadsheetStoreRepository.replay(
+            snapshot,
+            replayed,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        this.checkEquals(
+            Sets.of(b1.reference()),
+            replayed.cellReferences()
+                .findValuesById(
+                    SpreadsheetSelection.A1,
+                    0,
+                    10
+                )
+        );
+    }
+
+    @Test
+    public void testReplayDeleteCellRemovesFormulaReferences() {
+        final SpreadsheetCell b1 = SpreadsheetSelection.parseCell("B1")
+            .setFormula(
+                SpreadsheetMetadataTesting.parseFormula("=A1+1")
+            );
+
+        final List<JsonNode> journal = Lists.array();
+        final JournalSpreadsheetStoreRepository repository = JournalSpreadsheetStoreRepository.with(
+            treeMap(),
+            journal::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+        repository.cells()
+            .save(b1);
+
+        final SpreadsheetStoreRepository replayed = treeMap();
+        JournalSpreadsheetStoreRepository.replay(
+            journal,
+            replayed,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        journal.clear();
+        repository.cells()
+            .delete(b1.reference());
+
+        JournalSpreadsheetStoreRepository.replay(
+            journal,
+            replayed,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        this.checkEquals(
+            Sets.empty(),
+            replayed.cellReferences()
+                .findValuesById(
+                    SpreadsheetSelection.A1,
+                    0,
+                    10
+                )
+        );
+    }
+
+    @Test
+    public void testReplayUnknownStoreFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JournalSpreadsheetStoreRepository.replay(
+                Lists.of(
+                    JsonNode.object()
+                        .set(
+                            JournalSpreadsheetStoreRepository.STORE_PROPERTY,
+                            "unknown"
+                        ).set(
+                            JournalSpreadsheetStoreRepository.DELETE_PROPERTY,
+                            "A1"
+                        )
+                ),
+                treeMap(),
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testSnapshotReplay() {
+        final SpreadsheetStoreRepository repository = treeMap();
+        repository.cells()
+            .save(CELL);
+        repository.labels()
+            .save(LABEL);
+
+        final List<JsonNode> snapshot = Lists.array();
+        JournalSpreadsheetStoreRepository.snapshot(
+            repository,
+            snapshot::add,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        this.checkEquals(
+            2,
+            snapshot.size(),
+            () -> snapshot.toString()
+        );
+
+        final SpreadsheetStoreRepository replayed = treeMap();
+        JournalSpreadsheetStoreRepository.replay(
+            snapshot,
+            replayed,
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+
+        this.checkEquals(
+            repository.cells()
+                .values(0, 10),
+            replayed.cells()
+                .values(0, 10),
+            "cells"
+        );
+        this.checkEquals(
+            repository.labels()
+                .values(0, 10),
+            replayed.labels()
+                .values(0, 10),
+            "labels"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetStoreRepository repository = treeMap();
+
+        this.toStringAndCheck(
+            JournalSpreadsheetStoreRepository.with(
+                repository,
+                (e) -> {
+                },
+                JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+            ),
+            repository.toString()
+        );
+    }
+
+    @Override
+    public JournalSpreadsheetStoreRepository createStoreRepository() {
+        return JournalSpreadsheetStoreRepository.with(
+            treeMap(),
+            (e) -> {
+            },
+            JSON_NODE_MARSHALL_UNMARSHALL_CONTEXT
+        );
+    }
+
+    private static SpreadsheetStoreRepository treeMap() {
+        return SpreadsheetStoreRepositories.treeMap(
+            SpreadsheetMetadataStores.treeMap()
+        );
+    }
+
+    @Override
+    public String typeNamePrefix() {
+        return "Journal";
+    }
+
+    @Override
+    public Class<JournalSpreadsheetStoreRepository> type() {
+        return JournalSpreadsheetStoreRepository.class;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelectionVisitorTesting;
+
+public final class SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitorTest implements SpreadsheetSelectionVisitorTesting<SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor>,
+    SpreadsheetMetadataTesting {
+
+    private final static SpreadsheetCellReference CELL = SpreadsheetSelection.parseCell("A99");
+
+    @Test
+    public void testAddFormulaReferences() {
+        final SpreadsheetStoreRepository repository = SpreadsheetStoreRepositories.treeMap(
+            SpreadsheetMetadataStores.treeMap()
+        );
+
+        SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor.addFormulaReferences(
+            CELL.setFormula(
+                SpreadsheetMetadataTesting.parseFormula("=B2+Label123+C3:D4")
+            ),
+            repository
+        );
+
+        this.checkEquals(
+            Sets.of(CELL),
+            repository.cellReferences()
+                .findCellsWithCellOrCellRange(
+                    SpreadsheetSelection.parseCell("B2"),
+                    0,
+                    10
+                ),
+            "cellReferences"
+        );
+        this.checkEquals(
+            true,
+            repository.labelReferences()
+                .findValuesById(
+                    SpreadsheetSelection.labelName("Label123"),
+                    0,
+                    10
+                ).contains(CELL),
+            "labelReferences"
+        );
+        this.checkEquals(
+            Sets.of(
+                SpreadsheetSelection.parseCellRange("C3:D4")
+            ),
+            repository.rangeToCells()
+                .findCellRangesWithValue(CELL),
+            "rangeToCells"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createVisitor(),
+            CELL.toString()
+        );
+    }
+
+    @Override
+    public SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor createVisitor() {
+        return new SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor(
+            CELL,
+            null
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor> type() {
+        return SpreadsheetStoreRepositoryAddFormulaReferencesSpreadsheetSelectionVisitor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    @Override
+    public String typeNamePrefix() {
+        return SpreadsheetStoreRepository.class.getSimpleName();
+    }
+}
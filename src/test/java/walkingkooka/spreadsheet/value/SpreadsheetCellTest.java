@@ -91,6 +91,7 @@ import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -1064,6 +1065,80 @@ public final class SpreadsheetCellTest implements CanBeEmptyTesting,
         );
     }
 
+    // intern...........................................................................................................
+
+    @Test
+    public void testInternNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCell()
+                .intern(null)
+        );
+    }
+
+    @Test
+    public void testInternSame() {
+        final SpreadsheetCell cell = this.createCell();
+        assertSame(
+            cell,
+            cell.intern(Function.identity())
+        );
+    }
+
+    @Test
+    public void testInternSharesEqualStyle() {
+        final TextStyle style = TextStyle.EMPTY.set(
+            TextStylePropertyName.FONT_STYLE,
+            FontStyle.ITALIC
+        );
+        final TextStyle equalStyle = TextStyle.EMPTY.set(
+            TextStylePropertyName.FONT_STYLE,
+            FontStyle.ITALIC
+        );
+
+        final SpreadsheetCell cell = this.createCell()
+            .setStyle(equalStyle)
+            .setFormattedValue(
+                Optional.of(
+                    TextNode.text("Formatted")
+                )
+            );
+
+        final SpreadsheetCell interned = cell.intern(
+            (v) -> style.equals(v) ? style : v
+        );
+        assertSame(
+            style,
+            interned.style(),
+            "style"
+        );
+        this.checkEquals(
+            cell,
+            interned
+        );
+        this.checkEquals(
+            cell.formattedValue(),
+            interned.formattedValue(),
+            "formattedValue"
+        );
+    }
+
+    @Test
+    public void testInternNotEqualFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCell()
+                .intern(
+                    (v) -> v instanceof TextStyle ? BOLD_ITALICS : v
+                )
+        );
+        this.checkEquals(
+            true,
+            thrown.getMessage()
+                .startsWith("Interned ")
+        );
+    }
+
     // SetStyle.........................................................................................................
 
     @Test
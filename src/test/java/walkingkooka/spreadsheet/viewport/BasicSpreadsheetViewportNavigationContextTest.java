@@ -30,6 +30,10 @@ import walkingkooka.spreadsheet.reference.SpreadsheetLabelNameResolvers;
 import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
 import walkingkooka.text.CharacterConstant;
 
 import java.util.List;
@@ -270,6 +274,31 @@ public final class BasicSpreadsheetViewportNavigationContextTest implements Clas
         );
     }
 
+    @Test
+    public void testMoveLeftColumnStoreFirstColumnHidden() {
+        final SpreadsheetColumnStore store = SpreadsheetColumnStores.treeMap();
+        store.save(
+            SpreadsheetSelection.parseColumn("A")
+                .column()
+                .setHidden(true)
+        );
+
+        this.moveLeftColumnAndCheck(
+            BasicSpreadsheetViewportNavigationContext.with(
+                SPREADSHEET_LABEL_NAME_RESOLVER,
+                store::isHidden,
+                store::skipHidden,
+                COLUMN_TO_WIDTH,
+                IS_ROW_HIDDEN,
+                SpreadsheetRowStores.treeMap()::skipHidden,
+                ROW_TO_HEIGHT,
+                WINDOWS_FUNCTION
+            ),
+            "B",
+            "B"
+        );
+    }
+
     private void moveLeftAndCheck(final String hiddenColumns,
                                   final String column) {
         this.moveLeftColumnAndCheck(
@@ -486,6 +515,31 @@ public final class BasicSpreadsheetViewportNavigationContextTest implements Clas
         );
     }
 
+    @Test
+    public void testMoveUpRowStoreFirstRowHidden() {
+        final SpreadsheetRowStore store = SpreadsheetRowStores.treeMap();
+        store.save(
+            SpreadsheetSelection.parseRow("1")
+                .row()
+                .setHidden(true)
+        );
+
+        this.moveUpRowAndCheck(
+            BasicSpreadsheetViewportNavigationContext.with(
+                SPREADSHEET_LABEL_NAME_RESOLVER,
+                IS_COLUMN_HIDDEN,
+                SpreadsheetColumnStores.treeMap()::skipHidden,
+                COLUMN_TO_WIDTH,
+                store::isHidden,
+                store::skipHidden,
+                ROW_TO_HEIGHT,
+                WINDOWS_FUNCTION
+            ),
+            "2",
+            "2"
+        );
+    }
+
     private void moveUpAndCheck(final String hiddenRows,
                                 final String row) {
         this.moveUpRowAndCheck(